@@ -0,0 +1,33 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Доступ по индексу: get(int) и set(int, E) по заранее сгенерированной
+ * последовательности случайных индексов.
+ */
+public class AccessBenchmark extends ListBenchmark {
+    private static final int INDEX_MASK = (1 << 10) - 1;
+
+    private int[] indexes;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void createIndexes() {
+        indexes = new int[INDEX_MASK + 1];
+        for (int i = 0; i < indexes.length; i++) {
+            indexes[i] = random.nextInt(size);
+        }
+    }
+
+    @Benchmark
+    public Object get() {
+        return list.get(indexes[cursor++ & INDEX_MASK]);
+    }
+
+    @Benchmark
+    public Object set() {
+        int index = indexes[cursor++ & INDEX_MASK];
+        return list.set(index, values[index]);
+    }
+}
@@ -0,0 +1,31 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+
+import java.util.List;
+
+/**
+ * Вставка элементов: заполнение пустого списка через add(E) и
+ * вставка в середину через add(int, E).
+ */
+public class AddBenchmark extends ListBenchmark {
+
+    @Benchmark
+    public List<Object> add() {
+        List<Object> result = Lists.create(implementation);
+        for (Object value : values) {
+            result.add(value);
+        }
+        return result;
+    }
+
+    /**
+     * Вставляет элемент в середину и удаляет последний, чтобы размер списка не менялся
+     * между вызовами. Удаление с конца не сдвигает массив и почти ничего не стоит.
+     */
+    @Benchmark
+    public Object addAtIndex() {
+        list.add(size >> 1, values[0]);
+        return list.remove(size);
+    }
+}
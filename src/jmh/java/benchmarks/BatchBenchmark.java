@@ -0,0 +1,79 @@
+package benchmarks;
+
+import example.ArrayList;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Вставка и удаление по множеству разрозненных индексов: поочередные вызовы
+ * add(int, E) и remove(int) против insertAll и removeIndices, выполняющих один проход.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class BatchBenchmark {
+    @Param({"1000", "100000", "1000000"})
+    public int size;
+
+    /**
+     * Количество вставляемых или удаляемых элементов
+     */
+    @Param({"10", "1000"})
+    public int count;
+
+    private Integer[] values;
+    private int[] indices;
+    private ArrayList<Integer> deltas;
+    private ArrayList<Integer> target;
+
+    @Setup(Level.Trial)
+    public void createArguments() {
+        java.util.Random random = new java.util.Random(ListBenchmark.SEED);
+        values = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            values[i] = random.nextInt();
+        }
+        indices = random.ints(count, 0, size).sorted().distinct().toArray();
+        deltas = new ArrayList<>();
+        for (int i = 0; i < indices.length; i++) {
+            deltas.add(random.nextInt());
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void createTarget() {
+        target = new ArrayList<>(Arrays.asList(values));
+    }
+
+    @Benchmark
+    public ArrayList<Integer> insertOneByOne() {
+        for (int i = indices.length - 1; i >= 0; i--) {
+            target.add(indices[i], deltas.get(i));
+        }
+        return target;
+    }
+
+    @Benchmark
+    public ArrayList<Integer> insertAll() {
+        target.insertAll(indices, deltas);
+        return target;
+    }
+
+    @Benchmark
+    public ArrayList<Integer> removeOneByOne() {
+        for (int i = indices.length - 1; i >= 0; i--) {
+            target.remove(indices[i]);
+        }
+        return target;
+    }
+
+    @Benchmark
+    public int removeIndices() {
+        return target.removeIndices(indices);
+    }
+}
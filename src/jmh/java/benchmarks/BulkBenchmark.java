@@ -0,0 +1,75 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Групповые операции: addAll, removeAll и retainAll. Так как операции меняют
+ * список, перед каждым вызовом создается свежая копия исходного списка.
+ */
+public class BulkBenchmark extends ListBenchmark {
+    /**
+     * Каждый какой элемент попадает в коллекцию для removeAll/retainAll
+     */
+    private static final int SELECTION_STEP = 10;
+
+    private List<Object> target;
+    private List<Object> addition;
+    private Set<Object> selection;
+
+    @Setup(Level.Trial)
+    public void createArguments() {
+        addition = Lists.create(implementation, values);
+        selection = new HashSet<>();
+        for (int i = 0; i < size; i += SELECTION_STEP) {
+            selection.add(values[i]);
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void createTarget() {
+        target = Lists.create(implementation, values);
+    }
+
+    @Benchmark
+    public boolean addAll() {
+        return target.addAll(addition);
+    }
+
+    /**
+     * addAll из коллекции другого типа: для example.ArrayList это путь через toArray,
+     * а не прямое копирование внутреннего массива.
+     */
+    @Benchmark
+    public boolean addAllFromArrayView() {
+        return target.addAll(Arrays.asList(values));
+    }
+
+    @Benchmark
+    public boolean addAllAtIndex() {
+        return target.addAll(size >> 1, addition);
+    }
+
+    @Benchmark
+    public boolean removeAll() {
+        return target.removeAll(selection);
+    }
+
+    @Benchmark
+    public boolean retainAll() {
+        return target.retainAll(selection);
+    }
+
+    /**
+     * removeAll с аргументом-списком, а не множеством: проверяет, во что
+     * обходится поиск по коллекции без хеширования.
+     */
+    @Benchmark
+    public boolean removeAllList() {
+        return target.removeAll(Arrays.asList(selection.toArray()));
+    }
+}
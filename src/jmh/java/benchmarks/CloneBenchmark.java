@@ -0,0 +1,27 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+
+import java.util.List;
+
+/**
+ * Клонирование списка. {@code copyAndSet} моделирует транзакцию с возможностью отката:
+ * список клонируется и затем меняется один элемент. {@link example.ArrayList} и
+ * {@link example.PersistentArrayList} ({@code -p implementation=persistent}) клонируют за O(1),
+ * но при первой записи первый копирует весь массив, а второй - только путь к элементу.
+ */
+public class CloneBenchmark extends ListBenchmark {
+
+    @Benchmark
+    public Object copy() {
+        return Lists.copy(list);
+    }
+
+    @Benchmark
+    @SuppressWarnings("unchecked")
+    public Object copyAndSet() {
+        List<Object> copy = (List<Object>) Lists.copy(list);
+        copy.set(size >> 1, values[0]);
+        return copy;
+    }
+}
@@ -0,0 +1,99 @@
+package benchmarks;
+
+import example.ConcurrentArrayList;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Масштабирование одновременной вставки в конец: {@link ConcurrentArrayList} против
+ * {@link Collections#synchronizedList(List)} над {@link java.util.ArrayList}, от 1 до 64 потоков.
+ * Количество потоков задается аннотацией {@link Threads} на каждом методе, поэтому методы
+ * отличаются только ей. Результат в режиме Throughput суммируется по всем потокам.
+ * Список пересоздается перед каждой итерацией, чтобы его размер не рос бесконечно.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+public class ConcurrentAddBenchmark {
+    private static final Object ELEMENT = new Object();
+
+    @Param({"concurrent", "synchronized"})
+    public String implementation;
+
+    private List<Object> list;
+
+    @Setup(Level.Iteration)
+    public void createList() {
+        list = switch (implementation) {
+            case "concurrent" -> new ConcurrentArrayList<>();
+            case "synchronized" -> Collections.synchronizedList(new java.util.ArrayList<>());
+            default -> throw new IllegalArgumentException("unknown implementation: " + implementation);
+        };
+    }
+
+    @Benchmark
+    @Threads(1)
+    public boolean add01() {
+        return list.add(ELEMENT);
+    }
+
+    @Benchmark
+    @Threads(2)
+    public boolean add02() {
+        return list.add(ELEMENT);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public boolean add04() {
+        return list.add(ELEMENT);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public boolean add08() {
+        return list.add(ELEMENT);
+    }
+
+    @Benchmark
+    @Threads(16)
+    public boolean add16() {
+        return list.add(ELEMENT);
+    }
+
+    @Benchmark
+    @Threads(32)
+    public boolean add32() {
+        return list.add(ELEMENT);
+    }
+
+    @Benchmark
+    @Threads(64)
+    public boolean add64() {
+        return list.add(ELEMENT);
+    }
+
+    /**
+     * Чтение по индексу на фоне вставки: половина потоков пишет, половина читает.
+     */
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(4)
+    public boolean mixedAdd() {
+        return list.add(ELEMENT);
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(4)
+    public Object mixedGet() {
+        int size = list.size();
+        return size == 0 ? null : list.get(size >> 1);
+    }
+}
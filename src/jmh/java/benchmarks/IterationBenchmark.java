@@ -0,0 +1,53 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.function.UnaryOperator;
+
+/**
+ * Обход списка: итератором (for-each), по индексу через get(int), методами
+ * forEach и replaceAll, последовательным и параллельным стримом.
+ */
+public class IterationBenchmark extends ListBenchmark {
+
+    @Benchmark
+    public void iterator(Blackhole blackhole) {
+        for (Object value : list) {
+            blackhole.consume(value);
+        }
+    }
+
+    @Benchmark
+    public void indexed(Blackhole blackhole) {
+        for (int i = 0, n = list.size(); i < n; i++) {
+            blackhole.consume(list.get(i));
+        }
+    }
+
+    @Benchmark
+    public void forEach(Blackhole blackhole) {
+        list.forEach(blackhole::consume);
+    }
+
+    /**
+     * Заменяет каждый элемент им самим: список не меняется между вызовами,
+     * а измеряется только обход с записью
+     */
+    @Benchmark
+    public List<Object> replaceAll() {
+        list.replaceAll(UnaryOperator.identity());
+        return list;
+    }
+
+    @Benchmark
+    public long stream() {
+        return list.stream().mapToLong(Object::hashCode).sum();
+    }
+
+    @Benchmark
+    public long parallelStream() {
+        return list.parallelStream().mapToLong(Object::hashCode).sum();
+    }
+}
@@ -0,0 +1,108 @@
+package benchmarks;
+
+import example.ArrayList;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Objects;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Циклы поиска для разных типов ключей: {@code String}, {@code Integer} и собственного класса
+ * {@link Key} с переопределенным equals. Метод {@code storedEquals} повторяет прежний цикл
+ * indexOf, вызывавший equals у элементов списка, {@code indexOf} - текущую реализацию,
+ * вызывающую equals у искомого элемента после сравнения ссылок.
+ * Метод {@code indexOfNull} ищет {@code null} отдельным циклом, который прежний цикл не поддерживал.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class KeySearchBenchmark {
+    @Param({"1000", "100000"})
+    public int size;
+
+    @Param({"String", "Integer", "Key"})
+    public String type;
+
+    private ArrayList<Object> list;
+    private Object[] array;
+    private Object equalProbe;
+    private Object sameProbe;
+
+    /**
+     * Ключ из двух полей с обычными equals и hashCode
+     */
+    static final class Key {
+        private final long id;
+        private final String region;
+
+        Key(long id, String region) {
+            this.id = id;
+            this.region = region;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if(this == o) return true;
+            if(!(o instanceof Key key)) return false;
+            return id == key.id && region.equals(key.region);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(id, region);
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void createList() {
+        Random random = new Random(ListBenchmark.SEED);
+        list = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            list.add(element(random.nextInt()));
+        }
+        array = list.toArray();
+        sameProbe = list.get(size - 1);
+        equalProbe = copy(sameProbe);
+    }
+
+    @Benchmark
+    public int indexOf() {
+        return list.indexOf(equalProbe);
+    }
+
+    @Benchmark
+    public int indexOfSameReference() {
+        return list.indexOf(sameProbe);
+    }
+
+    @Benchmark
+    public int storedEquals() {
+        for (int i = 0; i < array.length; i++) {
+            if(array[i].equals(equalProbe)) return i;
+        }
+        return -1;
+    }
+
+    @Benchmark
+    public int indexOfNull() {
+        return list.indexOf(null);
+    }
+
+    private Object element(int value) {
+        return switch (type) {
+            case "Key" -> new Key(value, "region-" + (value & 7));
+            default -> Lists.element(type, value);
+        };
+    }
+
+    private Object copy(Object value) {
+        if(value instanceof Key key) {
+            return new Key(key.id, new String(key.region));
+        }
+        return Lists.equalCopy(value);
+    }
+}
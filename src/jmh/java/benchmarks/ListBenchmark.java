@@ -0,0 +1,49 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Базовое состояние бенчмарков списков. Все наборы параметризованы размером
+ * списка, реализацией ({@link example.ArrayList} или {@link java.util.ArrayList})
+ * и типом элементов. Исходные элементы генерируются один раз на запуск с
+ * фиксированным seed, поэтому обе реализации работают с одинаковыми данными.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public abstract class ListBenchmark {
+    protected static final long SEED = 42;
+
+    @Param({"10", "1000", "100000", "10000000"})
+    public int size;
+
+    @Param({Lists.EXAMPLE, Lists.JDK})
+    public String implementation;
+
+    @Param({"Integer", "String"})
+    public String type;
+
+    /**
+     * Исходные элементы, из которых строятся списки
+     */
+    protected Object[] values;
+    /**
+     * Список, над которым выполняются недеструктивные операции
+     */
+    protected List<Object> list;
+    protected Random random;
+
+    @Setup(Level.Trial)
+    public void createList() {
+        random = new Random(SEED);
+        values = Lists.generate(type, size, random);
+        list = Lists.create(implementation, values);
+    }
+}
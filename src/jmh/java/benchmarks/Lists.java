@@ -0,0 +1,123 @@
+package benchmarks;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Вспомогательные методы бенчмарков: создание сравниваемых реализаций списка
+ * и генерация элементов нужного типа.
+ */
+final class Lists {
+    /**
+     * Реализация из этого проекта - {@link example.ArrayList}
+     */
+    static final String EXAMPLE = "example";
+    /**
+     * Реализация из JDK - {@link java.util.ArrayList}
+     */
+    static final String JDK = "jdk";
+    /**
+     * {@link example.IndexedArrayList}. Не входит в параметры по умолчанию, т.к. отличается от
+     * {@link #EXAMPLE} только поиском; включается через {@code -p implementation=indexed}
+     */
+    static final String INDEXED = "indexed";
+    /**
+     * {@link example.PersistentArrayList}. Не входит в параметры по умолчанию, т.к. интересен
+     * в основном клонированием; включается через {@code -p implementation=persistent}
+     */
+    static final String PERSISTENT = "persistent";
+
+    private Lists() {}
+
+    /**
+     * Создает пустой список указанной реализации
+     * @param implementation {@link #EXAMPLE}, {@link #JDK}, {@link #INDEXED} или {@link #PERSISTENT}
+     * @return пустой список
+     */
+    static List<Object> create(String implementation) {
+        return switch (implementation) {
+            case EXAMPLE -> new example.ArrayList<>();
+            case INDEXED -> new example.IndexedArrayList<>();
+            case PERSISTENT -> new example.PersistentArrayList<>();
+            case JDK -> new java.util.ArrayList<>();
+            default -> throw new IllegalArgumentException("unknown implementation: " + implementation);
+        };
+    }
+
+    /**
+     * Создает список указанной реализации, содержащий переданные элементы
+     * @param implementation {@link #EXAMPLE}, {@link #JDK}, {@link #INDEXED} или {@link #PERSISTENT}
+     * @param values элементы списка
+     * @return заполненный список
+     */
+    static List<Object> create(String implementation, Object[] values) {
+        List<Object> source = Arrays.asList(values);
+        return switch (implementation) {
+            case EXAMPLE -> new example.ArrayList<>(source);
+            case INDEXED -> new example.IndexedArrayList<>(source);
+            case PERSISTENT -> new example.PersistentArrayList<>(source);
+            case JDK -> new java.util.ArrayList<>(source);
+            default -> throw new IllegalArgumentException("unknown implementation: " + implementation);
+        };
+    }
+
+    /**
+     * Клонирует список. У {@link List} нет метода clone, поэтому
+     * реализация определяется явно.
+     * @param list список, созданный методом {@link #create(String)}
+     * @return клон списка
+     */
+    @SuppressWarnings("unchecked")
+    static Object copy(List<Object> list) {
+        if(list instanceof example.ArrayList<Object> exampleList) {
+            return exampleList.clone();
+        }
+        if(list instanceof example.PersistentArrayList<Object> persistentList) {
+            return persistentList.clone();
+        }
+        return ((java.util.ArrayList<Object>) list).clone();
+    }
+
+    /**
+     * Генерирует массив случайных элементов
+     * @param type тип элементов: {@code Integer} или {@code String}
+     * @param count количество элементов
+     * @param random источник случайных чисел
+     * @return массив элементов
+     */
+    static Object[] generate(String type, int count, Random random) {
+        Object[] values = new Object[count];
+        for (int i = 0; i < count; i++) {
+            values[i] = element(type, random.nextInt());
+        }
+        return values;
+    }
+
+    /**
+     * Создает элемент нужного типа из числа
+     * @param type тип элементов: {@code Integer} или {@code String}
+     * @param value значение, на основе которого создается элемент
+     * @return элемент
+     */
+    static Object element(String type, int value) {
+        return switch (type) {
+            case "Integer" -> value;
+            case "String" -> "value-" + value;
+            default -> throw new IllegalArgumentException("unknown element type: " + type);
+        };
+    }
+
+    /**
+     * Создает объект, равный переданному, но не являющийся той же ссылкой
+     * @param value элемент, созданный методом {@link #element(String, int)}
+     * @return равный элемент
+     */
+    @SuppressWarnings("StringOperationCanBeSimplified")
+    static Object equalCopy(Object value) {
+        if(value instanceof String s) {
+            return new String(s);
+        }
+        return Integer.valueOf(((Integer) value).intValue());
+    }
+}
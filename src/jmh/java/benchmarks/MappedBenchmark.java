@@ -0,0 +1,69 @@
+package benchmarks;
+
+import example.FixedWidthCodec;
+import example.MappedArrayList;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Запуск с готовыми данными: повторное открытие {@link MappedArrayList} против построения
+ * {@link example.ArrayList} того же размера заново, и последовательное чтение из отображенного файла.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class MappedBenchmark {
+    @Param({"1000000", "10000000"})
+    public int size;
+
+    private Path file;
+    private MappedArrayList<Long> list;
+
+    @Setup(Level.Trial)
+    public void createFile() throws IOException {
+        file = Files.createTempFile("mapped-benchmark", ".list");
+        Files.delete(file);
+        list = MappedArrayList.open(file, FixedWidthCodec.LONG);
+        for (long i = 0; i < size; i++) {
+            list.add(i);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteFile() throws IOException {
+        list.close();
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public Long reopen() throws IOException {
+        try (MappedArrayList<Long> reopened = MappedArrayList.open(file, FixedWidthCodec.LONG)) {
+            return reopened.get(size - 1);
+        }
+    }
+
+    @Benchmark
+    public Object rebuild() {
+        example.ArrayList<Long> rebuilt = new example.ArrayList<>();
+        for (long i = 0; i < size; i++) {
+            rebuilt.add(i);
+        }
+        return rebuilt;
+    }
+
+    @Benchmark
+    public long sum() {
+        long sum = 0;
+        for (int i = 0; i < size; i++) {
+            sum += list.get(i);
+        }
+        return sum;
+    }
+}
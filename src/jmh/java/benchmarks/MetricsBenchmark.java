@@ -0,0 +1,60 @@
+package benchmarks;
+
+import example.JfrListMetrics;
+import example.ListCounters;
+import example.ListMetrics;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Стоимость метрик {@link ListMetrics}: заполнение списка с нуля (рост массива) и вставка
+ * в начало (сдвиги) без слушателя, со счетчиками {@link ListCounters} и с событиями
+ * {@link JfrListMetrics} при выключенном JFR.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class MetricsBenchmark {
+    @Param({"1000"})
+    public int size;
+
+    @Param({"none", "counters", "jfr"})
+    public String metrics;
+
+    private ListMetrics listener;
+    private final Integer value = 1;
+
+    @Setup(Level.Trial)
+    public void createListener() {
+        listener = switch (metrics) {
+            case "none" -> null;
+            case "counters" -> new ListCounters("benchmark");
+            case "jfr" -> new JfrListMetrics();
+            default -> throw new IllegalArgumentException("unknown metrics: " + metrics);
+        };
+    }
+
+    @Benchmark
+    public Object fill() {
+        example.ArrayList<Integer> list = new example.ArrayList<>(0);
+        list.setMetrics(listener);
+        for (int i = 0; i < size; i++) {
+            list.add(value);
+        }
+        return list;
+    }
+
+    @Benchmark
+    public Object insertFront() {
+        example.ArrayList<Integer> list = new example.ArrayList<>(size);
+        list.setMetrics(listener);
+        for (int i = 0; i < size; i++) {
+            list.add(0, value);
+        }
+        return list;
+    }
+}
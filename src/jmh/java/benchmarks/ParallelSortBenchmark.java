@@ -0,0 +1,65 @@
+package benchmarks;
+
+import example.ArrayList;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Comparator;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ускорение {@link ArrayList#parallelSort(Comparator)} в зависимости от количества потоков.
+ * Сортировка запускается внутри отдельного {@link ForkJoinPool} заданного размера, поэтому
+ * параллельная сортировка использует именно его. {@code sequential} - обычный
+ * {@link ArrayList#sort(Comparator)} для сравнения.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+public class ParallelSortBenchmark {
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static final Comparator<Object> NATURAL_ORDER = (Comparator) Comparator.naturalOrder();
+
+    @Param({"1000000", "10000000", "50000000"})
+    public int size;
+
+    @Param({"1", "2", "4", "8", "16"})
+    public int parallelism;
+
+    private Object[] values;
+    private ArrayList<Object> target;
+    private ForkJoinPool pool;
+
+    @Setup(Level.Trial)
+    public void createValues() {
+        Random random = new Random(ListBenchmark.SEED);
+        values = Lists.generate("Integer", size, random);
+        pool = new ForkJoinPool(parallelism);
+    }
+
+    @TearDown(Level.Trial)
+    public void shutdownPool() {
+        pool.shutdown();
+    }
+
+    @Setup(Level.Invocation)
+    public void createTarget() {
+        target = new ArrayList<>(java.util.Arrays.asList(values));
+    }
+
+    @Benchmark
+    public ArrayList<Object> parallelSort() {
+        pool.submit(() -> target.parallelSort(NATURAL_ORDER)).join();
+        return target;
+    }
+
+    @Benchmark
+    public ArrayList<Object> sequential() {
+        target.sort(NATURAL_ORDER);
+        return target;
+    }
+}
@@ -0,0 +1,49 @@
+package benchmarks;
+
+import example.CircularArrayList;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Использование списка как очереди и стека при постоянном размере.
+ * {@link example.ArrayList} сдвигает весь массив при вставке и удалении первого элемента,
+ * {@link CircularArrayList} смещает начало кольцевого буфера.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class QueueBenchmark {
+    @Param({"10", "1000", "100000"})
+    public int size;
+
+    @Param({"example", "circular"})
+    public String implementation;
+
+    private List<Integer> queue;
+    private final Integer value = 1;
+
+    @Setup(Level.Trial)
+    public void createQueue() {
+        queue = implementation.equals("circular") ? new CircularArrayList<>() : new example.ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            queue.add(i);
+        }
+    }
+
+    @Benchmark
+    public Integer offerPoll() {
+        queue.add(value);
+        return queue.remove(0);
+    }
+
+    @Benchmark
+    public Integer pushPop() {
+        queue.add(0, value);
+        return queue.remove(0);
+    }
+}
@@ -0,0 +1,23 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+
+/**
+ * Удаление одного элемента: remove(int) из середины и remove(Object).
+ * После удаления элемент добавляется в конец, чтобы размер списка не менялся
+ * между вызовами.
+ */
+public class RemoveBenchmark extends ListBenchmark {
+
+    @Benchmark
+    public boolean removeAtIndex() {
+        return list.add(list.remove(size >> 1));
+    }
+
+    @Benchmark
+    public boolean removeByValue() {
+        Object value = list.get(size >> 1);
+        list.remove(value);
+        return list.add(value);
+    }
+}
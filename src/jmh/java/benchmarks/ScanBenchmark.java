@@ -0,0 +1,91 @@
+package benchmarks;
+
+import example.PrimitiveScans;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Скалярные и векторные циклы {@link PrimitiveScans} над массивами {@code int}, {@code long}
+ * и {@code double}. Векторная реализация попадает в jar только при сборке
+ * {@code mvn -P jmh,vector package}; без профиля {@code vector} обе реализации скалярные.
+ * Искомое значение отсутствует в массиве, поэтому indexOf просматривает его целиком.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g", "--add-modules", "jdk.incubator.vector"})
+public class ScanBenchmark {
+    @Param({"1000", "100000", "10000000"})
+    public int size;
+
+    @Param({"scalar", "preferred"})
+    public String scans;
+
+    private PrimitiveScans implementation;
+    private int[] ints;
+    private long[] longs;
+    private double[] doubles;
+
+    @Setup(Level.Trial)
+    public void createArrays() {
+        implementation = scans.equals("scalar") ? PrimitiveScans.scalar() : PrimitiveScans.preferred();
+        Random random = new Random(ListBenchmark.SEED);
+        ints = new int[size];
+        longs = new long[size];
+        doubles = new double[size];
+        for (int i = 0; i < size; i++) {
+            ints[i] = random.nextInt(1 << 20);
+            longs[i] = ints[i];
+            doubles[i] = ints[i];
+        }
+    }
+
+    @Benchmark
+    public int indexOfInt() {
+        return implementation.indexOf(ints, 0, size, -1);
+    }
+
+    @Benchmark
+    public int indexOfLong() {
+        return implementation.indexOf(longs, 0, size, -1L);
+    }
+
+    @Benchmark
+    public int indexOfDouble() {
+        return implementation.indexOf(doubles, 0, size, -1.0);
+    }
+
+    @Benchmark
+    public int minInt() {
+        return implementation.min(ints, 0, size);
+    }
+
+    @Benchmark
+    public double maxDouble() {
+        return implementation.max(doubles, 0, size);
+    }
+
+    @Benchmark
+    public long sumInt() {
+        return implementation.sum(ints, 0, size);
+    }
+
+    @Benchmark
+    public long sumLong() {
+        return implementation.sum(longs, 0, size);
+    }
+
+    @Benchmark
+    public double sumDouble() {
+        return implementation.sum(doubles, 0, size);
+    }
+
+    @Benchmark
+    public int countInRangeInt() {
+        return implementation.countInRange(ints, 0, size, 1 << 18, 1 << 19);
+    }
+}
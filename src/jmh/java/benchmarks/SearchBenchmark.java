@@ -0,0 +1,63 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Линейный поиск: indexOf, lastIndexOf и contains для элемента из середины
+ * списка и для отсутствующего элемента (худший случай - полный проход).
+ * Искомый элемент - равная, но не та же самая ссылка, как это обычно бывает
+ * при поиске по ключу из запроса.
+ *
+ * <p>Поиск по хеш-индексу {@link example.IndexedArrayList} измеряется запуском
+ * с {@code -p implementation=indexed}: индекс строится в первом вызове и дальше
+ * переиспользуется, т.к. список не меняется.
+ */
+public class SearchBenchmark extends ListBenchmark {
+    private Object present;
+    private Object absent;
+    private List<Object> probes;
+
+    @Setup(Level.Trial)
+    public void createProbes() {
+        present = Lists.equalCopy(values[size >> 1]);
+        absent = Lists.element(type, random.nextInt());
+        while (list.contains(absent)) {
+            absent = Lists.element(type, random.nextInt());
+        }
+        probes = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            probes.add(Lists.equalCopy(values[random.nextInt(size)]));
+        }
+    }
+
+    @Benchmark
+    public int indexOfPresent() {
+        return list.indexOf(present);
+    }
+
+    @Benchmark
+    public int indexOfAbsent() {
+        return list.indexOf(absent);
+    }
+
+    @Benchmark
+    public int lastIndexOfPresent() {
+        return list.lastIndexOf(present);
+    }
+
+    @Benchmark
+    public boolean contains() {
+        return list.contains(present);
+    }
+
+    /**
+     * containsAll для 100 элементов: у линейного поиска это O(n * m)
+     */
+    @Benchmark
+    public boolean containsAll() {
+        return list.containsAll(probes);
+    }
+}
@@ -0,0 +1,65 @@
+package benchmarks;
+
+import example.SegmentedArrayList;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Заполнение списка и чтение по индексу: {@link example.ArrayList}, который при росте
+ * копирует весь массив, против {@link SegmentedArrayList}, который добавляет новые блоки.
+ * Для оценки пиковой памяти и пауз сборщика мусора запускать с профайлером {@code -prof gc}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g", "-XX:+UseG1GC"})
+public class SegmentedBenchmark {
+    @Param({"100000", "10000000", "50000000"})
+    public int size;
+
+    @Param({"example", "segmented"})
+    public String implementation;
+
+    private List<Integer> list;
+    private int[] indices;
+
+    @Setup(Level.Trial)
+    public void createList() {
+        list = fill();
+        java.util.Random random = new java.util.Random(ListBenchmark.SEED);
+        indices = new int[1024];
+        for (int i = 0; i < indices.length; i++) {
+            indices[i] = random.nextInt(size);
+        }
+    }
+
+    @Benchmark
+    public List<Integer> append() {
+        return fill();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public long randomGet() {
+        long sum = 0;
+        for (int index : indices) {
+            sum += list.get(index);
+        }
+        return sum;
+    }
+
+    private List<Integer> fill() {
+        List<Integer> result = implementation.equals("segmented")
+                ? new SegmentedArrayList<>()
+                : new example.ArrayList<>();
+        Integer value = 1;
+        for (int i = 0; i < size; i++) {
+            result.add(value);
+        }
+        return result;
+    }
+}
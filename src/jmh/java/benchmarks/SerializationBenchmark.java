@@ -0,0 +1,86 @@
+package benchmarks;
+
+import example.ElementCodec;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.*;
+import java.nio.channels.Channels;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Сериализация списка: стандартная сериализация Java для {@link java.util.ArrayList} и
+ * {@link example.ArrayList} ({@link Externalizable}) и двоичный формат
+ * {@link example.ArrayList#writeTo} / {@link example.ArrayList#readFrom} с кодеком элементов.
+ * Данные пишутся в память, чтобы измерялось кодирование, а не устройство.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class SerializationBenchmark {
+    @Param({"1000", "100000"})
+    public int size;
+
+    @Param({"Integer", "String"})
+    public String type;
+
+    private java.util.ArrayList<Object> jdkList;
+    private example.ArrayList<Object> exampleList;
+    private ElementCodec<Object> codec;
+    private byte[] serialized;
+    private byte[] encoded;
+    private final ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+    @Setup(Level.Trial)
+    @SuppressWarnings("unchecked")
+    public void createLists() throws IOException {
+        Object[] values = Lists.generate(type, size, new Random(ListBenchmark.SEED));
+        jdkList = new java.util.ArrayList<>(java.util.Arrays.asList(values));
+        exampleList = new example.ArrayList<>(jdkList);
+        codec = (ElementCodec<Object>) (ElementCodec<?>) (type.equals("String") ? ElementCodec.STRING : ElementCodec.INTEGER);
+        serialized = serialize(jdkList);
+        output.reset();
+        exampleList.writeTo(Channels.newChannel(output), codec);
+        encoded = output.toByteArray();
+    }
+
+    @Benchmark
+    public int serializeJdk() throws IOException {
+        return serialize(jdkList).length;
+    }
+
+    @Benchmark
+    public int serializeExternalizable() throws IOException {
+        return serialize(exampleList).length;
+    }
+
+    @Benchmark
+    public int writeToChannel() throws IOException {
+        output.reset();
+        exampleList.writeTo(Channels.newChannel(output), codec);
+        return output.size();
+    }
+
+    @Benchmark
+    public Object deserializeJdk() throws IOException, ClassNotFoundException {
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(serialized))) {
+            return in.readObject();
+        }
+    }
+
+    @Benchmark
+    public Object readFromChannel() throws IOException {
+        return example.ArrayList.readFrom(Channels.newChannel(new ByteArrayInputStream(encoded)), codec);
+    }
+
+    private byte[] serialize(Object list) throws IOException {
+        output.reset();
+        try (ObjectOutputStream out = new ObjectOutputStream(output)) {
+            out.writeObject(list);
+        }
+        return output.toByteArray();
+    }
+}
@@ -0,0 +1,53 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Сортировка на разных распределениях данных: случайные, уже отсортированные,
+ * отсортированные в обратном порядке и с большим количеством повторов
+ * ({@value #DISTINCT_VALUES} различных значений). Перед каждым вызовом создается
+ * свежая копия исходного списка.
+ */
+public class SortBenchmark extends ListBenchmark {
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static final Comparator<Object> NATURAL_ORDER = (Comparator) Comparator.naturalOrder();
+    private static final int DISTINCT_VALUES = 16;
+
+    @Param({"random", "sorted", "reversed", "duplicates"})
+    public String distribution;
+
+    private Object[] source;
+    private List<Object> target;
+
+    @Setup(Level.Trial)
+    public void createSource() {
+        source = values.clone();
+        switch (distribution) {
+            case "random" -> {}
+            case "sorted" -> Arrays.sort(source, NATURAL_ORDER);
+            case "reversed" -> Arrays.sort(source, Collections.reverseOrder(NATURAL_ORDER));
+            case "duplicates" -> {
+                for (int i = 0; i < source.length; i++) {
+                    source[i] = values[random.nextInt(Math.min(DISTINCT_VALUES, size))];
+                }
+            }
+            default -> throw new IllegalArgumentException("unknown distribution: " + distribution);
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void createTarget() {
+        target = Lists.create(implementation, source);
+    }
+
+    @Benchmark
+    public List<Object> sort() {
+        target.sort(NATURAL_ORDER);
+        return target;
+    }
+}
@@ -0,0 +1,64 @@
+package benchmarks;
+
+import example.ArrayList;
+import example.SortedArrayList;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Поиск в отсортированных данных: линейный indexOf {@link ArrayList} против бинарного поиска
+ * {@link SortedArrayList}, а также вставка с сохранением порядка.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class SortedSearchBenchmark {
+    @Param({"1000", "100000", "10000000"})
+    public int size;
+
+    private ArrayList<Integer> list;
+    private SortedArrayList<Integer> sorted;
+    private Integer probe;
+
+    @Setup(Level.Trial)
+    public void createLists() {
+        Random random = new Random(ListBenchmark.SEED);
+        Integer[] values = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            values[i] = random.nextInt();
+        }
+        sorted = new SortedArrayList<>(List.of(values), null);
+        list = new ArrayList<>(sorted);
+        probe = Integer.valueOf(sorted.get(size >> 1).intValue());
+    }
+
+    @Benchmark
+    public int linearIndexOf() {
+        return list.indexOf(probe);
+    }
+
+    @Benchmark
+    public int binarySearch() {
+        return list.binarySearch(probe);
+    }
+
+    @Benchmark
+    public int sortedIndexOf() {
+        return sorted.indexOf(probe);
+    }
+
+    /**
+     * Вставка в середину и удаление того же элемента, чтобы размер не менялся
+     */
+    @Benchmark
+    public boolean addSortedAndRemove() {
+        sorted.addSorted(probe);
+        return sorted.remove(probe);
+    }
+}
@@ -0,0 +1,38 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Строковое представление списка: toString целиком, сокращенное представление из 100 элементов
+ * и поэлементная запись в {@link Writer} без сборки строки ({@link Writer#nullWriter()}, чтобы
+ * измерялось только форматирование). Последние два есть только у {@link example.ArrayList}.
+ */
+public class ToStringBenchmark extends ListBenchmark {
+    private final Writer writer = Writer.nullWriter();
+
+    @Benchmark
+    public String toStringFull() {
+        return list.toString();
+    }
+
+    @Benchmark
+    public String toStringPreview() {
+        if(list instanceof example.ArrayList<Object> exampleList) {
+            return exampleList.toString(100);
+        }
+        return list.subList(0, Math.min(100, size)).toString();
+    }
+
+    @Benchmark
+    public Writer writeTo() throws IOException {
+        if(list instanceof example.ArrayList<Object> exampleList) {
+            exampleList.writeTo(writer);
+        } else {
+            writer.write(list.toString());
+        }
+        return writer;
+    }
+}
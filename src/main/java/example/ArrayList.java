@@ -1,6 +1,14 @@
 package example;
 
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.channels.WritableByteChannel;
 import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
 /**
  * Данный класс представляет собой имплементацию интерфейса {@code List}. Реализует
  * динамический массив. Элементы хранятся в обычном массиве, а динамичность
@@ -37,31 +45,100 @@ import java.util.*;
  * {@link ArrayListIterator#remove() remove},{@link ArrayListIterator#add(Object) add}
  * будет выброшено {@link ConcurrentModificationException}.
  *
+ * <p>Список можно сериализовать стандартными средствами ({@link Externalizable}): записываются
+ * только размер и элементы. Для передачи по сети или сохранения в файл без накладных расходов
+ * сериализации Java есть компактный двоичный формат - методы
+ * {@link #writeTo(WritableByteChannel, ElementCodec)} и {@link #readFrom(ReadableByteChannel, ElementCodec)},
+ * кодирующие элементы заданным {@link ElementCodec}.
+ *
  * @param <E> Тип, которым параметризован список
  *
  * @author  Поляков Артур
  */
-public class ArrayList<E> implements List<E>, Cloneable {
+public class ArrayList<E> implements List<E>, Cloneable, Externalizable {
     /**
      * Стандартный размер внутреннего массива.
      */
     private final static int DEFAULT_CAPACITY = 10;
+    @Serial
+    private static final long serialVersionUID = 1L;
+    /**
+     * Размер буфера, через который {@link #writeTo(WritableByteChannel, ElementCodec)} и
+     * {@link #readFrom(ReadableByteChannel, ElementCodec)} обмениваются данными с каналом.
+     */
+    private final static int IO_BUFFER_SIZE = 1 << 16;
+    /**
+     * Наибольший размер массива, который создается заранее по количеству элементов, прочитанному
+     * из потока. Поврежденный или чужой поток не может заставить список выделить гигабайты памяти
+     * до того, как элементы действительно прочитаны: дальше массив растет по мере чтения.
+     */
+    private final static int MAX_PREALLOCATED_CAPACITY = 1 << 16;
+    /**
+     * Наибольшая длина элемента в байтах, которую по умолчанию принимает
+     * {@link #readFrom(ReadableByteChannel, ElementCodec)}: 64 мегабайта.
+     */
+    public final static int DEFAULT_MAX_ELEMENT_LENGTH = 1 << 26;
+    /**
+     * Наибольший размер, до которого {@link #toString(int)} заранее увеличивает {@link StringBuilder}.
+     * Оценка может ошибаться, поэтому для больших списков дальше builder растет сам.
+     */
+    private final static int MAX_PRESIZED_CAPACITY = 1 << 20;
+    /**
+     * Запас символов под окончание сокращенного представления {@code ", ...(M more)]"}.
+     */
+    private final static int TRUNCATION_RESERVE = 24;
     /**
      * Массив, в котором хранятся элементы.
      */
-    private Object[] elements;
+    private transient Object[] elements;
     /**
      * Количество элементов в списке.
      */
     private int size;
     /**
-     * Размер внутреннего массива.
+     * Политика увеличения массива, которая задается новым спискам.
+     */
+    private static volatile GrowthPolicy defaultGrowthPolicy = GrowthPolicy.DEFAULT;
+    /**
+     * Политика увеличения внутреннего массива.
+     */
+    private transient GrowthPolicy growthPolicy = defaultGrowthPolicy;
+    /**
+     * Ограничение строкового представления, которое задается новым спискам.
+     * По умолчанию {@link #toString()} выводит все элементы.
+     */
+    private static volatile int defaultToStringLimit = Integer.MAX_VALUE;
+    /**
+     * Количество элементов, которое выводит {@link #toString()}.
+     */
+    private int toStringLimit = defaultToStringLimit;
+    /**
+     * Слушатель, который задается новым спискам. По умолчанию метрики отключены.
+     */
+    private static volatile ListMetrics defaultMetrics;
+    /**
+     * Слушатель внутренних операций списка, {@code null} если метрики отключены.
+     */
+    private transient ListMetrics metrics = defaultMetrics;
+    /**
+     * Количество раз, которое внутренний массив создавался заново с копированием элементов.
+     */
+    private long reallocations;
+    /**
+     * Количество элементов, скопированных при пересоздании внутреннего массива.
+     */
+    private long copiedElements;
+    /**
+     * Количество раз, которое список изменялся. Доступен подклассам, чтобы они могли
+     * определить, что их вспомогательные структуры устарели после изменения списка.
      */
-    private int capacity;
+    protected int modCount;
     /**
-     * Количество раз, которое список изменялся
+     * Признак того, что внутренний массив используется снимком, полученным методом
+     * {@link #snapshot()}. Пока он установлен, массив нельзя менять: перед первым
+     * изменением список копирует массив и дальше работает с копией.
      */
-    private int modCount;
+    private boolean shared;
     /**
      * Конструктор, позволяющий указать размер
      * внутреннего массива
@@ -87,10 +164,16 @@ public class ArrayList<E> implements List<E>, Cloneable {
      */
     public ArrayList(Collection<? extends E> c) {
         if(c == null) throw new NullPointerException();
-        Object[] array = c.toArray();
-        int colSize = array.length;
-        capacity = colSize < DEFAULT_CAPACITY ? DEFAULT_CAPACITY : (colSize >> 1) + colSize;
-        elements = new Object[capacity];
+        Object[] array;
+        int colSize;
+        if(c instanceof ArrayList<?> other) {
+            array = other.elements;
+            colSize = other.size;
+        } else {
+            array = c.toArray();
+            colSize = array.length;
+        }
+        elements = new Object[colSize < DEFAULT_CAPACITY ? DEFAULT_CAPACITY : (colSize >> 1) + colSize];
         System.arraycopy(array, 0, elements, 0, colSize);
         size = colSize;
     }
@@ -104,8 +187,10 @@ public class ArrayList<E> implements List<E>, Cloneable {
     @Override
     public void add(int index, E element) {
         if(index != size) checkIndex(index);
-        if(size == capacity) {
+        if(size == elements.length) {
             increaseArray();
+        } else {
+            copyOnWrite();
         }
         shiftArray(index, index + 1, size - index);
         size++;
@@ -133,6 +218,11 @@ public class ArrayList<E> implements List<E>, Cloneable {
     }
     /**
      * Вставляет в список все элементы из переданной коллекции в указанную позицию.
+     * Элементы другого {@link ArrayList} копируются напрямую из его внутреннего массива,
+     * элементы остальных коллекций - через {@link Collection#toArray()}, в обоих случаях одним
+     * вызовом {@link System#arraycopy}. Остальные коллекции копируются до сдвига элементов,
+     * т.к. они могут быть представлениями данного списка, например, {@link #subList(int, int)},
+     * и после сдвига прочитали бы уже перемещенные элементы.
      * @param index позиция, куда нужно вставить элементы
      * @param c коллекция, из которой будут браться элементы
      * @throws NullPointerException если передан {@code null}
@@ -142,21 +232,78 @@ public class ArrayList<E> implements List<E>, Cloneable {
     @Override
     public boolean addAll(int index, Collection<? extends E> c) {
         if(c == null) throw new NullPointerException();
-        int colSize = c.size();
-        if(colSize == 0) return false;
         if(index != size) checkIndex(index);
+        Object[] source;
+        int colSize;
+        if(c instanceof ArrayList<?> other && other != this) {
+            source = other.elements;
+            colSize = other.size;
+        } else {
+            source = c.toArray();
+            colSize = source.length;
+        }
+        if(colSize == 0) return false;
         int resultSize = colSize + size;
-        if (resultSize > capacity) {
-            increaseArray((resultSize >> 1) + resultSize);
+        if (resultSize < 0 || resultSize > elements.length) {
+            increaseArray(resultSize);
+        } else {
+            copyOnWrite();
         }
         shiftArray(index, index + colSize, size - index);
-        for(E e : c) {
-            elements[index++] = e;
-        }
+        System.arraycopy(source, 0, elements, index, colSize);
         size = resultSize;
         modCount++;
         return true;
     }
+    /**
+     * Вставляет несколько элементов в разные позиции за один проход. Позиции задаются
+     * относительно списка до вставки: элемент {@code values.get(k)} окажется перед элементом,
+     * который до вызова находился по индексу {@code indices[k]}, а индекс, равный size,
+     * означает вставку в конец. Элементы с одинаковыми позициями вставляются в порядке следования.
+     *
+     * <p>В отличие от поочередных вызовов {@link #add(int, Object)}, каждый из которых сдвигает
+     * весь хвост списка, массив увеличивается не больше одного раза, а элементы переносятся
+     * с конца к началу, и каждый исходный элемент перемещается не больше одного раза.
+     * Сложность O(n + m) вместо O(n * m).
+     * @param indices позиции вставки, отсортированные по неубыванию
+     * @param values вставляемые элементы, по одному на каждую позицию
+     * @throws NullPointerException если передан {@code null}
+     * @throws IllegalArgumentException если длины indices и values не совпадают
+     * либо позиции не отсортированы
+     * @throws IndexOutOfBoundsException если позиция меньше нуля либо больше size
+     */
+    public void insertAll(int[] indices, List<? extends E> values) {
+        if(indices == null || values == null) throw new NullPointerException();
+        Object[] inserted = values.toArray();
+        int count = indices.length;
+        if(inserted.length != count) {
+            throw new IllegalArgumentException(String.format("%d indices for %d values", count, inserted.length));
+        }
+        if(count == 0) return;
+        for (int i = 0, previous = 0; i < count; i++) {
+            int index = indices[i];
+            if(index != size) checkIndex(index);
+            if(index < previous) throw new IllegalArgumentException("indices must be sorted");
+            previous = index;
+        }
+        int resultSize = size + count;
+        if(resultSize < 0 || resultSize > elements.length) {
+            increaseArray(resultSize);
+        } else {
+            copyOnWrite();
+        }
+        int read = size, write = resultSize;
+        for (int i = count - 1; i >= 0; i--) {
+            int index = indices[i];
+            int moved = read - index;
+            write -= moved;
+            shiftArray(index, write, moved);
+            read = index;
+            elements[--write] = inserted[i];
+        }
+        size = resultSize;
+        modCount++;
+    }
     /**
      * Возвращает элемент по индексу
      * @param index индекс, по которому нужно найти элемент
@@ -182,12 +329,13 @@ public class ArrayList<E> implements List<E>, Cloneable {
         checkIndex(index);
         @SuppressWarnings("unchecked")
         E replaced = (E) elements[index];
+        copyOnWrite();
         elements[index] = element;
         return replaced;
     }
     /**
      * Удаляет элемент из списка по значению. Поиск элемента производится с начала списка, поэтому, если
-     * таких элементов несколько, то удаляется тот, что ближе к началу.
+     * таких элементов несколько, то удаляется тот, что ближе к началу. Можно удалить и {@code null}.
      * @param o элемент, который нужно удалить.
      * @throws IndexOutOfBoundsException если передан индекс меньше нуля либо больше size - 1
      * @return {@code true}, если элемент был найден и удален. {@code false} - если элемент не был найден
@@ -212,6 +360,7 @@ public class ArrayList<E> implements List<E>, Cloneable {
         checkIndex(index);
         @SuppressWarnings("unchecked")
         E removed = (E) elements[index];
+        copyOnWrite();
         shiftArray(index + 1, index, size - (index + 1));
         size--;
         elements[size] = null;
@@ -230,29 +379,8 @@ public class ArrayList<E> implements List<E>, Cloneable {
 
     @Override
     public boolean removeAll(Collection<?> c) {
-        if(c == null) throw new NullPointerException();
-        boolean isRemoveOne = false;
-        Object present = new Object();
-        Set<Object> removingElements = new HashSet<>();
-        for(Object o : c) {
-            if(!removingElements.contains(o)) {
-                removingElements.add(o);
-                for (int i = 0; i < size; i++) {
-                    if(elements[i].equals(o)) {
-                        elements[i] = present;
-                        isRemoveOne = true;
-                    }
-                }
-            }
-        }
-        if(isRemoveOne) {
-            for (int i = size - 1; i >= 0 ; i--) {
-                if(elements[i] == present) remove(i);
-            }
-            modCount++;
-            return true;
-        }
-        return false;
+        Collection<?> lookup = lookupOf(c);
+        return removeIf(lookup::contains);
     }
 
     /**
@@ -264,54 +392,244 @@ public class ArrayList<E> implements List<E>, Cloneable {
 
     @Override
     public boolean retainAll(Collection<?> c) {
-        if(c == null) throw new NullPointerException();
-        Set<Object> retainedElementsSet = new HashSet<>(c);
-        Object[] retainedElements = new Object[capacity];
-        int newSize = 0;
-        for(Object e : elements) {
-            if(retainedElementsSet.contains(e)) {
-                retainedElements[newSize++] = e;
+        Collection<?> lookup = lookupOf(c);
+        return removeIf(e -> !lookup.contains(e));
+    }
+
+    /**
+     * Выполняет действие для каждого элемента списка. Элементы читаются напрямую из внутреннего
+     * массива, без создания итератора, а modCount проверяется один раз после цикла.
+     * Если действие структурно изменит список, цикл дойдет до прежнего конца списка, после чего
+     * будет выброшено {@link ConcurrentModificationException}.
+     * @param action действие
+     * @throws NullPointerException если передан {@code null}
+     * @throws ConcurrentModificationException если действие структурно изменило список
+     */
+    @Override
+    public void forEach(Consumer<? super E> action) {
+        if(action == null) throw new NullPointerException();
+        int expectedModCount = modCount;
+        Object[] elements = this.elements;
+        int size = this.size;
+        for (int i = 0; i < size; i++) {
+            @SuppressWarnings("unchecked")
+            E element = (E) elements[i];
+            action.accept(element);
+        }
+        if(modCount != expectedModCount) throw new ConcurrentModificationException();
+    }
+
+    /**
+     * Заменяет каждый элемент списка результатом функции. Элементы заменяются прямо во внутреннем
+     * массиве, без итератора и вызовов {@link #set(int, Object)}, а modCount проверяется один раз
+     * после цикла. Если функция выбросит исключение, уже замененные элементы останутся замененными.
+     * @param operator функция, вычисляющая новый элемент по старому
+     * @throws NullPointerException если передан {@code null}
+     * @throws ConcurrentModificationException если функция структурно изменила список
+     */
+    @Override
+    public void replaceAll(UnaryOperator<E> operator) {
+        if(operator == null) throw new NullPointerException();
+        int expectedModCount = modCount;
+        copyOnWrite();
+        Object[] elements = this.elements;
+        int size = this.size;
+        for (int i = 0; i < size; i++) {
+            @SuppressWarnings("unchecked")
+            E element = (E) elements[i];
+            elements[i] = operator.apply(element);
+        }
+        if(modCount != expectedModCount) throw new ConcurrentModificationException();
+        modCount++;
+    }
+
+    /**
+     * Удаляет все элементы, удовлетворяющие предикату. Удаление выполняется за один проход
+     * по массиву двумя указателями: оставляемые элементы сдвигаются влево на место удаленных,
+     * поэтому каждый элемент проверяется и перемещается не более одного раза, а сложность
+     * равна O(n) вместо O(n * k) при поочередном удалении через {@link #remove(int)}.
+     * Если предикат выбросит исключение, уже проверенные элементы останутся удаленными,
+     * а остаток списка будет сохранен.
+     * @param filter предикат, возвращающий {@code true} для удаляемых элементов
+     * @throws NullPointerException если передан {@code null}
+     * @throws ConcurrentModificationException если предикат изменил список
+     * @return {@code true}, если был удален хотя бы один элемент, {@code false} в противном случае
+     */
+    @Override
+    public boolean removeIf(Predicate<? super E> filter) {
+        return removeIf(filter, 0, size) > 0;
+    }
+
+    /**
+     * Удаляет элементы диапазона, удовлетворяющие предикату. Используется методом
+     * {@link #removeIf(Predicate)} и представлением, возвращаемым {@link #subList(int, int)}.
+     * Элементы диапазона уплотняются за один проход, а элементы после диапазона
+     * сдвигаются на место удаленных одним копированием.
+     * @param filter предикат, возвращающий {@code true} для удаляемых элементов
+     * @param from начало диапазона
+     * @param to конец диапазона(не будет включен)
+     * @throws NullPointerException если передан {@code null}
+     * @throws ConcurrentModificationException если предикат изменил список
+     * @return количество удаленных элементов
+     */
+    private int removeIf(Predicate<? super E> filter, int from, int to) {
+        if(filter == null) throw new NullPointerException();
+        int expectedModCount = modCount;
+        int read = from, write = from;
+        try {
+            for (; read < to; read++) {
+                @SuppressWarnings("unchecked")
+                E element = (E) elements[read];
+                if(!filter.test(element)) {
+                    if(write != read) elements[write] = element;
+                    write++;
+                } else if(write == read) {
+                    // массив копируется только при первом удаляемом элементе
+                    copyOnWrite();
+                }
+            }
+            if(modCount != expectedModCount) throw new ConcurrentModificationException();
+        } finally {
+            if(write != read) {
+                int end = size;
+                int newSize = end - (read - write);
+                shiftArray(read, write, end - read);
+                Arrays.fill(elements, newSize, end, null);
+                size = newSize;
+                modCount++;
             }
         }
-        if(newSize == size) {
-            return false;
+        return read - write;
+    }
+
+    /**
+     * Удаляет элементы по нескольким индексам за один проход. Оставшиеся элементы сдвигаются
+     * влево на место удаленных отрезками между удаляемыми индексами, поэтому каждый элемент
+     * перемещается не больше одного раза, а сложность равна O(n) вместо O(n * m)
+     * при поочередном удалении через {@link #remove(int)}.
+     * @param indices индексы удаляемых элементов, отсортированные по возрастанию без повторов
+     * @throws NullPointerException если передан {@code null}
+     * @throws IllegalArgumentException если индексы не отсортированы либо повторяются
+     * @throws IndexOutOfBoundsException если передан индекс меньше нуля либо больше size - 1
+     * @return количество удаленных элементов
+     */
+    public int removeIndices(int[] indices) {
+        if(indices == null) throw new NullPointerException();
+        int count = indices.length;
+        if(count == 0) return 0;
+        for (int i = 0, previous = -1; i < count; i++) {
+            int index = indices[i];
+            checkIndex(index);
+            if(index <= previous) throw new IllegalArgumentException("indices must be sorted and unique");
+            previous = index;
+        }
+        copyOnWrite();
+        int write = indices[0];
+        for (int i = 0; i < count; i++) {
+            int from = indices[i] + 1;
+            int to = i + 1 < count ? indices[i + 1] : size;
+            shiftArray(from, write, to - from);
+            write += to - from;
         }
-        size = newSize;
-        elements = retainedElements;
+        Arrays.fill(elements, write, size, null);
+        size = write;
         modCount++;
-        return true;
+        return count;
+    }
+
+    /**
+     * Подготавливает коллекцию для проверки вхождения элементов в методах
+     * {@link #removeAll(Collection)} и {@link #retainAll(Collection)}. Множества
+     * используются как есть, остальные коллекции копируются в {@link HashSet},
+     * чтобы каждый элемент списка проверялся за O(1), а не проходом по коллекции.
+     * @param c коллекция, переданная в метод
+     * @throws NullPointerException если передан {@code null}
+     * @return коллекция с быстрым методом contains
+     */
+    private static Collection<?> lookupOf(Collection<?> c) {
+        if(c == null) throw new NullPointerException();
+        return c instanceof Set<?> ? c : new HashSet<>(c);
     }
     /**
      * Удаляет все элементы из списка.
      */
     @Override
     public void clear() {
-        Arrays.fill(elements, null);
+        if(shared) {
+            elements = new Object[elements.length];
+            shared = false;
+        } else {
+            Arrays.fill(elements, 0, size, null);
+        }
         size = 0;
         modCount++;
     }
     /**
-     * Ищет переданный элемент в списке, начиная с начала списка
+     * Ищет переданный элемент в списке, начиная с начала списка. Список может содержать
+     * {@code null}, и его тоже можно искать.
      * @param o элемент, который нужно найти
      * @return индекс, по которому находится элемент. -1 - если элемент не был найден
      */
 
     @Override
     public int indexOf(Object o) {
-        for (int i = 0; i < size; i++) {
-            if(elements[i].equals(o)) return i;
-        }
-        return -1;
+        return indexOfRange(o, 0, size);
     }
     /**
-     * Ищет переданный элемент в списке, начиная с конца списка
+     * Ищет переданный элемент в списке, начиная с конца списка. Список может содержать
+     * {@code null}, и его тоже можно искать.
      * @param o элемент, который нужно найти
      * @return индекс, по которому находится элемент. -1 - если элемент не был найден
      */
     @Override
     public int lastIndexOf(Object o) {
-        for (int i = size - 1; i >= 0; i--) {
-            if(elements[i].equals(o)) return i;
+        return lastIndexOfRange(o, 0, size);
+    }
+
+    /**
+     * Ищет первое вхождение элемента в диапазоне. Для {@code null} и остальных элементов
+     * используются разные циклы, чтобы в цикле не было лишней проверки. Метод equals вызывается
+     * у искомого элемента, а не у элементов списка: так во всем цикле вызывается equals одного
+     * класса, и JIT-компилятор может встроить его. Перед вызовом equals ссылки сравниваются
+     * напрямую, что избавляет от вызова, если в списке лежит тот же объект.
+     * @param o элемент, который нужно найти
+     * @param from начало диапазона
+     * @param to конец диапазона(не будет включен)
+     * @return индекс элемента во внутреннем массиве либо -1
+     */
+    private int indexOfRange(Object o, int from, int to) {
+        Object[] elements = this.elements;
+        if(o == null) {
+            for (int i = from; i < to; i++) {
+                if(elements[i] == null) return i;
+            }
+        } else {
+            for (int i = from; i < to; i++) {
+                Object element = elements[i];
+                if(o == element || o.equals(element)) return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Ищет последнее вхождение элемента в диапазоне. Устроен так же, как {@link #indexOfRange(Object, int, int)}
+     * @param o элемент, который нужно найти
+     * @param from начало диапазона
+     * @param to конец диапазона(не будет включен)
+     * @return индекс элемента во внутреннем массиве либо -1
+     */
+    private int lastIndexOfRange(Object o, int from, int to) {
+        Object[] elements = this.elements;
+        if(o == null) {
+            for (int i = to - 1; i >= from; i--) {
+                if(elements[i] == null) return i;
+            }
+        } else {
+            for (int i = to - 1; i >= from; i--) {
+                Object element = elements[i];
+                if(o == element || o.equals(element)) return i;
+            }
         }
         return -1;
     }
@@ -353,7 +671,8 @@ public class ArrayList<E> implements List<E>, Cloneable {
         return indexOf(o) > -1;
     }
     /**
-     * Проверяет наличие всех элементов в списке из переданной коллекции
+     * Проверяет наличие всех элементов в списке из переданной коллекции. Каждый элемент
+     * ищется методом {@link #contains(Object)}, поэтому коллекция может содержать {@code null}.
      * @param c коллекция, содержащая элементы, проверить наличие которых требуется
      * @throws NullPointerException если передан {@code null}
      * @return {@code true}, если все элементы хотя бы в одном экземпляре содержатся в списке,
@@ -399,17 +718,15 @@ public class ArrayList<E> implements List<E>, Cloneable {
     /**
      * Увеличивает внутренний массив до переданного значения. Если
      * переданное значение меньше размера массива и положительно, то ничего не произойдет.
+     * Политика увеличения массива при этом не используется.
      * @param capacity новый размер внутреннего массива
-     * @throws NullPointerException если capacity меньше нуля.
+     * @throws IllegalArgumentException если capacity меньше нуля.
      * @return {@code true}, если массив был увеличен, {@code false} в противном случае
      */
     public boolean ensureCapacity(int capacity) {
         if(capacity < 0) throw new IllegalArgumentException("capacity can't be lower than zero");
-        if(capacity <= this.capacity) return false;
-        this.capacity = capacity;
-        Object[] ensuredArray = new Object[capacity];
-        System.arraycopy(elements, 0, ensuredArray, 0, size);
-        elements = ensuredArray;
+        if(capacity <= elements.length) return false;
+        resize(capacity);
         return true;
     }
     /**
@@ -417,126 +734,641 @@ public class ArrayList<E> implements List<E>, Cloneable {
      * содержащего все элементы списка.
      */
     public void trimToSize() {
-        elements = Arrays.copyOf(elements, size);
+        if(size < elements.length) {
+            resize(size);
+        }
     }
+
     /**
-     * Возвращает новый список, содержащий элементы в переданном диапазоне индексов, не
-     * включаю последний, что означает, что если нужно, чтобы в новом списке был последний элемент
-     * текущего списка, toIndex должен быть равен {@link #size}
-     * @param fromIndex начало диапазона
-     * @param toIndex конец диапазона(не будет включен)
-     * @throws IllegalArgumentException если fromIndex меньше чем toIndex, либо если передан
-     * неверный индекс.
-     * @return Новый список, содержащий все элементы в диапазоне
+     * Задает политику увеличения внутреннего массива для данного списка
+     * @param growthPolicy политика увеличения массива
+     * @throws NullPointerException если передан {@code null}
      */
-    @Override
-    public List<E> subList(int fromIndex, int toIndex) {
-        if(fromIndex >= toIndex) throw  new IllegalArgumentException("toIndex must be greater than fromIndex");
-        checkIndex(fromIndex);
-        checkIndex(toIndex - 1);
-        ArrayList<E> subList = new ArrayList<>();
-        subList.elements = Arrays.copyOfRange(elements, fromIndex, toIndex);
-        subList.size = toIndex - fromIndex;
-        return subList;
+    public void setGrowthPolicy(GrowthPolicy growthPolicy) {
+        if(growthPolicy == null) throw new NullPointerException();
+        this.growthPolicy = growthPolicy;
     }
+
     /**
-     * Возвращает итератор списка
-     * @return итератор данного списка, являющийся объектом класса {@link ArrayListIterator},
-     * обернутый в интерфейс {@link Iterator}
+     * Возвращает политику увеличения внутреннего массива данного списка
+     * @return политика увеличения массива
      */
-    @Override
-    public Iterator<E> iterator() {
-        return new ArrayListIterator();
+    public GrowthPolicy getGrowthPolicy() {
+        return growthPolicy;
     }
+
     /**
-     * Возвращает итератор списка
-     * @return итератор данного списка, являющийся объектом класса {@link ArrayListIterator},
-     * обернутый в интерфейс {@link ListIterator}
+     * Задает политику увеличения массива, которую будут получать все списки, созданные после
+     * вызова этого метода. На уже созданные списки не влияет.
+     * @param growthPolicy политика увеличения массива
+     * @throws NullPointerException если передан {@code null}
      */
-    @Override
-    public ListIterator<E> listIterator() {
-        return new ArrayListIterator();
+    public static void setDefaultGrowthPolicy(GrowthPolicy growthPolicy) {
+        if(growthPolicy == null) throw new NullPointerException();
+        defaultGrowthPolicy = growthPolicy;
     }
+
     /**
-     * Позволяет получить итератор, указатель которого находится на переданном индексе
-     * @param index индекс, на котором будет находиться указатель итератора.
-     * Здесь индекс может быть равен size, что означает что указатель будет находиться в конце списка.
-     * @return итератор данного списка, являющийся объектом класса {@link ArrayListIterator},
-     * обернутый в интерфейс {@link ListIterator}
+     * Возвращает политику увеличения массива, которую получают новые списки
+     * @return политика увеличения массива по умолчанию
+     */
+    public static GrowthPolicy getDefaultGrowthPolicy() {
+        return defaultGrowthPolicy;
+    }
+
+    /**
+     * Задает слушателя внутренних операций данного списка. {@code null} отключает метрики.
+     * @param metrics слушатель или {@code null}
+     */
+    public void setMetrics(ListMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * Возвращает слушателя внутренних операций данного списка
+     * @return слушатель или {@code null}, если метрики отключены
+     */
+    public ListMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Задает слушателя, которого будут получать все списки, созданные после вызова этого
+     * метода. На уже созданные списки не влияет. {@code null} отключает метрики новых списков.
+     * @param metrics слушатель или {@code null}
+     */
+    public static void setDefaultMetrics(ListMetrics metrics) {
+        defaultMetrics = metrics;
+    }
+
+    /**
+     * Возвращает слушателя, которого получают новые списки
+     * @return слушатель по умолчанию или {@code null}
+     */
+    public static ListMetrics getDefaultMetrics() {
+        return defaultMetrics;
+    }
+
+    /**
+     * Возвращает, сколько раз внутренний массив создавался заново с копированием элементов:
+     * при увеличении, а также в методах {@link #ensureCapacity(int)} и {@link #trimToSize()}.
+     * Копирования из-за {@link #snapshot() снимков} сюда не входят.
+     * @return количество пересозданий массива
+     */
+    public long getReallocationCount() {
+        return reallocations;
+    }
+
+    /**
+     * Возвращает, сколько байт было скопировано при пересоздании внутреннего массива. Считаются
+     * только ссылки на элементы, размер ссылки определяется настройками виртуальной машины
+     * (4 байта при сжатых ссылках, иначе 8).
+     * @return количество скопированных байт
+     */
+    public long getCopiedBytes() {
+        return copiedElements * ReferenceSize.BYTES;
+    }
+
+    /**
+     * Размер ссылки на объект. Вынесен в отдельный класс, чтобы обращение к
+     * управляющим интерфейсам виртуальной машины происходило только при первом запросе.
      */
+    private static final class ReferenceSize {
+        static final int BYTES = detect();
 
+        private static int detect() {
+            try {
+                com.sun.management.HotSpotDiagnosticMXBean bean = java.lang.management.ManagementFactory
+                        .getPlatformMXBean(com.sun.management.HotSpotDiagnosticMXBean.class);
+                return Boolean.parseBoolean(bean.getVMOption("UseCompressedOops").getValue()) ? 4 : 8;
+            } catch (RuntimeException | LinkageError e) {
+                return 8;
+            }
+        }
+    }
+    /**
+     * Возвращает представление части списка в переданном диапазоне индексов, не
+     * включая последний, что означает, что если нужно, чтобы в представлении был последний элемент
+     * текущего списка, toIndex должен быть равен {@link #size}. Представление не копирует элементы:
+     * чтение и запись выполняются напрямую во внутренний массив списка, а вставка и удаление
+     * через представление меняют и сам список. Если список был структурно изменен не через
+     * представление, то обращение к представлению выбросит {@link ConcurrentModificationException}.
+     * @param fromIndex начало диапазона
+     * @param toIndex конец диапазона(не будет включен)
+     * @throws IndexOutOfBoundsException если fromIndex меньше нуля либо toIndex больше size
+     * @throws IllegalArgumentException если fromIndex больше чем toIndex
+     * @return представление части списка
+     */
     @Override
-    public ListIterator<E> listIterator(int index) {
-        if(index != size) checkIndex(index);
-        return new ArrayListIterator(index);
+    public List<E> subList(int fromIndex, int toIndex) {
+        checkRange(fromIndex, toIndex, size);
+        return new SubList(null, fromIndex, toIndex);
     }
 
     /**
-     * Класс, реализующий интерфейс {@link ListIterator} в самом базовом варианте.
-     * Данный итератор позволяет двигаться по списку в любом направлении, добавлять,
-     * удалять элементы, менять их значение. Он запоминает сколько раз менялся список
-     * на момент его создания и при вызове методов {@link ArrayListIterator#next() next},
-     * {@link ArrayListIterator#previous() previous}, {@link ArrayListIterator#remove remove},
-     * {@link ArrayListIterator#add add}, сравнивает данное значение с аналогичным, которое хранится в самом списке.
-     * Если они не равны, то выбрасывается {@link ConcurrentModificationException}.
-     * <p>Указатель списка может принимать значения от 0 до size. Когда он принимает крайние значения, это означает,
-     * что итератор дошел до начала либо конца списка.
-     * <p>Удалить элемент или поменять значение элементам можно только после вызова одного из методов:
-     * {@link ArrayListIterator#next() next}, {@link ArrayListIterator#previous() previous}, при чем
-     * единожды - вызвать два раза подряд метод {@link ArrayListIterator#remove remove} или
-     * {@link ArrayListIterator#set set}, или вызвать эти методы подряд в любой комбинации не получится,
-     * будет выброшено {@link IllegalStateException}. При вызове этих методов они применяются к
-     * предыдущему элементу, на котором стоял указатель, т.е. если был вызван метод {@link ArrayListIterator#next() next},
-     * то будет изменен элемент, стоящий раньше по списку относительно указателя, если {@link ArrayListIterator#previous() previous},
-     * то наоборот.
-     * <p>Добавление элементов с помощью итератора работает аналогичным образом, что и удаление, за исключением ограничения на
-     * обязательный вызов перед добавлением {@link ArrayListIterator#next() next} или {@link ArrayListIterator#previous() previous}.
-     * Добавлять элементы можно сколько угодно раз подряд.
+     * Проверяет диапазон индексов [fromIndex, toIndex), переданный в метод subList
+     * @param fromIndex начало диапазона
+     * @param toIndex конец диапазона(не будет включен)
+     * @param size размер списка, в котором берется диапазон
+     * @throws IndexOutOfBoundsException если fromIndex меньше нуля либо toIndex больше size
+     * @throws IllegalArgumentException если fromIndex больше чем toIndex
      */
-    private class ArrayListIterator implements ListIterator<E> {
+    private static void checkRange(int fromIndex, int toIndex, int size) {
+        if(fromIndex < 0) throw new IndexOutOfBoundsException("fromIndex = " + fromIndex);
+        if(toIndex > size) throw new IndexOutOfBoundsException("toIndex = " + toIndex);
+        if(fromIndex > toIndex) throw new IllegalArgumentException("fromIndex(" + fromIndex + ") > toIndex(" + toIndex + ")");
+    }
+
+    /**
+     * Удаляет элементы в диапазоне [fromIndex, toIndex), сдвигая элементы после него одним копированием.
+     * @param fromIndex начало диапазона
+     * @param toIndex конец диапазона(не будет включен)
+     */
+    private void removeRange(int fromIndex, int toIndex) {
+        if(fromIndex == toIndex) return;
+        copyOnWrite();
+        shiftArray(toIndex, fromIndex, size - toIndex);
+        int newSize = size - (toIndex - fromIndex);
+        Arrays.fill(elements, newSize, size, null);
+        size = newSize;
+        modCount++;
+    }
+
+    /**
+     * Представление части списка, возвращаемое методом {@link #subList(int, int)}. Хранит смещение
+     * начала диапазона во внутреннем массиве списка и свой размер. Все операции выполняются над
+     * списком, а вставки и удаления обновляют размер представления и всех представлений, из которых
+     * оно было получено. Как и {@link ArrayListIterator}, представление запоминает modCount списка
+     * и выбрасывает {@link ConcurrentModificationException}, если список был изменен не через него.
+     */
+    private class SubList extends AbstractList<E> implements RandomAccess {
         /**
-         * Курсор, указывающий на текущий элемент
+         * Представление, из которого было получено данное, либо {@code null}, если оно получено из списка
          */
-        int cursor;
+        final SubList parent;
         /**
-         * Индекс элемента, на котором был указатель до вызова методов {@link ArrayListIterator#next() next} или
-         * {@link ArrayListIterator#previous() previous}.
+         * Индекс начала диапазона во внутреннем массиве списка
          */
-        int last;
+        final int offset;
         /**
-         * Количество раз, которое изменялся список на момент создания итератора
+         * Количество элементов в представлении
          */
-        int expectedModCount = modCount;
+        int size;
+        /**
+         * Количество раз, которое изменялся список на момент последнего изменения через представление
+         */
+        int expectedModCount;
 
-        ArrayListIterator() {}
-        ArrayListIterator(int cursor) {
-            this.cursor = cursor;
-            last = -1;
+        SubList(SubList parent, int fromIndex, int toIndex) {
+            this.parent = parent;
+            this.offset = fromIndex;
+            this.size = toIndex - fromIndex;
+            this.expectedModCount = ArrayList.this.modCount;
         }
 
         @Override
-        public boolean hasNext() {
-            return cursor < size;
+        public E get(int index) {
+            checkIndex(index);
+            checkForCoModification();
+            @SuppressWarnings("unchecked")
+            E element = (E) elements[offset + index];
+            return element;
         }
 
         @Override
-        public E next() {
-            if(cursor == size) throw new NoSuchElementException();
+        public E set(int index, E element) {
+            checkIndex(index);
             checkForCoModification();
-            @SuppressWarnings("unchecked")
-            E element = (E) elements[cursor];
-            last = cursor++;
-            return element;
+            return ArrayList.this.set(offset + index, element);
         }
 
         @Override
-        public boolean hasPrevious() {
-            return cursor > 0;
+        public int size() {
+            checkForCoModification();
+            return size;
         }
 
         @Override
-        public E previous() {
-            if(cursor == 0) throw new NoSuchElementException();
+        public void add(int index, E element) {
+            if(index != size) checkIndex(index);
+            checkForCoModification();
+            ArrayList.this.add(offset + index, element);
+            updateSize(1);
+        }
+
+        @Override
+        public E remove(int index) {
+            checkIndex(index);
+            checkForCoModification();
+            E removed = ArrayList.this.remove(offset + index);
+            updateSize(-1);
+            return removed;
+        }
+
+        @Override
+        protected void removeRange(int fromIndex, int toIndex) {
+            checkForCoModification();
+            ArrayList.this.removeRange(offset + fromIndex, offset + toIndex);
+            updateSize(fromIndex - toIndex);
+        }
+
+        @Override
+        public boolean addAll(Collection<? extends E> c) {
+            return addAll(size, c);
+        }
+
+        @Override
+        public boolean addAll(int index, Collection<? extends E> c) {
+            if(index != size) checkIndex(index);
+            checkForCoModification();
+            int oldSize = ArrayList.this.size;
+            boolean modified = ArrayList.this.addAll(offset + index, c);
+            if(modified) updateSize(ArrayList.this.size - oldSize);
+            return modified;
+        }
+
+        @Override
+        public boolean removeIf(Predicate<? super E> filter) {
+            checkForCoModification();
+            int removed = ArrayList.this.removeIf(filter, offset, offset + size);
+            if(removed > 0) updateSize(-removed);
+            return removed > 0;
+        }
+
+        @Override
+        public boolean removeAll(Collection<?> c) {
+            Collection<?> lookup = lookupOf(c);
+            return removeIf(lookup::contains);
+        }
+
+        @Override
+        public boolean retainAll(Collection<?> c) {
+            Collection<?> lookup = lookupOf(c);
+            return removeIf(e -> !lookup.contains(e));
+        }
+
+        @Override
+        public Object[] toArray() {
+            checkForCoModification();
+            return Arrays.copyOfRange(elements, offset, offset + size);
+        }
+
+        @Override
+        public int indexOf(Object o) {
+            checkForCoModification();
+            int index = indexOfRange(o, offset, offset + size);
+            return index < 0 ? -1 : index - offset;
+        }
+
+        @Override
+        public int lastIndexOf(Object o) {
+            checkForCoModification();
+            int index = lastIndexOfRange(o, offset, offset + size);
+            return index < 0 ? -1 : index - offset;
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return indexOf(o) > -1;
+        }
+
+        @Override
+        public void sort(Comparator<? super E> comparator) {
+            checkForCoModification();
+            sortRange(offset, offset + size, comparator);
+            ArrayList.this.modCount++;
+            updateSize(0);
+        }
+
+        @Override
+        public List<E> subList(int fromIndex, int toIndex) {
+            checkRange(fromIndex, toIndex, size);
+            checkForCoModification();
+            return new SubList(this, offset + fromIndex, offset + toIndex);
+        }
+
+        /**
+         * Обновляет размер данного представления и всех родительских после структурного изменения
+         * @param delta на сколько изменилось количество элементов
+         */
+        private void updateSize(int delta) {
+            for (SubList subList = this; subList != null; subList = subList.parent) {
+                subList.size += delta;
+                subList.expectedModCount = ArrayList.this.modCount;
+                subList.modCount++;
+            }
+        }
+
+        /**
+         * Проверяет валидность индекса относительно начала представления
+         * @param index индекс, валидность которого нужно проверить
+         * @throws IndexOutOfBoundsException если индекс не лежит в диапазоне [0, size)
+         */
+        private void checkIndex(int index) {
+            if(index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException(String.format("Index %d out of bounds for length %d", index, size));
+            }
+        }
+
+        /**
+         * Проверяет, менялся ли список не через данное представление
+         * @throws ConcurrentModificationException если список был структурно изменен не через представление
+         */
+        private void checkForCoModification() {
+            if(expectedModCount != ArrayList.this.modCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+    }
+
+    /**
+     * Возвращает неизменяемый снимок списка за O(1). Снимок не копирует элементы, а использует
+     * внутренний массив списка: массив помечается как разделяемый, и при первом изменении
+     * список сначала копирует его (copy-on-write). Поэтому частые снимки редко меняющегося
+     * списка почти ничего не стоят, а копирование происходит не чаще одного раза между снимками.
+     *
+     * <p>Снимок не меняется при изменении списка, не проверяет modCount и не использует блокировок,
+     * поэтому его можно читать из любого количества потоков, если сам снимок передан им безопасно
+     * (например, через volatile поле). Получать снимок должен поток, изменяющий список.
+     * Методы изменения снимка выбрасывают {@link UnsupportedOperationException}.
+     * @return неизменяемый снимок текущего состояния списка
+     */
+    public List<E> snapshot() {
+        shared = true;
+        return new Snapshot<>(elements, size);
+    }
+
+    /**
+     * Копирует внутренний массив, если он используется снимком. Вызывается перед
+     * любой записью в массив, которая не сопровождается созданием нового массива.
+     */
+    private void copyOnWrite() {
+        if(shared) {
+            elements = Arrays.copyOf(elements, elements.length);
+            shared = false;
+        }
+    }
+
+    /**
+     * Неизменяемый снимок списка. Хранит ссылку на внутренний массив списка и количество
+     * элементов на момент создания. Поля final, поэтому содержимое массива, записанное до
+     * создания снимка, видно любому потоку, получившему ссылку на снимок.
+     */
+    private static final class Snapshot<E> extends AbstractList<E> implements RandomAccess {
+        private final Object[] elements;
+        private final int size;
+
+        Snapshot(Object[] elements, int size) {
+            this.elements = elements;
+            this.size = size;
+        }
+
+        @Override
+        public E get(int index) {
+            if(index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException(String.format("Index %d out of bounds for length %d", index, size));
+            }
+            @SuppressWarnings("unchecked")
+            E element = (E) elements[index];
+            return element;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public Object[] toArray() {
+            return Arrays.copyOf(elements, size);
+        }
+
+        @Override
+        public Iterator<E> iterator() {
+            return new Iterator<>() {
+                int cursor;
+
+                @Override
+                public boolean hasNext() {
+                    return cursor < size;
+                }
+
+                @Override
+                public E next() {
+                    if(cursor >= size) throw new NoSuchElementException();
+                    @SuppressWarnings("unchecked")
+                    E element = (E) elements[cursor++];
+                    return element;
+                }
+            };
+        }
+
+        @Override
+        public void forEach(Consumer<? super E> action) {
+            if(action == null) throw new NullPointerException();
+            for (int i = 0; i < size; i++) {
+                @SuppressWarnings("unchecked")
+                E element = (E) elements[i];
+                action.accept(element);
+            }
+        }
+    }
+
+    /**
+     * Возвращает итератор списка
+     * @return итератор данного списка, являющийся объектом класса {@link ArrayListIterator},
+     * обернутый в интерфейс {@link Iterator}
+     */
+    @Override
+    public Iterator<E> iterator() {
+        return new ArrayListIterator();
+    }
+    /**
+     * Возвращает итератор списка
+     * @return итератор данного списка, являющийся объектом класса {@link ArrayListIterator},
+     * обернутый в интерфейс {@link ListIterator}
+     */
+    @Override
+    public ListIterator<E> listIterator() {
+        return new ArrayListIterator();
+    }
+    /**
+     * Позволяет получить итератор, указатель которого находится на переданном индексе
+     * @param index индекс, на котором будет находиться указатель итератора.
+     * Здесь индекс может быть равен size, что означает что указатель будет находиться в конце списка.
+     * @return итератор данного списка, являющийся объектом класса {@link ArrayListIterator},
+     * обернутый в интерфейс {@link ListIterator}
+     */
+
+    @Override
+    public ListIterator<E> listIterator(int index) {
+        if(index != size) checkIndex(index);
+        return new ArrayListIterator(index);
+    }
+
+    /**
+     * Возвращает {@link Spliterator}, работающий напрямую с внутренним массивом. Он делится
+     * пополам по индексам, поэтому {@code parallelStream()} получает равные части списка,
+     * а обход выполняется простым циклом по массиву без создания итератора.
+     * @return сплитератор данного списка с характеристиками ORDERED, SIZED и SUBSIZED
+     */
+    @Override
+    public Spliterator<E> spliterator() {
+        return new ArrayListSpliterator(0, -1, 0);
+    }
+
+    /**
+     * Сплитератор списка. Границы обхода фиксируются не при создании, а при первом
+     * обращении (late-binding), поэтому список можно менять между вызовом {@link #spliterator()}
+     * и началом обхода. В этот же момент запоминается modCount списка; если к концу обхода
+     * он изменился, выбрасывается {@link ConcurrentModificationException}. Метод
+     * {@link #forEachRemaining(Consumer)} проверяет modCount один раз после всего цикла.
+     */
+    private class ArrayListSpliterator implements Spliterator<E> {
+        /**
+         * Индекс следующего элемента
+         */
+        int index;
+        /**
+         * Индекс, до которого идет обход (не включительно), -1 до первого использования
+         */
+        int fence;
+        /**
+         * Количество раз, которое изменялся список на момент первого использования
+         */
+        int expectedModCount;
+
+        ArrayListSpliterator(int origin, int fence, int expectedModCount) {
+            this.index = origin;
+            this.fence = fence;
+            this.expectedModCount = expectedModCount;
+        }
+
+        /**
+         * Фиксирует границу обхода при первом обращении
+         * @return индекс, до которого идет обход
+         */
+        private int getFence() {
+            if(fence < 0) {
+                expectedModCount = modCount;
+                fence = size;
+            }
+            return fence;
+        }
+
+        @Override
+        public Spliterator<E> trySplit() {
+            int hi = getFence(), lo = index, mid = (lo + hi) >>> 1;
+            if(lo >= mid) return null;
+            index = mid;
+            return new ArrayListSpliterator(lo, mid, expectedModCount);
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super E> action) {
+            if(action == null) throw new NullPointerException();
+            int hi = getFence(), i = index;
+            if(i >= hi) return false;
+            index = i + 1;
+            @SuppressWarnings("unchecked")
+            E element = (E) elements[i];
+            action.accept(element);
+            if(modCount != expectedModCount) throw new ConcurrentModificationException();
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super E> action) {
+            if(action == null) throw new NullPointerException();
+            int hi = getFence(), i = index;
+            Object[] array = elements;
+            if(hi > array.length) throw new ConcurrentModificationException();
+            index = hi;
+            for (; i < hi; i++) {
+                @SuppressWarnings("unchecked")
+                E element = (E) array[i];
+                action.accept(element);
+            }
+            if(modCount != expectedModCount) throw new ConcurrentModificationException();
+        }
+
+        @Override
+        public long estimateSize() {
+            return getFence() - index;
+        }
+
+        @Override
+        public int characteristics() {
+            return Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED;
+        }
+    }
+
+    /**
+     * Класс, реализующий интерфейс {@link ListIterator} в самом базовом варианте.
+     * Данный итератор позволяет двигаться по списку в любом направлении, добавлять,
+     * удалять элементы, менять их значение. Он запоминает сколько раз менялся список
+     * на момент его создания и при вызове методов {@link ArrayListIterator#next() next},
+     * {@link ArrayListIterator#previous() previous}, {@link ArrayListIterator#remove remove},
+     * {@link ArrayListIterator#add add}, сравнивает данное значение с аналогичным, которое хранится в самом списке.
+     * Если они не равны, то выбрасывается {@link ConcurrentModificationException}.
+     * <p>Указатель списка может принимать значения от 0 до size. Когда он принимает крайние значения, это означает,
+     * что итератор дошел до начала либо конца списка.
+     * <p>Удалить элемент или поменять значение элементам можно только после вызова одного из методов:
+     * {@link ArrayListIterator#next() next}, {@link ArrayListIterator#previous() previous}, при чем
+     * единожды - вызвать два раза подряд метод {@link ArrayListIterator#remove remove} или
+     * {@link ArrayListIterator#set set}, или вызвать эти методы подряд в любой комбинации не получится,
+     * будет выброшено {@link IllegalStateException}. При вызове этих методов они применяются к
+     * предыдущему элементу, на котором стоял указатель, т.е. если был вызван метод {@link ArrayListIterator#next() next},
+     * то будет изменен элемент, стоящий раньше по списку относительно указателя, если {@link ArrayListIterator#previous() previous},
+     * то наоборот.
+     * <p>Добавление элементов с помощью итератора работает аналогичным образом, что и удаление, за исключением ограничения на
+     * обязательный вызов перед добавлением {@link ArrayListIterator#next() next} или {@link ArrayListIterator#previous() previous}.
+     * Добавлять элементы можно сколько угодно раз подряд.
+     */
+    private class ArrayListIterator implements ListIterator<E> {
+        /**
+         * Курсор, указывающий на текущий элемент
+         */
+        int cursor;
+        /**
+         * Индекс элемента, на котором был указатель до вызова методов {@link ArrayListIterator#next() next} или
+         * {@link ArrayListIterator#previous() previous}.
+         */
+        int last;
+        /**
+         * Количество раз, которое изменялся список на момент создания итератора
+         */
+        int expectedModCount = modCount;
+
+        ArrayListIterator() {}
+        ArrayListIterator(int cursor) {
+            this.cursor = cursor;
+            last = -1;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return cursor < size;
+        }
+
+        @Override
+        public E next() {
+            if(cursor == size) throw new NoSuchElementException();
+            checkForCoModification();
+            @SuppressWarnings("unchecked")
+            E element = (E) elements[cursor];
+            last = cursor++;
+            return element;
+        }
+
+        @Override
+        public boolean hasPrevious() {
+            return cursor > 0;
+        }
+
+        @Override
+        public E previous() {
+            if(cursor == 0) throw new NoSuchElementException();
             checkForCoModification();
             last = --cursor;
             @SuppressWarnings("unchecked")
@@ -600,109 +1432,200 @@ public class ArrayList<E> implements List<E>, Cloneable {
 
     private void shiftArray(int from, int to, int count) {
         System.arraycopy(elements, from, elements, to, count);
+        ListMetrics metrics = this.metrics;
+        if(metrics != null && count > 0) {
+            metrics.onShift(count);
+        }
     }
 
     /**
-     * Увеличивает массив в полтора раза путем создания нового массива и копирования в него элементов из старого.
+     * Увеличивает массив так, чтобы в него поместился еще один элемент.
      */
     private void increaseArray() {
-        increaseArray((capacity >> 1) + capacity + 1);
+        increaseArray(size + 1);
     }
 
     /**
-     * Увеличивает массив до переданного значения. Используется в некоторых методах, например,
-     * в добавлении коллекции элементов список, чтобы не увеличивать массив несколько раз,
-     * если коллекция слишком велика.
-     * @param newCapacity размер, до которого нужно увеличить массив
+     * Увеличивает массив согласно политике {@link #growthPolicy}. Используется при вставке
+     * одного элемента и при добавлении коллекции, чтобы не увеличивать массив несколько раз,
+     * если коллекция слишком велика. Результат политики приводится к диапазону
+     * [minCapacity, {@link GrowthPolicy#MAX_CAPACITY}].
+     * @param minCapacity минимальный размер, необходимый для операции
+     * @throws OutOfMemoryError если minCapacity больше максимального размера массива
      */
-    private void increaseArray(int newCapacity) {
-        capacity = newCapacity;
-        Object[] newArray = new Object[capacity];
+    private void increaseArray(int minCapacity) {
+        if(minCapacity < 0 || minCapacity > GrowthPolicy.MAX_CAPACITY) {
+            throw new OutOfMemoryError("Required array size too large");
+        }
+        int newCapacity = growthPolicy.newCapacity(elements.length, minCapacity);
+        resize(Math.max(minCapacity, Math.min(newCapacity, GrowthPolicy.MAX_CAPACITY)));
+    }
+
+    /**
+     * Создает внутренний массив переданного размера и копирует в него элементы из старого.
+     * Единственное место, где массив пересоздается из-за нехватки или избытка места, поэтому
+     * здесь же обновляются счетчики {@link #getReallocationCount()} и {@link #getCopiedBytes()}
+     * и вызывается {@link ListMetrics}.
+     * @param newCapacity размер нового массива, не меньше size
+     */
+    private void resize(int newCapacity) {
+        int oldCapacity = elements.length;
+        Object[] newArray = new Object[newCapacity];
         System.arraycopy(elements, 0, newArray, 0, size);
         elements = newArray;
+        shared = false;
+        reallocations++;
+        copiedElements += size;
+        ListMetrics metrics = this.metrics;
+        if(metrics != null) {
+            if(newCapacity > oldCapacity) {
+                metrics.onGrow(oldCapacity, newCapacity, (long) size * ReferenceSize.BYTES);
+            } else {
+                metrics.onTrim(oldCapacity, newCapacity, (long) (oldCapacity - newCapacity) * ReferenceSize.BYTES);
+            }
+        }
     }
 
     /**
-     * Компаратор, используемый при сортировке списка.
+     * Сортирует список с помощью переданного компаратора. Используется устойчивая
+     * гибридная сортировка {@link StableSort} в духе TimSort: естественные серии
+     * упорядоченных элементов находятся за один проход, короткие серии досортировываются
+     * вставками, а затем серии сливаются. Алгоритмическая сложность в худшем случае
+     * равна O(n log n), на уже упорядоченных данных - O(n), равные элементы сохраняют
+     * взаимный порядок. Рекурсия не используется, а дополнительная память ограничена
+     * половиной размера списка.
+     * @param comparator компаратор, с помощью которого будет сортироваться массив,
+     * {@code null} означает естественный порядок элементов
+     * @throws ConcurrentModificationException если компаратор изменил список
      */
-    private transient Comparator<? super E> comparator;
+
+    public void sort(Comparator<? super E> comparator) {
+        int expectedModCount = modCount;
+        sortRange(0, size, comparator);
+        if(modCount != expectedModCount) throw new ConcurrentModificationException();
+        modCount++;
+    }
+
     /**
-     * Сортирует список, с помощью переданного компаратора.
-     * Здесь реализована классическая сортировка Хоара или
-     * быстрая сортировка. Средняя алгоритмическая сложность
-     * равна O(n log n), где n - количество элементов, основание
-     * логарифма равно 2, т.к. рекурсивно массив разбивается на
-     * два подмассива, которые сортируются, до тех пор, пока
-     * массив не будет состоять из одного элемента. Разбивка на массивы
-     * происходит не буквально, а за счет передачи индексов, за пределами
-     * которых массив не будет сортироваться
-     * @param comparator компаратор, с помощью которого будет сортироваться массив
+     * Сортирует диапазон внутреннего массива. Общая часть {@link #sort(Comparator)} и сортировки
+     * представления {@link #subList(int, int)}; подклассы из этого пакета, поддерживающие
+     * собственный порядок элементов, переопределяют метод, чтобы запретить сортировку.
+     * @param from начало диапазона
+     * @param to конец диапазона(не будет включен)
+     * @param comparator компаратор, {@code null} означает естественный порядок элементов
      */
+    void sortRange(int from, int to, Comparator<? super E> comparator) {
+        copyOnWrite();
+        ListMetrics metrics = this.metrics;
+        if(metrics == null) {
+            StableSort.sort(elements, from, to, comparator);
+            return;
+        }
+        long start = System.nanoTime();
+        int depth = StableSort.sort(elements, from, to, comparator);
+        metrics.onSort(to - from, depth, false, System.nanoTime() - start);
+    }
 
-    public void sort(Comparator<? super E> comparator) {
-        this.comparator = comparator;
-        separate(0, size - 1);
+    /**
+     * Ищет элемент в отсортированном списке бинарным поиском за O(log n). Если список не
+     * отсортирован переданным компаратором, результат не определен. Если равных элементов
+     * несколько, возвращается индекс первого из них.
+     * @param key искомый элемент
+     * @param comparator компаратор, которым отсортирован список, {@code null} означает естественный порядок
+     * @throws ClassCastException если компаратор равен {@code null}, а элементы не реализуют {@link Comparable}
+     * @return индекс элемента, если он найден, иначе {@code -(insertionPoint + 1)}, где insertionPoint -
+     * индекс, по которому элемент нужно вставить, чтобы список остался отсортированным
+     */
+    public int binarySearch(E key, Comparator<? super E> comparator) {
+        int index = lowerBound(key, comparator);
+        return index < size && StableSort.orderOf(comparator).compare(elements[index], key) == 0 ? index : -(index + 1);
     }
 
     /**
-     * Сортирует список, пытаясь приводить сортируемые элементы к
-     * Comparable. Ответственность за то, имплементирует ли параметризованный
-     * тип Comparable, ложится на того, кто вызывает этот метод. Ради сокращения
-     * количества кода, приведение к Comparable и сравнение элементов завернуто
-     * в Comparator.
+     * Ищет в отсортированном списке индекс первого элемента, не меньшего ключа
+     * @param key ключ
+     * @param comparator компаратор, которым отсортирован список, {@code null} означает естественный порядок
+     * @return индекс в диапазоне [0, size]
      */
-    @SuppressWarnings("unchecked")
-    public void sort() {
-        sort((e1, e2) -> ((Comparable<E>) e1).compareTo(e2));
+    int lowerBound(Object key, Comparator<?> comparator) {
+        return StableSort.lowerBound(elements, key, 0, size, StableSort.orderOf(comparator));
     }
 
     /**
-     * Часть алгоритма быстрой сортировки. Данный метод рекурсивно разбивает массив
-     * на подмассивы, до тех пор, пока массив не будет состоять из одного элемента.
-     * @param left левая граница массива включительно
-     * @param right правая граница массива включительно
+     * Ищет в отсортированном списке индекс первого элемента, строго большего ключа
+     * @param key ключ
+     * @param comparator компаратор, которым отсортирован список, {@code null} означает естественный порядок
+     * @return индекс в диапазоне [0, size]
      */
+    int upperBound(Object key, Comparator<?> comparator) {
+        return StableSort.upperBound(elements, key, 0, size, StableSort.orderOf(comparator));
+    }
 
-    private void separate(int left, int right) {
-        if(left < right) {
-            int middle = sort(left, right);
-            separate(left, middle - 1);
-            separate(middle, right);
-        }
+    /**
+     * Ищет элемент в списке, отсортированном в естественном порядке, бинарным поиском
+     * @param key искомый элемент
+     * @throws ClassCastException если элементы не реализуют {@link Comparable}
+     * @return индекс элемента, если он найден, иначе {@code -(insertionPoint + 1)}
+     * @see #binarySearch(Object, Comparator)
+     */
+    public int binarySearch(E key) {
+        return binarySearch(key, null);
     }
 
     /**
-     * Часть алгоритма быстрой сортировки. Данный метод сортирует массив
-     * относительно опорного элемента. Здесь выбирается элемент посередине,
-     * хотя на самом деле неважно какой элемент будет выбран, т.к. заранее
-     * неизвестно, какой массив будет передан. В результате выполнения данного
-     * метода массив будет отсортирован относительно опорного элемента в том плане,
-     * что все элементы, которые меньше либо равны опорному будут стоять
-     * левее всех элементов, которые больше либо равны опорному.
-     * @param left левая граница массива включительно
-     * @param right правая граница массива включительно
-     * @return начало правого подмассива, в котором все элементы больше либо равны опорному.
+     * Сортирует список в естественном порядке элементов. Ответственность за то,
+     * имплементирует ли параметризованный тип Comparable, ложится на того, кто
+     * вызывает этот метод: если элементы нельзя привести к Comparable, будет
+     * выброшено {@link ClassCastException}.
      */
-    @SuppressWarnings("unchecked")
-    private int sort(int left, int right) {
-        @SuppressWarnings("unchecked")
-        E pivot = (E) elements[left + right >> 1];
-        while (left <= right) {
-            while (comparator.compare((E) elements[left], pivot) < 0) left++;
-            while (comparator.compare((E) elements[right], pivot) > 0) right--;
-            if(left <= right) {
-                @SuppressWarnings("unchecked")
-                E temp = (E) elements[left];
-                elements[left] = elements[right];
-                elements[right] = temp;
-                left++; right--;
-            }
+    public void sort() {
+        sort(null);
+    }
+
+    /**
+     * Сортирует список параллельно с помощью переданного компаратора. Массив делится на части,
+     * которые сортируются тем же алгоритмом, что и в {@link #sort(Comparator)}, в задачах
+     * {@link java.util.concurrent.ForkJoinPool#commonPool() общего пула} (или пула текущего потока,
+     * если метод вызван из задачи ForkJoinPool), после чего части параллельно сливаются. Для
+     * небольших списков и однопоточного пула выполняется обычная последовательная сортировка.
+     * Сортировка устойчива и требует дополнительный массив размером со список.
+     * @param comparator компаратор, с помощью которого будет сортироваться массив,
+     * {@code null} означает естественный порядок элементов
+     * @throws ConcurrentModificationException если компаратор изменил список
+     */
+    public void parallelSort(Comparator<? super E> comparator) {
+        int expectedModCount = modCount;
+        copyOnWrite();
+        ListMetrics metrics = this.metrics;
+        if(metrics == null) {
+            StableSort.parallelSort(elements, 0, size, comparator);
+        } else {
+            long start = System.nanoTime();
+            int depth = StableSort.parallelSort(elements, 0, size, comparator);
+            metrics.onSort(size, depth, true, System.nanoTime() - start);
         }
-        return left;
+        if(modCount != expectedModCount) throw new ConcurrentModificationException();
+        modCount++;
+    }
+
+    /**
+     * Параллельно сортирует список в естественном порядке элементов. Ответственность за то,
+     * имплементирует ли параметризованный тип Comparable, ложится на того, кто вызывает этот метод.
+     * @see #parallelSort(Comparator)
+     */
+    public void parallelSort() {
+        parallelSort(null);
     }
+
     /**
-     * Клонирует список. Т.к. при клонировании копируются ссылки, то в склонированном списке
-     * создается новый внутренний массив, аналогичный по содержанию массиву данного списка.
+     * Клонирует список за O(1). Как и {@link #snapshot()}, клон не копирует элементы, а использует
+     * внутренний массив этого списка: массив помечается как разделяемый в обоих списках, и тот из
+     * них, который изменится первым, сначала скопирует массив (copy-on-write). Клон, который так
+     * и не был изменен (например, сохраненный для отката), ничего не копирует.
+     *
+     * <p>Если после клонирования меняются оба списка, массив копируется каждым из них по одному
+     * разу, и суммарно это дороже прежнего копирования при клонировании. Если нужно, чтобы каждое
+     * изменение копировало только затронутую часть, используйте {@link PersistentArrayList}.
      * @return клон данного списка
      */
     @Override
@@ -710,7 +1633,8 @@ public class ArrayList<E> implements List<E>, Cloneable {
         try {
             @SuppressWarnings("unchecked")
             ArrayList<E> clone = (ArrayList<E>) super.clone();
-            clone.elements = Arrays.copyOf(elements, size);
+            shared = true;
+            clone.shared = true;
             return clone;
         } catch (CloneNotSupportedException ex) {
             throw new InternalError();
@@ -718,20 +1642,358 @@ public class ArrayList<E> implements List<E>, Cloneable {
     }
 
     /**
-     * Строковое представление списка.
-     * @return строковое представление списка
+     * Записывает список в поток сериализации: количество элементов и затем сами элементы.
+     * Записываются только элементы, без пустой части массива и служебных счетчиков.
+     * @param out поток, в который нужно записать список
+     * @throws IOException если запись не удалась
      */
+    @Override
+    public void writeExternal(ObjectOutput out) throws IOException {
+        Object[] elements = this.elements;
+        int size = this.size;
+        out.writeInt(size);
+        for (int i = 0; i < size; i++) {
+            out.writeObject(elements[i]);
+        }
+    }
 
+    /**
+     * Читает список, записанный методом {@link #writeExternal(ObjectOutput)}. Внутренний массив
+     * создается по размеру из потока, но не больше {@link #MAX_PREALLOCATED_CAPACITY}, и удваивается
+     * по мере чтения элементов.
+     * @param in поток, из которого нужно прочитать список
+     * @throws IOException если чтение не удалось или поток поврежден
+     * @throws ClassNotFoundException если не найден класс одного из элементов
+     */
     @Override
-    public String toString() {
-        StringBuilder builder = new StringBuilder("[");
+    public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException {
+        int count = in.readInt();
+        if(count < 0) throw new StreamCorruptedException("negative list size: " + count);
+        Object[] array = new Object[Math.min(count, MAX_PREALLOCATED_CAPACITY)];
+        for (int i = 0; i < count; i++) {
+            if(i == array.length) array = growForRead(array, count);
+            array[i] = in.readObject();
+        }
+        elements = array;
+        size = count;
+        shared = false;
+        modCount++;
+    }
+
+    /**
+     * Записывает список в канал в компактном двоичном формате: количество элементов,
+     * затем для каждого элемента его длина в байтах (-1 для {@code null}) и байты, записанные
+     * кодеком. Элементы кодируются в прямой (direct) буфер, который сбрасывается в канал
+     * целиком по мере заполнения, поэтому канал получает крупные блоки без промежуточных копий
+     * в куче. Канал не закрывается.
+     * @param channel канал, в который нужно записать список
+     * @param codec кодек элементов
+     * @throws NullPointerException если передан {@code null}
+     * @throws IOException если запись в канал не удалась
+     */
+    public void writeTo(WritableByteChannel channel, ElementCodec<? super E> codec) throws IOException {
+        if(channel == null || codec == null) throw new NullPointerException();
+        ByteBuffer buffer = ByteBuffer.allocateDirect(IO_BUFFER_SIZE);
+        buffer.putInt(size);
         for (int i = 0; i < size; i++) {
-            builder.append(elements[i]);
-            if(i != size - 1) {
-                builder.append(", ");
+            @SuppressWarnings("unchecked")
+            E element = (E) elements[i];
+            int length = element == null ? 0 : codec.size(element);
+            if(buffer.remaining() < Integer.BYTES + length) {
+                flush(channel, buffer);
+                if(buffer.capacity() < Integer.BYTES + length) {
+                    buffer = ByteBuffer.allocateDirect(Integer.BYTES + length);
+                }
+            }
+            if(element == null) {
+                buffer.putInt(-1);
+            } else {
+                buffer.putInt(length);
+                codec.write(buffer, element);
+            }
+        }
+        flush(channel, buffer);
+    }
+
+    /**
+     * Читает список, записанный методом {@link #writeTo(WritableByteChannel, ElementCodec)}.
+     * Размер внутреннего массива берется из заголовка, но не больше {@link #MAX_PREALLOCATED_CAPACITY},
+     * и удваивается по мере чтения элементов. Канал читается крупными блоками в прямой буфер.
+     * Элементы длиннее {@link #DEFAULT_MAX_ELEMENT_LENGTH} байт считаются повреждением потока,
+     * для чтения таких элементов есть {@link #readFrom(ReadableByteChannel, ElementCodec, int)}.
+     * Канал не закрывается.
+     * @param channel канал, из которого нужно прочитать список
+     * @param codec кодек элементов, тот же, которым список был записан
+     * @param <E> тип элементов списка
+     * @throws NullPointerException если передан {@code null}
+     * @throws EOFException если канал закончился раньше, чем был прочитан весь список
+     * @throws StreamCorruptedException если в канале неверный размер списка или длина элемента
+     * @throws IOException если чтение из канала не удалось
+     * @return прочитанный список
+     */
+    public static <E> ArrayList<E> readFrom(ReadableByteChannel channel, ElementCodec<? extends E> codec) throws IOException {
+        return readFrom(channel, codec, DEFAULT_MAX_ELEMENT_LENGTH);
+    }
+
+    /**
+     * Читает список, записанный методом {@link #writeTo(WritableByteChannel, ElementCodec)},
+     * ограничивая длину одного элемента. Длина элемента проверяется до выделения буфера под него:
+     * отрицательная длина (кроме -1, обозначающей {@code null}), длина больше maxElementLength
+     * и, если канал реализует {@link SeekableByteChannel}, длина больше оставшихся в канале байт
+     * означают, что поток поврежден. Поэтому чужой или поврежденный поток не может заставить
+     * список выделить буфер произвольного размера. Канал не закрывается.
+     * @param channel канал, из которого нужно прочитать список
+     * @param codec кодек элементов, тот же, которым список был записан
+     * @param maxElementLength наибольшая допустимая длина элемента в байтах
+     * @param <E> тип элементов списка
+     * @throws NullPointerException если передан {@code null}
+     * @throws IllegalArgumentException если maxElementLength меньше нуля
+     * @throws EOFException если канал закончился раньше, чем был прочитан весь список
+     * @throws StreamCorruptedException если в канале неверный размер списка или длина элемента
+     * @throws IOException если чтение из канала не удалось
+     * @return прочитанный список
+     */
+    public static <E> ArrayList<E> readFrom(ReadableByteChannel channel, ElementCodec<? extends E> codec,
+                                            int maxElementLength) throws IOException {
+        if(channel == null || codec == null) throw new NullPointerException();
+        if(maxElementLength < 0) throw new IllegalArgumentException("max element length can't be lower than zero");
+        ByteBuffer buffer = ByteBuffer.allocateDirect(IO_BUFFER_SIZE);
+        buffer.flip();
+        buffer = fill(channel, buffer, Integer.BYTES);
+        int count = buffer.getInt();
+        if(count < 0) throw new StreamCorruptedException("negative list size: " + count);
+        Object[] elements = new Object[Math.min(count, MAX_PREALLOCATED_CAPACITY)];
+        for (int i = 0; i < count; i++) {
+            if(i == elements.length) elements = growForRead(elements, count);
+            buffer = fill(channel, buffer, Integer.BYTES);
+            int length = buffer.getInt();
+            if(length == -1) continue;
+            if(length < 0) throw new StreamCorruptedException("negative element length: " + length);
+            if(length > maxElementLength) {
+                throw new StreamCorruptedException("element length " + length + " exceeds limit " + maxElementLength);
+            }
+            if(length > buffer.remaining() && channel instanceof SeekableByteChannel seekable
+                    && length - buffer.remaining() > seekable.size() - seekable.position()) {
+                throw new StreamCorruptedException("element length " + length + " exceeds remaining bytes");
+            }
+            buffer = fill(channel, buffer, length);
+            int end = buffer.position() + length;
+            elements[i] = codec.read(buffer, length);
+            if(buffer.position() != end) {
+                throw new StreamCorruptedException("codec didn't read exactly " + length + " bytes");
+            }
+        }
+        ArrayList<E> list = new ArrayList<>(0);
+        list.elements = elements;
+        list.size = count;
+        return list;
+    }
+
+    /**
+     * Удваивает массив, в который читаются элементы, но не больше заявленного количества элементов
+     * @param array заполненный массив
+     * @param count количество элементов, заявленное в потоке
+     * @return новый массив с элементами старого
+     */
+    private static Object[] growForRead(Object[] array, int count) {
+        return Arrays.copyOf(array, (int) Math.min((long) array.length << 1, count));
+    }
+
+    /**
+     * Записывает в канал содержимое буфера и очищает его
+     * @param channel канал
+     * @param buffer буфер в режиме записи
+     * @throws IOException если запись в канал не удалась
+     */
+    private static void flush(WritableByteChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * Дочитывает из канала данные, пока в буфере не останется хотя бы count непрочитанных байт.
+     * Если столько байт не помещается в буфер, создается буфер большего размера.
+     * @param channel канал
+     * @param buffer буфер в режиме чтения
+     * @param count сколько непрочитанных байт нужно
+     * @throws EOFException если канал закончился раньше
+     * @throws IOException если чтение из канала не удалось
+     * @return буфер в режиме чтения, в котором не меньше count непрочитанных байт
+     */
+    private static ByteBuffer fill(ReadableByteChannel channel, ByteBuffer buffer, int count) throws IOException {
+        if(buffer.remaining() >= count) {
+            return buffer;
+        }
+        if(buffer.capacity() < count) {
+            buffer = ByteBuffer.allocateDirect(count).put(buffer);
+        } else {
+            buffer.compact();
+        }
+        while (buffer.position() < count) {
+            if(channel.read(buffer) < 0) throw new EOFException();
+        }
+        return buffer.flip();
+    }
+
+    /**
+     * Строковое представление списка. Если в списке больше элементов, чем {@link #getToStringLimit()},
+     * возвращается сокращенное представление {@link #toString(int)}. Строка собирается в
+     * {@link StringBuilder}, размер которого заранее оценивается по первому элементу, чтобы не
+     * пересоздавать массив символов при росте.
+     * @return строковое представление списка
+     */
+    @Override
+    public String toString() {
+        return toString(toStringLimit);
+    }
+
+    /**
+     * Сокращенное строковое представление списка: не больше limit первых элементов, а вместо
+     * остальных - их количество, например {@code [1, 2, 3, ...(97 more)]}. Если элементов
+     * не больше limit, результат совпадает с полным представлением.
+     * @param limit сколько элементов нужно вывести
+     * @throws IllegalArgumentException если limit меньше нуля
+     * @return строковое представление списка
+     */
+    public String toString(int limit) {
+        if(limit < 0) throw new IllegalArgumentException("limit can't be lower than zero");
+        Object[] elements = this.elements;
+        int size = this.size;
+        int count = Math.min(size, limit);
+        long capacity = count < size ? TRUNCATION_RESERVE : 2;
+        String first = null;
+        if(count > 0) {
+            first = elementString(elements[0]);
+            capacity += (long) (first.length() + 2) * count;
+        }
+        StringBuilder builder = new StringBuilder((int) Math.min(capacity, MAX_PRESIZED_CAPACITY));
+        try {
+            return appendElements(builder, elements, size, count, first).toString();
+        } catch (IOException ex) {
+            throw new InternalError(ex);
+        }
+    }
+
+    /**
+     * Дописывает строковое представление списка в переданный {@link Appendable} поэлементно,
+     * не собирая его в одну строку. Подходит для вывода больших списков в лог или файл.
+     * @param out куда нужно дописать представление
+     * @param <A> тип {@link Appendable}
+     * @throws NullPointerException если передан {@code null}
+     * @throws IOException если out выбросил исключение при записи
+     * @return переданный out
+     */
+    public <A extends Appendable> A appendTo(A out) throws IOException {
+        return appendTo(out, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Дописывает сокращенное строковое представление списка (см. {@link #toString(int)})
+     * в переданный {@link Appendable} поэлементно, не собирая его в одну строку.
+     * @param out куда нужно дописать представление
+     * @param limit сколько элементов нужно вывести
+     * @param <A> тип {@link Appendable}
+     * @throws NullPointerException если передан {@code null}
+     * @throws IllegalArgumentException если limit меньше нуля
+     * @throws IOException если out выбросил исключение при записи
+     * @return переданный out
+     */
+    public <A extends Appendable> A appendTo(A out, int limit) throws IOException {
+        if(out == null) throw new NullPointerException();
+        if(limit < 0) throw new IllegalArgumentException("limit can't be lower than zero");
+        int size = this.size;
+        return appendElements(out, elements, size, Math.min(size, limit), null);
+    }
+
+    /**
+     * Общая часть {@link #toString(int)} и {@link #appendTo(Appendable, int)}
+     * @param out куда нужно дописать представление
+     * @param elements внутренний массив списка
+     * @param size количество элементов в списке
+     * @param count сколько элементов нужно вывести
+     * @param first строковое представление первого элемента, если оно уже вычислено, иначе {@code null}
+     * @param <A> тип {@link Appendable}
+     * @throws IOException если out выбросил исключение при записи
+     * @return переданный out
+     */
+    private <A extends Appendable> A appendElements(A out, Object[] elements, int size, int count,
+                                                    String first) throws IOException {
+        out.append('[');
+        for (int i = 0; i < count; i++) {
+            if(i != 0) {
+                out.append(", ");
             }
+            out.append(i == 0 && first != null ? first : elementString(elements[i]));
         }
-        builder.append("]");
-        return builder.toString();
+        if(count < size) {
+            if(count != 0) {
+                out.append(", ");
+            }
+            out.append("...(").append(Integer.toString(size - count)).append(" more)");
+        }
+        out.append(']');
+        return out;
+    }
+
+    /**
+     * Записывает строковое представление списка в {@link Writer} поэлементно, не собирая
+     * его в одну строку. Writer не сбрасывается и не закрывается.
+     * @param writer куда нужно записать представление
+     * @throws NullPointerException если передан {@code null}
+     * @throws IOException если запись не удалась
+     */
+    public void writeTo(Writer writer) throws IOException {
+        appendTo(writer);
+    }
+
+    /**
+     * Задает количество элементов, начиная с которого {@link #toString()} возвращает
+     * сокращенное представление
+     * @param limit сколько элементов выводит {@link #toString()}
+     * @throws IllegalArgumentException если limit меньше нуля
+     */
+    public void setToStringLimit(int limit) {
+        if(limit < 0) throw new IllegalArgumentException("limit can't be lower than zero");
+        this.toStringLimit = limit;
+    }
+
+    /**
+     * Возвращает количество элементов, которое выводит {@link #toString()}
+     * @return ограничение строкового представления
+     */
+    public int getToStringLimit() {
+        return toStringLimit;
+    }
+
+    /**
+     * Задает ограничение строкового представления, которое будут получать все списки,
+     * созданные после вызова этого метода. На уже созданные списки не влияет.
+     * @param limit сколько элементов выводит {@link #toString()}
+     * @throws IllegalArgumentException если limit меньше нуля
+     */
+    public static void setDefaultToStringLimit(int limit) {
+        if(limit < 0) throw new IllegalArgumentException("limit can't be lower than zero");
+        defaultToStringLimit = limit;
+    }
+
+    /**
+     * Возвращает ограничение строкового представления, которое получают новые списки
+     * @return ограничение строкового представления по умолчанию
+     */
+    public static int getDefaultToStringLimit() {
+        return defaultToStringLimit;
+    }
+
+    /**
+     * Строковое представление элемента. Сам список выводится как {@code (this Collection)},
+     * иначе его представление было бы бесконечным.
+     * @param element элемент списка
+     * @return строковое представление элемента
+     */
+    private String elementString(Object element) {
+        return element == this ? "(this Collection)" : String.valueOf(element);
     }
 }
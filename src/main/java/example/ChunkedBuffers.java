@@ -0,0 +1,66 @@
+package example;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Операции над списком, хранящим элементы фиксированной ширины в массиве буферов одинакового
+ * размера (степени двойки в элементах). Используется списками {@link OffHeapArrayList}
+ * и {@link MappedArrayList}. Элемент с индексом {@code index} лежит в буфере
+ * {@code chunks[index >>> shift]} со смещением {@code (index & mask) * width}.
+ *
+ * @author  Поляков Артур
+ */
+final class ChunkedBuffers {
+
+    private ChunkedBuffers() {}
+
+    /**
+     * Сдвигает элементы списка. Аналог shiftArray из {@link ArrayList}: элементы переносятся
+     * частями, не пересекающими границы буферов, а при сдвиге вправо части переносятся с конца,
+     * чтобы не затереть еще не перенесенные элементы.
+     * @param chunks буферы списка
+     * @param shift log2 количества элементов в одном буфере
+     * @param mask маска индекса элемента внутри буфера
+     * @param width размер элемента в байтах
+     * @param from индекс первого перемещаемого элемента
+     * @param to индекс, куда нужно переместить элементы
+     * @param count количество перемещаемых элементов
+     */
+    static void move(ByteBuffer[] chunks, int shift, int mask, int width, int from, int to, int count) {
+        int chunkCapacity = mask + 1;
+        if(to > from) {
+            int left = count;
+            while (left > 0) {
+                int lastFrom = from + left - 1;
+                int lastTo = to + left - 1;
+                int part = Math.min(left, Math.min((lastFrom & mask) + 1, (lastTo & mask) + 1));
+                copy(chunks, shift, mask, width, lastFrom - part + 1, lastTo - part + 1, part);
+                left -= part;
+            }
+        } else {
+            int moved = 0;
+            while (moved < count) {
+                int nextFrom = from + moved;
+                int nextTo = to + moved;
+                int part = Math.min(count - moved,
+                        Math.min(chunkCapacity - (nextFrom & mask), chunkCapacity - (nextTo & mask)));
+                copy(chunks, shift, mask, width, nextFrom, nextTo, part);
+                moved += part;
+            }
+        }
+    }
+
+    /**
+     * Копирует элементы, лежащие в пределах одного буфера, в пределы другого (или того же) буфера
+     * @param chunks буферы списка
+     * @param shift log2 количества элементов в одном буфере
+     * @param mask маска индекса элемента внутри буфера
+     * @param width размер элемента в байтах
+     * @param from индекс первого копируемого элемента
+     * @param to индекс, куда нужно скопировать элементы
+     * @param count количество элементов
+     */
+    private static void copy(ByteBuffer[] chunks, int shift, int mask, int width, int from, int to, int count) {
+        chunks[to >>> shift].put((to & mask) * width, chunks[from >>> shift], (from & mask) * width, count * width);
+    }
+}
@@ -0,0 +1,422 @@
+package example;
+
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * Динамический массив на основе кольцевого буфера. Элементы хранятся в массиве, начиная с позиции
+ * {@link #head}, и при достижении конца массива продолжаются с его начала. Поэтому вставка и удаление
+ * в начале списка не сдвигают остальные элементы: достаточно сместить {@link #head}. Операции
+ * с обоими концами списка выполняются за амортизированное O(1), что позволяет использовать список
+ * как очередь или дек, не теряя доступа по индексу за O(1).
+ *
+ * <p>Вставка и удаление в середине сдвигают меньшую из двух частей списка: элементы слева от позиции
+ * вставки сдвигаются влево, если их меньше, чем элементов справа, иначе элементы справа сдвигаются вправо.
+ * Так сдвигается не больше половины списка.
+ *
+ * <p>Итераторы, в том числе {@link ListIterator}, наследуются от {@link AbstractList} и работают через
+ * методы доступа по индексу, поэтому их контракт совпадает с {@link ArrayList}, включая
+ * выбрасывание {@link ConcurrentModificationException}.
+ *
+ * <p><strong>Данный класс не является потокобезапасным.</strong>
+ *
+ * @param <E> Тип, которым параметризован список
+ *
+ * @author  Поляков Артур
+ */
+public class CircularArrayList<E> extends AbstractList<E> implements RandomAccess {
+    /**
+     * Стандартный размер внутреннего массива.
+     */
+    private final static int DEFAULT_CAPACITY = 10;
+    /**
+     * Массив, в котором хранятся элементы.
+     */
+    private Object[] elements;
+    /**
+     * Позиция первого элемента списка во внутреннем массиве.
+     */
+    private int head;
+    /**
+     * Количество элементов в списке.
+     */
+    private int size;
+
+    /**
+     * Конструктор, позволяющий указать размер
+     * внутреннего массива
+     * @param  initialCapacity размер внутреннего массива
+     * @throws IllegalArgumentException если передано отрицательное значение
+     */
+    public CircularArrayList(int initialCapacity) {
+        if(initialCapacity < 0) throw new IllegalArgumentException("capacity can't be lower than zero");
+        this.elements = new Object[initialCapacity];
+    }
+
+    /**
+     * Создает CircularArrayList с размером
+     * внутреннего массива {@link #DEFAULT_CAPACITY}
+     */
+    public CircularArrayList() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Создает CircularArrayList на основе другой коллекции.
+     * @param c коллекция, на основе которой нужно создать список
+     * @throws NullPointerException если передан {@code null}
+     */
+    public CircularArrayList(Collection<? extends E> c) {
+        if(c == null) throw new NullPointerException();
+        Object[] array = c.toArray();
+        int colSize = array.length;
+        elements = new Object[colSize < DEFAULT_CAPACITY ? DEFAULT_CAPACITY : (colSize >> 1) + colSize];
+        System.arraycopy(array, 0, elements, 0, colSize);
+        size = colSize;
+    }
+
+    /**
+     * Вставляет элемент в список в указанную позицию. Сдвигается меньшая из частей
+     * списка слева и справа от позиции вставки. Если передать индекс равный size,
+     * то элемент добавится в конец
+     * @param index позиция, куда нужно вставить элемент
+     * @param element вставляемый элемент
+     * @throws IndexOutOfBoundsException если передан индекс меньше нуля либо больше size
+     */
+    @Override
+    public void add(int index, E element) {
+        if(index != size) checkIndex(index);
+        if(size == elements.length) {
+            increaseArray();
+        }
+        if(index < size >> 1) {
+            head = head == 0 ? elements.length - 1 : head - 1;
+            move(1, 0, index);
+        } else {
+            move(index, index + 1, size - index);
+        }
+        elements[position(index)] = element;
+        size++;
+        modCount++;
+    }
+
+    /**
+     * Добавляет элемент в конец списка
+     * @param e добавляемый элемент
+     * @return {@code true}
+     */
+    @Override
+    public boolean add(E e) {
+        add(size, e);
+        return true;
+    }
+
+    /**
+     * Добавляет элемент в начало списка за амортизированное O(1)
+     * @param e добавляемый элемент
+     */
+    public void addFirst(E e) {
+        add(0, e);
+    }
+
+    /**
+     * Добавляет элемент в конец списка за амортизированное O(1)
+     * @param e добавляемый элемент
+     */
+    public void addLast(E e) {
+        add(size, e);
+    }
+
+    /**
+     * Возвращает элемент по индексу
+     * @param index индекс, по которому нужно найти элемент
+     * @throws IndexOutOfBoundsException если передан индекс меньше нуля либо больше size - 1
+     * @return элемент, который был найден по переданному индексу
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public E get(int index) {
+        checkIndex(index);
+        return (E) elements[position(index)];
+    }
+
+    /**
+     * Возвращает первый элемент списка
+     * @throws NoSuchElementException если список пуст
+     * @return первый элемент
+     */
+    public E getFirst() {
+        if(size == 0) throw new NoSuchElementException();
+        return get(0);
+    }
+
+    /**
+     * Возвращает последний элемент списка
+     * @throws NoSuchElementException если список пуст
+     * @return последний элемент
+     */
+    public E getLast() {
+        if(size == 0) throw new NoSuchElementException();
+        return get(size - 1);
+    }
+
+    /**
+     * Возвращает первый элемент списка, не удаляя его
+     * @return первый элемент или {@code null}, если список пуст
+     */
+    public E peekFirst() {
+        return size == 0 ? null : get(0);
+    }
+
+    /**
+     * Возвращает последний элемент списка, не удаляя его
+     * @return последний элемент или {@code null}, если список пуст
+     */
+    public E peekLast() {
+        return size == 0 ? null : get(size - 1);
+    }
+
+    /**
+     * Заменяет элемент по индексу
+     * @param index индекс, по которому нужно заменить
+     * @param element новый элемент
+     * @throws IndexOutOfBoundsException если передан индекс меньше нуля либо больше size - 1
+     * @return элемент, который был заменен
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public E set(int index, E element) {
+        checkIndex(index);
+        int position = position(index);
+        E replaced = (E) elements[position];
+        elements[position] = element;
+        return replaced;
+    }
+
+    /**
+     * Удаляет элемент из списка по индексу. Сдвигается меньшая из частей
+     * списка слева и справа от удаляемого элемента.
+     * @param index индекс, по которому нужно удалить элемент
+     * @throws IndexOutOfBoundsException если передан индекс меньше нуля либо больше size - 1
+     * @return элемент, который был удален
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public E remove(int index) {
+        checkIndex(index);
+        E removed = (E) elements[position(index)];
+        if(index < size >> 1) {
+            move(0, 1, index);
+            elements[head] = null;
+            head = head + 1 == elements.length ? 0 : head + 1;
+        } else {
+            move(index + 1, index, size - (index + 1));
+            elements[position(size - 1)] = null;
+        }
+        size--;
+        modCount++;
+        return removed;
+    }
+
+    /**
+     * Удаляет первый элемент списка за O(1)
+     * @throws NoSuchElementException если список пуст
+     * @return удаленный элемент
+     */
+    public E removeFirst() {
+        if(size == 0) throw new NoSuchElementException();
+        return remove(0);
+    }
+
+    /**
+     * Удаляет последний элемент списка за O(1)
+     * @throws NoSuchElementException если список пуст
+     * @return удаленный элемент
+     */
+    public E removeLast() {
+        if(size == 0) throw new NoSuchElementException();
+        return remove(size - 1);
+    }
+
+    /**
+     * Удаляет первый элемент списка за O(1)
+     * @return удаленный элемент или {@code null}, если список пуст
+     */
+    public E pollFirst() {
+        return size == 0 ? null : remove(0);
+    }
+
+    /**
+     * Удаляет последний элемент списка за O(1)
+     * @return удаленный элемент или {@code null}, если список пуст
+     */
+    public E pollLast() {
+        return size == 0 ? null : remove(size - 1);
+    }
+
+    /**
+     * Удаляет все элементы из списка
+     */
+    @Override
+    public void clear() {
+        int tail = head + size;
+        if(tail <= elements.length) {
+            Arrays.fill(elements, head, tail, null);
+        } else {
+            Arrays.fill(elements, head, elements.length, null);
+            Arrays.fill(elements, 0, tail - elements.length, null);
+        }
+        head = 0;
+        size = 0;
+        modCount++;
+    }
+
+    /**
+     * Возвращает размер списка
+     * @return размер списка
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Выполняет действие для каждого элемента, обходя две непрерывные части массива
+     * без вычисления позиции для каждого индекса.
+     * @param action действие
+     * @throws NullPointerException если передан {@code null}
+     * @throws ConcurrentModificationException если список был изменен во время обхода
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public void forEach(Consumer<? super E> action) {
+        if(action == null) throw new NullPointerException();
+        int expectedModCount = modCount;
+        Object[] array = elements;
+        int firstEnd = Math.min(head + size, array.length);
+        for (int i = head; i < firstEnd && modCount == expectedModCount; i++) {
+            action.accept((E) array[i]);
+        }
+        int secondEnd = head + size - array.length;
+        for (int i = 0; i < secondEnd && modCount == expectedModCount; i++) {
+            action.accept((E) array[i]);
+        }
+        if(modCount != expectedModCount) throw new ConcurrentModificationException();
+    }
+
+    /**
+     * Возвращает массив, содержащий все элементы списка в порядке от первого к последнему
+     * @return массив элементов
+     */
+    @Override
+    public Object[] toArray() {
+        return copyTo(new Object[size]);
+    }
+
+    /**
+     * Увеличивает внутренний массив до переданного размера. Если
+     * переданное значение меньше размера массива и положительно, то ничего не произойдет.
+     * @param capacity новый размер внутреннего массива
+     * @throws IllegalArgumentException если capacity меньше нуля.
+     * @return {@code true}, если массив был увеличен, {@code false} в противном случае
+     */
+    public boolean ensureCapacity(int capacity) {
+        if(capacity < 0) throw new IllegalArgumentException("capacity can't be lower than zero");
+        if(capacity <= elements.length) return false;
+        resize(capacity);
+        return true;
+    }
+
+    /**
+     * Удаляет все неиспользуемые ячейки внутреннего массива. Элементы при этом
+     * переносятся в начало нового массива.
+     */
+    public void trimToSize() {
+        if(size < elements.length) {
+            resize(size);
+        }
+    }
+
+    /**
+     * Метод для проверки валидности индекса. Индекс считается валидным, если он лежит в диапазоне [0, size).
+     * @param index индекс, валидность которого нужно проверить
+     * @throws IndexOutOfBoundsException если по данному индексу нельзя получить элемент
+     */
+    private void checkIndex(int index) {
+        if(index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(String.format("Index %d out of bounds for length %d", index, size));
+        }
+    }
+
+    /**
+     * Вычисляет позицию элемента во внутреннем массиве. Вместо остатка от деления
+     * используется вычитание, т.к. head и index меньше размера массива.
+     * @param index индекс элемента в списке
+     * @return позиция во внутреннем массиве
+     */
+    private int position(int index) {
+        int position = head + index;
+        return position >= elements.length ? position - elements.length : position;
+    }
+
+    /**
+     * Сдвигает часть списка. Аналог {@link System#arraycopy} для кольцевого буфера: диапазоны
+     * могут пересекаться, элементы копируются частями, не переходящими через конец массива.
+     * @param from индекс первого перемещаемого элемента в списке
+     * @param to индекс, куда нужно переместить элементы
+     * @param count количество перемещаемых элементов
+     */
+    private void move(int from, int to, int count) {
+        int length = elements.length;
+        if(to < from) {
+            while (count > 0) {
+                int source = position(from);
+                int target = position(to);
+                int chunk = Math.min(count, Math.min(length - source, length - target));
+                System.arraycopy(elements, source, elements, target, chunk);
+                from += chunk;
+                to += chunk;
+                count -= chunk;
+            }
+        } else {
+            while (count > 0) {
+                int sourceEnd = position(from + count - 1) + 1;
+                int targetEnd = position(to + count - 1) + 1;
+                int chunk = Math.min(count, Math.min(sourceEnd, targetEnd));
+                System.arraycopy(elements, sourceEnd - chunk, elements, targetEnd - chunk, chunk);
+                count -= chunk;
+            }
+        }
+    }
+
+    /**
+     * Копирует элементы в массив, начиная с его начала
+     * @param array массив, размер которого не меньше size
+     * @return переданный массив
+     */
+    private Object[] copyTo(Object[] array) {
+        int firstPart = Math.min(size, elements.length - head);
+        System.arraycopy(elements, head, array, 0, firstPart);
+        System.arraycopy(elements, 0, array, firstPart, size - firstPart);
+        return array;
+    }
+
+    /**
+     * Увеличивает массив согласно {@link GrowthPolicy#DEFAULT}
+     * @throws OutOfMemoryError если достигнут максимальный размер массива
+     */
+    private void increaseArray() {
+        if(size == GrowthPolicy.MAX_CAPACITY) throw new OutOfMemoryError("Required array size too large");
+        int newCapacity = GrowthPolicy.DEFAULT.newCapacity(elements.length, size + 1);
+        resize(Math.max(size + 1, Math.min(newCapacity, GrowthPolicy.MAX_CAPACITY)));
+    }
+
+    /**
+     * Создает внутренний массив переданного размера и переносит в его начало элементы из старого
+     * @param newCapacity размер нового массива, не меньше size
+     */
+    private void resize(int newCapacity) {
+        elements = copyTo(new Object[newCapacity]);
+        head = 0;
+    }
+}
@@ -0,0 +1,287 @@
+package example;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Потокобезопасный список для одновременной вставки в конец из многих потоков.
+ * В отличие от {@link ArrayList}, элементы хранятся не в одном массиве, а в наборе
+ * блоков (chunk), размер каждого следующего блока вдвое больше предыдущего. Поэтому
+ * при росте списка ничего не копируется, а однажды записанный элемент никогда не
+ * перемещается, и читать его можно без блокировок.
+ *
+ * <p>Вставка не использует блокировок. Поток создает блоки, в которые попадут его элементы,
+ * резервирует позиции увеличением счетчика через {@code compareAndSet}, записывает элементы
+ * в зарезервированные ячейки и продвигает счетчик опубликованных элементов одной операцией
+ * через все подряд заполненные ячейки, в том числе заполненные другими потоками. Все, что может
+ * завершиться ошибкой (проверка размера и выделение блоков), выполняется до резервирования,
+ * поэтому зарезервированная ячейка всегда заполняется, и публикация не может остановиться.
+ * Элемент становится виден через {@link #get(int)}, {@link #size()} и итераторы, когда
+ * опубликованы все элементы перед ним, поэтому порядок элементов совпадает с порядком резервирования,
+ * а в видимой части списка нет пустых ячеек.
+ *
+ * <p>Метод {@link #get(int)} не ждет других потоков (wait-free). Итераторы слабо согласованы:
+ * они не выбрасывают {@link ConcurrentModificationException} и видят элементы, опубликованные
+ * до вызова {@link Iterator#hasNext()}. Список поддерживает только добавление в конец и замену
+ * элементов: вставка в середину и удаление выбрасывают {@link UnsupportedOperationException}.
+ * Элементы {@code null} не допускаются, т.к. пустая ячейка означает, что запись еще не завершена.
+ *
+ * @param <E> Тип, которым параметризован список
+ *
+ * @author  Поляков Артур
+ */
+public class ConcurrentArrayList<E> extends AbstractList<E> implements RandomAccess {
+    /**
+     * Степень двойки, задающая размер первого блока.
+     */
+    private static final int FIRST_CHUNK_SHIFT = 4;
+    /**
+     * Размер первого блока.
+     */
+    private static final int FIRST_CHUNK_SIZE = 1 << FIRST_CHUNK_SHIFT;
+    /**
+     * Максимальное количество элементов в списке.
+     */
+    private static final int MAX_SIZE = Integer.MAX_VALUE - FIRST_CHUNK_SIZE;
+    /**
+     * Количество блоков, достаточное для {@link #MAX_SIZE} элементов.
+     */
+    private static final int CHUNKS_COUNT = Integer.SIZE - 1 - FIRST_CHUNK_SHIFT;
+    /**
+     * Доступ к ячейкам блоков с нужной семантикой памяти.
+     */
+    private static final VarHandle SLOT = MethodHandles.arrayElementVarHandle(Object[].class);
+    /**
+     * Блоки с элементами. Блок с номером k имеет размер {@code FIRST_CHUNK_SIZE << k}
+     * и создается при первом обращении к нему.
+     */
+    private final AtomicReferenceArray<Object[]> chunks = new AtomicReferenceArray<>(CHUNKS_COUNT);
+    /**
+     * Количество зарезервированных позиций.
+     */
+    private final AtomicInteger reserved = new AtomicInteger();
+    /**
+     * Количество опубликованных элементов - размер списка.
+     */
+    private final AtomicInteger published = new AtomicInteger();
+
+    /**
+     * Создает пустой список
+     */
+    public ConcurrentArrayList() {}
+
+    /**
+     * Создает список на основе другой коллекции.
+     * @param c коллекция, на основе которой нужно создать список
+     * @throws NullPointerException если передан {@code null} либо коллекция содержит {@code null}
+     */
+    public ConcurrentArrayList(Collection<? extends E> c) {
+        appendAll(c);
+    }
+
+    /**
+     * Добавляет элемент в конец списка
+     * @param e добавляемый элемент
+     * @throws NullPointerException если передан {@code null}
+     * @throws IllegalStateException если достигнут максимальный размер списка
+     * @return {@code true}
+     */
+    @Override
+    public boolean add(E e) {
+        if(e == null) throw new NullPointerException();
+        int index = reserve(1);
+        store(index, e);
+        publish();
+        return true;
+    }
+
+    /**
+     * Добавляет все элементы из переданной коллекции в конец списка. Позиции для всех
+     * элементов резервируются одной атомарной операцией, поэтому элементы коллекции идут
+     * в списке подряд, даже если другие потоки добавляют элементы одновременно.
+     * @param c коллекция, из которой будут браться элементы
+     * @throws NullPointerException если передан {@code null} либо коллекция содержит {@code null}
+     * @throws IllegalStateException если достигнут максимальный размер списка
+     * @return {@code true} если был добавлен хотя бы один элемент, в противном случае {@code false}
+     */
+    @Override
+    public boolean addAll(Collection<? extends E> c) {
+        return appendAll(c);
+    }
+
+    /**
+     * Реализация {@link #addAll(Collection)}, которую можно вызывать из конструктора
+     * @param c коллекция, из которой будут браться элементы
+     * @throws NullPointerException если передан {@code null} либо коллекция содержит {@code null}
+     * @throws IllegalStateException если достигнут максимальный размер списка
+     * @return {@code true} если был добавлен хотя бы один элемент, в противном случае {@code false}
+     */
+    private boolean appendAll(Collection<? extends E> c) {
+        if(c == null) throw new NullPointerException();
+        Object[] array = c.toArray();
+        if(array.length == 0) return false;
+        for(Object o : array) {
+            if(o == null) throw new NullPointerException();
+        }
+        int index = reserve(array.length);
+        for(Object o : array) {
+            store(index++, o);
+        }
+        publish();
+        return true;
+    }
+
+    /**
+     * Возвращает элемент по индексу. Не блокируется и не ждет других потоков.
+     * @param index индекс, по которому нужно найти элемент
+     * @throws IndexOutOfBoundsException если передан индекс меньше нуля либо больше size - 1
+     * @return элемент, который был найден по переданному индексу
+     */
+    @Override
+    public E get(int index) {
+        checkIndex(index);
+        int position = index + FIRST_CHUNK_SIZE;
+        int chunk = chunkOf(position);
+        @SuppressWarnings("unchecked")
+        E element = (E) SLOT.getAcquire(chunks.get(chunk), offsetOf(position, chunk));
+        return element;
+    }
+
+    /**
+     * Атомарно заменяет элемент по индексу
+     * @param index индекс, по которому нужно заменить
+     * @param element новый элемент
+     * @throws NullPointerException если передан {@code null}
+     * @throws IndexOutOfBoundsException если передан индекс меньше нуля либо больше size - 1
+     * @return элемент, который был заменен
+     */
+    @Override
+    public E set(int index, E element) {
+        if(element == null) throw new NullPointerException();
+        checkIndex(index);
+        int position = index + FIRST_CHUNK_SIZE;
+        int chunk = chunkOf(position);
+        @SuppressWarnings("unchecked")
+        E replaced = (E) SLOT.getAndSet(chunks.get(chunk), offsetOf(position, chunk), element);
+        return replaced;
+    }
+
+    /**
+     * Возвращает количество опубликованных элементов
+     * @return размер списка
+     */
+    @Override
+    public int size() {
+        return published.get();
+    }
+
+    /**
+     * Метод для проверки валидности индекса. Индекс считается валидным, если он лежит в диапазоне [0, size).
+     * @param index индекс, валидность которого нужно проверить
+     * @throws IndexOutOfBoundsException если по данному индексу нельзя получить элемент
+     */
+    private void checkIndex(int index) {
+        int size = published.get();
+        if(index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(String.format("Index %d out of bounds for length %d", index, size));
+        }
+    }
+
+    /**
+     * Резервирует позиции для новых элементов. Перед резервированием создаются блоки для всех
+     * позиций, поэтому если выделить память не удалось, счетчик не изменяется, и в списке
+     * не остается ячеек, которые никто не заполнит.
+     * @param count количество позиций
+     * @throws IllegalStateException если достигнут максимальный размер списка
+     * @return первая зарезервированная позиция
+     */
+    private int reserve(int count) {
+        for(;;) {
+            int index = reserved.get();
+            if(index > MAX_SIZE - count) {
+                throw new IllegalStateException("list size limit reached: " + MAX_SIZE);
+            }
+            allocateChunks(index, count);
+            if(reserved.compareAndSet(index, index + count)) return index;
+        }
+    }
+
+    /**
+     * Создает блоки, в которые попадают переданные позиции, если их еще нет
+     * @param index первая позиция
+     * @param count количество позиций, больше нуля
+     */
+    private void allocateChunks(int index, int count) {
+        int last = chunkOf(index + count - 1 + FIRST_CHUNK_SIZE);
+        for (int chunk = chunkOf(index + FIRST_CHUNK_SIZE); chunk <= last; chunk++) {
+            if(chunks.get(chunk) == null) {
+                chunks.compareAndSet(chunk, null, new Object[FIRST_CHUNK_SIZE << chunk]);
+            }
+        }
+    }
+
+    /**
+     * Записывает элемент в зарезервированную ячейку. Блок был создан при резервировании.
+     * @param index зарезервированная позиция
+     * @param element записываемый элемент
+     */
+    private void store(int index, Object element) {
+        int position = index + FIRST_CHUNK_SIZE;
+        int chunk = chunkOf(position);
+        SLOT.setVolatile(chunks.get(chunk), offsetOf(position, chunk), element);
+    }
+
+    /**
+     * Продвигает счетчик опубликованных элементов через все подряд заполненные ячейки одной
+     * операцией {@code compareAndSet}, поэтому {@link #addAll(Collection)} публикует свои элементы
+     * разом. Вызывается каждым потоком после записи своих элементов. Если следующая ячейка еще
+     * не заполнена, поток выходит: поток, который ее заполнит, продолжит продвижение сам
+     * и опубликует в том числе элементы, записанные после нее.
+     */
+    private void publish() {
+        for(;;) {
+            int count = published.get();
+            int limit = reserved.get();
+            int end = count;
+            while (end < limit && isStored(end)) {
+                end++;
+            }
+            if(end == count) return;
+            published.compareAndSet(count, end);
+        }
+    }
+
+    /**
+     * Проверяет, записан ли элемент в зарезервированную ячейку
+     * @param index зарезервированная позиция
+     * @return {@code true}, если ячейка заполнена
+     */
+    private boolean isStored(int index) {
+        int position = index + FIRST_CHUNK_SIZE;
+        int chunk = chunkOf(position);
+        return SLOT.getVolatile(chunks.get(chunk), offsetOf(position, chunk)) != null;
+    }
+
+    /**
+     * Вычисляет номер блока по позиции. Позиция - это индекс, сдвинутый на размер
+     * первого блока, тогда номер блока определяется старшим битом позиции.
+     * @param position индекс элемента плюс {@link #FIRST_CHUNK_SIZE}
+     * @return номер блока
+     */
+    private static int chunkOf(int position) {
+        return Integer.SIZE - 1 - Integer.numberOfLeadingZeros(position) - FIRST_CHUNK_SHIFT;
+    }
+
+    /**
+     * Вычисляет смещение элемента внутри блока
+     * @param position индекс элемента плюс {@link #FIRST_CHUNK_SIZE}
+     * @param chunk номер блока
+     * @return индекс ячейки в блоке
+     */
+    private static int offsetOf(int position, int chunk) {
+        return position - (FIRST_CHUNK_SIZE << chunk);
+    }
+}
@@ -0,0 +1,135 @@
+package example;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Кодек элементов для двоичной сериализации списка методами
+ * {@link ArrayList#writeTo(java.nio.channels.WritableByteChannel, ElementCodec)} и
+ * {@link ArrayList#readFrom(java.nio.channels.ReadableByteChannel, ElementCodec)}.
+ * В отличие от {@link FixedWidthCodec}, элементы могут занимать разное количество байт:
+ * перед каждым элементом список записывает его длину, поэтому кодек не хранит границы сам.
+ * {@code null} тоже кодируется списком, и кодеку не передается.
+ *
+ * <p>Методы кодека используют относительные операции буфера: {@link #write(ByteBuffer, Object)}
+ * должен записать ровно {@link #size(Object)} байт, а {@link #read(ByteBuffer, int)} - прочитать
+ * ровно столько байт, сколько было записано. Места в буфере всегда достаточно.
+ *
+ * @param <E> тип кодируемых элементов
+ *
+ * @author  Поляков Артур
+ */
+public interface ElementCodec<E> {
+    /**
+     * Кодек для {@link String} в кодировке UTF-8.
+     */
+    ElementCodec<String> STRING = new ElementCodec<>() {
+        @Override
+        public int size(String element) {
+            int length = element.length();
+            int bytes = 0;
+            for (int i = 0; i < length; i++) {
+                char c = element.charAt(i);
+                if(c < 0x80) {
+                    bytes++;
+                } else if(c < 0x800) {
+                    bytes += 2;
+                } else if(Character.isHighSurrogate(c) && i + 1 < length
+                        && Character.isLowSurrogate(element.charAt(i + 1))) {
+                    bytes += 4;
+                    i++;
+                } else {
+                    // одиночный суррогат String.getBytes заменяет на '?'
+                    bytes += Character.isSurrogate(c) ? 1 : 3;
+                }
+            }
+            return bytes;
+        }
+
+        @Override
+        public void write(ByteBuffer buffer, String element) {
+            int length = element.length();
+            int i = 0;
+            while (i < length && element.charAt(i) < 0x80) {
+                buffer.put((byte) element.charAt(i++));
+            }
+            if(i < length) {
+                buffer.put(element.substring(i).getBytes(StandardCharsets.UTF_8));
+            }
+        }
+
+        @Override
+        public String read(ByteBuffer buffer, int size) {
+            byte[] bytes = new byte[size];
+            buffer.get(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    };
+    /**
+     * Кодек для {@link Integer}, 4 байта на элемент.
+     */
+    ElementCodec<Integer> INTEGER = of(FixedWidthCodec.INTEGER);
+    /**
+     * Кодек для {@link Long}, 8 байт на элемент.
+     */
+    ElementCodec<Long> LONG = of(FixedWidthCodec.LONG);
+    /**
+     * Кодек для {@link Double}, 8 байт на элемент.
+     */
+    ElementCodec<Double> DOUBLE = of(FixedWidthCodec.DOUBLE);
+
+    /**
+     * Возвращает количество байт, которое займет элемент
+     * @param element элемент, не {@code null}
+     * @return размер элемента в байтах, не меньше нуля
+     */
+    int size(E element);
+
+    /**
+     * Записывает элемент в буфер, начиная с его текущей позиции
+     * @param buffer буфер, в котором осталось не меньше {@link #size(Object)} байт
+     * @param element записываемый элемент, не {@code null}
+     */
+    void write(ByteBuffer buffer, E element);
+
+    /**
+     * Читает элемент из буфера, начиная с его текущей позиции
+     * @param buffer буфер, в котором осталось не меньше size байт
+     * @param size количество байт, которое занимает элемент
+     * @return прочитанный элемент
+     */
+    E read(ByteBuffer buffer, int size);
+
+    /**
+     * Создает кодек на основе кодека фиксированной ширины
+     * @param codec кодек фиксированной ширины
+     * @param <E> тип кодируемых элементов
+     * @throws NullPointerException если передан {@code null}
+     * @return кодек, записывающий каждый элемент в {@link FixedWidthCodec#width()} байт
+     */
+    static <E> ElementCodec<E> of(FixedWidthCodec<E> codec) {
+        if(codec == null) throw new NullPointerException();
+        int width = codec.width();
+        return new ElementCodec<>() {
+            @Override
+            public int size(E element) {
+                return width;
+            }
+
+            @Override
+            public void write(ByteBuffer buffer, E element) {
+                int position = buffer.position();
+                codec.write(buffer, position, element);
+                buffer.position(position + width);
+            }
+
+            @Override
+            public E read(ByteBuffer buffer, int size) {
+                int position = buffer.position();
+                E element = codec.read(buffer, position);
+                buffer.position(position + width);
+                return element;
+            }
+        };
+    }
+}
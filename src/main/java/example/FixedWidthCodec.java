@@ -0,0 +1,99 @@
+package example;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Кодек элементов фиксированной ширины. Используется списками, которые хранят элементы
+ * не в виде объектов, а в виде байтов, например, {@link OffHeapArrayList}. Каждый элемент
+ * занимает ровно {@link #width()} байт, поэтому положение элемента в буфере вычисляется
+ * как {@code index * width()}, и доступ по индексу остается константным.
+ *
+ * <p>Методы кодека используют абсолютные операции буфера и не должны менять его position и limit.
+ * Порядок байтов определяется самим буфером.
+ *
+ * @param <E> тип кодируемых элементов
+ *
+ * @author  Поляков Артур
+ */
+public interface FixedWidthCodec<E> {
+    /**
+     * Кодек для {@link Integer}, 4 байта на элемент.
+     */
+    FixedWidthCodec<Integer> INTEGER = new FixedWidthCodec<>() {
+        @Override
+        public int width() {
+            return Integer.BYTES;
+        }
+
+        @Override
+        public void write(ByteBuffer buffer, int offset, Integer element) {
+            buffer.putInt(offset, element);
+        }
+
+        @Override
+        public Integer read(ByteBuffer buffer, int offset) {
+            return buffer.getInt(offset);
+        }
+    };
+    /**
+     * Кодек для {@link Long}, 8 байт на элемент.
+     */
+    FixedWidthCodec<Long> LONG = new FixedWidthCodec<>() {
+        @Override
+        public int width() {
+            return Long.BYTES;
+        }
+
+        @Override
+        public void write(ByteBuffer buffer, int offset, Long element) {
+            buffer.putLong(offset, element);
+        }
+
+        @Override
+        public Long read(ByteBuffer buffer, int offset) {
+            return buffer.getLong(offset);
+        }
+    };
+    /**
+     * Кодек для {@link Double}, 8 байт на элемент.
+     */
+    FixedWidthCodec<Double> DOUBLE = new FixedWidthCodec<>() {
+        @Override
+        public int width() {
+            return Double.BYTES;
+        }
+
+        @Override
+        public void write(ByteBuffer buffer, int offset, Double element) {
+            buffer.putDouble(offset, element);
+        }
+
+        @Override
+        public Double read(ByteBuffer buffer, int offset) {
+            return buffer.getDouble(offset);
+        }
+    };
+
+    /**
+     * Возвращает количество байт, которое занимает один элемент
+     * @return ширина элемента в байтах, больше нуля
+     */
+    int width();
+
+    /**
+     * Записывает элемент в буфер
+     * @param buffer буфер, в который нужно записать элемент
+     * @param offset позиция в буфере, начиная с которой нужно записать {@link #width()} байт
+     * @param element записываемый элемент
+     * @throws NullPointerException если элемент равен {@code null} и кодек не поддерживает {@code null}
+     */
+    void write(ByteBuffer buffer, int offset, E element);
+
+    /**
+     * Читает элемент из буфера
+     * @param buffer буфер, из которого нужно прочитать элемент
+     * @param offset позиция в буфере, начиная с которой записан элемент
+     * @return прочитанный элемент
+     */
+    E read(ByteBuffer buffer, int offset);
+}
@@ -0,0 +1,99 @@
+package example;
+
+/**
+ * Политика увеличения внутреннего массива {@link ArrayList}. Определяет, до какого размера
+ * увеличивается массив, когда в нем не хватает места. Политику можно задать отдельному
+ * списку методом {@link ArrayList#setGrowthPolicy(GrowthPolicy)} или всем создаваемым спискам
+ * методом {@link ArrayList#setDefaultGrowthPolicy(GrowthPolicy)}.
+ *
+ * <p>Быстрый рост уменьшает количество копирований, но оставляет больше неиспользуемых ячеек,
+ * медленный - наоборот. Результат политики всегда приводится к диапазону
+ * [{@code minCapacity}, {@link #MAX_CAPACITY}], поэтому политикам не нужно
+ * самим следить за переполнением и максимальным размером массива.
+ *
+ * @author  Поляков Артур
+ */
+@FunctionalInterface
+public interface GrowthPolicy {
+    /**
+     * Максимальный размер массива. Некоторые виртуальные машины не могут выделить
+     * массив размером ровно {@code Integer.MAX_VALUE}.
+     */
+    int MAX_CAPACITY = Integer.MAX_VALUE - 8;
+    /**
+     * Стандартная политика: увеличение в полтора раза плюс один элемент,
+     * чтобы массив нулевого размера тоже увеличивался.
+     */
+    GrowthPolicy DEFAULT = geometric(1.5);
+
+    /**
+     * Вычисляет новый размер массива
+     * @param capacity текущий размер массива
+     * @param minCapacity минимальный размер, необходимый для операции, всегда больше capacity
+     * @return желаемый размер массива. Значения меньше minCapacity и больше
+     * {@link #MAX_CAPACITY} будут приведены к этому диапазону
+     */
+    int newCapacity(int capacity, int minCapacity);
+
+    /**
+     * Геометрический рост: новый размер равен {@code capacity * factor + 1}.
+     * @param factor во сколько раз увеличивается массив
+     * @throws IllegalArgumentException если factor не больше единицы
+     * @return политика геометрического роста
+     */
+    static GrowthPolicy geometric(double factor) {
+        if(!(factor > 1)) throw new IllegalArgumentException("factor must be greater than one");
+        return (capacity, minCapacity) -> clamp(capacity * factor + 1);
+    }
+
+    /**
+     * Рост фиксированным шагом: массив увеличивается на step элементов. Лишней памяти
+     * остается не больше step ячеек, но добавление n элементов стоит O(n * n / step) копирований.
+     * @param step на сколько элементов увеличивается массив
+     * @throws IllegalArgumentException если step не больше нуля
+     * @return политика роста фиксированным шагом
+     */
+    static GrowthPolicy fixedStep(int step) {
+        if(step <= 0) throw new IllegalArgumentException("step must be greater than zero");
+        return (capacity, minCapacity) -> clamp((double) capacity + step);
+    }
+
+    /**
+     * Рост до ближайшей степени двойки, не меньшей необходимого размера.
+     * @return политика роста степенями двойки
+     */
+    static GrowthPolicy powerOfTwo() {
+        return (capacity, minCapacity) -> minCapacity > 1 << 30
+                ? MAX_CAPACITY
+                : Integer.highestOneBit(Math.max(minCapacity, capacity + 1) - 1) << 1;
+    }
+
+    /**
+     * Ограничивает прирост другой политики. Пока массив небольшой, работает переданная политика,
+     * а когда ее прирост превышает maxIncrement элементов, массив увеличивается ровно на maxIncrement.
+     * Это уменьшает пиковое потребление памяти для огромных массивов: вместо выделения массива
+     * в полтора раза больше, который может не поместиться в кучу, массив растет умеренными шагами.
+     * @param policy политика для небольших массивов
+     * @param maxIncrement максимальный прирост в элементах
+     * @throws NullPointerException если policy равна {@code null}
+     * @throws IllegalArgumentException если maxIncrement не больше нуля
+     * @return политика с ограниченным приростом
+     */
+    static GrowthPolicy capped(GrowthPolicy policy, int maxIncrement) {
+        if(policy == null) throw new NullPointerException();
+        if(maxIncrement <= 0) throw new IllegalArgumentException("maxIncrement must be greater than zero");
+        return (capacity, minCapacity) -> {
+            int grown = policy.newCapacity(capacity, minCapacity);
+            return grown - capacity > maxIncrement ? clamp((double) capacity + maxIncrement) : grown;
+        };
+    }
+
+    /**
+     * Приводит размер к диапазону [0, {@link #MAX_CAPACITY}]
+     * @param capacity размер, вычисленный с плавающей точкой, чтобы избежать переполнения
+     * @return размер массива
+     */
+    private static int clamp(double capacity) {
+        return capacity >= MAX_CAPACITY ? MAX_CAPACITY : (int) capacity;
+    }
+}
@@ -0,0 +1,311 @@
+package example;
+
+import java.io.Serial;
+import java.util.*;
+
+/**
+ * {@link ArrayList} с хеш-индексом для быстрого поиска элементов. Индекс отображает каждый
+ * элемент на отсортированный список его позиций, поэтому {@link #indexOf(Object)},
+ * {@link #lastIndexOf(Object)}, {@link #contains(Object)} и {@link #remove(Object)}
+ * работают за O(1) вместо линейного поиска, а {@link #containsAll(Collection)} - за O(m).
+ *
+ * <p>Индекс строится лениво за один проход по списку. Добавление в конец, замена элемента
+ * и удаление последнего элемента обновляют индекс на месте. Остальные изменения (вставка и удаление
+ * в середине, групповые операции, сортировка) сдвигают позиции многих элементов, поэтому индекс
+ * не пересчитывается, а помечается устаревшим сравнением {@code modCount}. Пометка ничего не стоит,
+ * поэтому серии таких изменений без поисков между ними не замедляются.
+ *
+ * <p>Первый поиск после такого изменения (и самый первый поиск в списке) выполняется линейно,
+ * как в {@link ArrayList}, а индекс строится заново только при втором поиске подряд, без изменений
+ * между ними. Поэтому если изменения в середине чередуются с поисками, например, при повторяющихся
+ * {@link #remove(Object)}, каждый поиск стоит один проход по списку, а не построение индекса,
+ * которое дороже прохода в несколько раз. {@link #containsAll(Collection)} ищет много элементов
+ * сразу и всегда использует индекс.
+ *
+ * <p>Элементы должны корректно реализовывать {@link Object#hashCode()} в согласии с
+ * {@link Object#equals(Object)}. Индекс занимает память, сравнимую с {@link HashMap}
+ * того же размера, что и список.
+ *
+ * <p><strong>Данный класс не является потокобезапасным.</strong>
+ *
+ * @param <E> Тип, которым параметризован список
+ *
+ * @author  Поляков Артур
+ */
+public class IndexedArrayList<E> extends ArrayList<E> {
+    @Serial
+    private static final long serialVersionUID = 1L;
+    /**
+     * Индекс: элемент отображается на {@link Integer}, если он встречается в списке один раз,
+     * либо на {@link IntArrayList} с позициями по возрастанию, если несколько.
+     * Равен {@code null}, пока индекс не построен.
+     */
+    private HashMap<Object, Object> index;
+    /**
+     * Значение {@link #modCount}, при котором индекс соответствует списку.
+     */
+    private int indexedModCount;
+    /**
+     * Признак того, что поиск уже выполнялся линейно при значении {@link #modCount},
+     * равном {@link #scannedModCount}.
+     */
+    private boolean scanned;
+    /**
+     * Значение {@link #modCount}, при котором был выполнен последний линейный поиск.
+     */
+    private int scannedModCount;
+
+    /**
+     * Конструктор, позволяющий указать размер
+     * внутреннего массива
+     * @param  initialCapacity размер внутреннего массива
+     * @throws IllegalArgumentException если передано отрицательное значение
+     */
+    public IndexedArrayList(int initialCapacity) {
+        super(initialCapacity);
+    }
+
+    /**
+     * Создает пустой список со стандартным размером внутреннего массива
+     */
+    public IndexedArrayList() {
+        super();
+    }
+
+    /**
+     * Создает список на основе другой коллекции. Индекс не строится до первого поиска.
+     * @param c коллекция, на основе которой нужно создать список
+     * @throws NullPointerException если передан {@code null}
+     */
+    public IndexedArrayList(Collection<? extends E> c) {
+        super(c);
+    }
+
+    /**
+     * Вставляет элемент в указанную позицию. Вставка в конец обновляет индекс,
+     * вставка в середину делает его устаревшим.
+     * @param index позиция, куда нужно вставить элемент
+     * @param element вставляемый элемент
+     * @throws IndexOutOfBoundsException если передан индекс меньше нуля либо больше size
+     */
+    @Override
+    public void add(int index, E element) {
+        boolean append = isIndexed() && index == size();
+        super.add(index, element);
+        if(append) {
+            addPosition(element, index);
+            indexedModCount = modCount;
+        }
+    }
+
+    /**
+     * Заменяет элемент по индексу и обновляет индекс, если он построен
+     * @param index индекс, по которому нужно заменить
+     * @param element новый элемент
+     * @throws IndexOutOfBoundsException если передан индекс меньше нуля либо больше size - 1
+     * @return элемент, который был заменен
+     */
+    @Override
+    public E set(int index, E element) {
+        E replaced = super.set(index, element);
+        if(isIndexed()) {
+            removePosition(replaced, index);
+            addPosition(element, index);
+        }
+        return replaced;
+    }
+
+    /**
+     * Удаляет элемент по индексу. Удаление последнего элемента обновляет индекс,
+     * удаление из середины делает его устаревшим.
+     * @param index индекс, по которому нужно удалить элемент
+     * @throws IndexOutOfBoundsException если передан индекс меньше нуля либо больше size - 1
+     * @return элемент, который был удален
+     */
+    @Override
+    public E remove(int index) {
+        boolean last = isIndexed() && index == size() - 1;
+        E removed = super.remove(index);
+        if(last) {
+            removePosition(removed, index);
+            indexedModCount = modCount;
+        }
+        return removed;
+    }
+
+    /**
+     * Удаляет все элементы из списка и освобождает индекс
+     */
+    @Override
+    public void clear() {
+        super.clear();
+        index = null;
+    }
+
+    /**
+     * Ищет первое вхождение элемента по индексу за O(1), либо линейно, если индекс устарел
+     * и строить его еще рано
+     * @param o элемент, который нужно найти
+     * @return индекс элемента, если элемент был найден, в противном случае -1
+     */
+    @Override
+    public int indexOf(Object o) {
+        HashMap<Object, Object> index = lookupIndex();
+        if(index == null) return super.indexOf(o);
+        Object positions = index.get(o);
+        if(positions == null) return -1;
+        return positions instanceof Integer position ? position : ((IntArrayList) positions).getInt(0);
+    }
+
+    /**
+     * Ищет последнее вхождение элемента по индексу за O(1), либо линейно, если индекс устарел
+     * и строить его еще рано
+     * @param o элемент, который нужно найти
+     * @return индекс элемента, если элемент был найден, в противном случае -1
+     */
+    @Override
+    public int lastIndexOf(Object o) {
+        HashMap<Object, Object> index = lookupIndex();
+        if(index == null) return super.lastIndexOf(o);
+        Object positions = index.get(o);
+        if(positions == null) return -1;
+        if(positions instanceof Integer position) return position;
+        IntArrayList list = (IntArrayList) positions;
+        return list.getInt(list.size() - 1);
+    }
+
+    /**
+     * Проверяет наличие элемента за O(1), либо линейно, если индекс устарел и строить его еще рано
+     * @param o элемент, наличие которого нужно проверить
+     * @return {@code true}, если элемент есть в списке, {@code false} в противном случае
+     */
+    @Override
+    public boolean contains(Object o) {
+        HashMap<Object, Object> index = lookupIndex();
+        return index == null ? super.indexOf(o) > -1 : index.containsKey(o);
+    }
+
+    /**
+     * Проверяет, содержатся ли все элементы коллекции в списке, за O(m)
+     * @param c коллекция, наличие элементов которой нужно проверить
+     * @throws NullPointerException если передан {@code null}
+     * @return {@code true}, если все элементы коллекции есть в списке, {@code false} в противном случае
+     */
+    @Override
+    public boolean containsAll(Collection<?> c) {
+        if(c == null) throw new NullPointerException();
+        HashMap<Object, Object> index = ensureIndex();
+        for(Object o : c) {
+            if(!index.containsKey(o)) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Создает копию списка. Индекс не копируется и будет построен копией при первом поиске.
+     * @return копия списка
+     */
+    @Override
+    public Object clone() {
+        IndexedArrayList<?> clone = (IndexedArrayList<?>) super.clone();
+        clone.index = null;
+        return clone;
+    }
+
+    /**
+     * Проверяет, что индекс построен и соответствует списку
+     * @return {@code true}, если индекс можно обновлять на месте
+     */
+    private boolean isIndexed() {
+        return index != null && indexedModCount == modCount;
+    }
+
+    /**
+     * Возвращает индекс для одиночного поиска. Если индекс устарел, первый поиск выполняется
+     * линейно, а индекс строится заново только при втором поиске без изменений списка между ними.
+     * @return актуальный индекс, либо {@code null}, если поиск нужно выполнить линейно
+     */
+    private HashMap<Object, Object> lookupIndex() {
+        if(isIndexed() || (scanned && scannedModCount == modCount)) {
+            return ensureIndex();
+        }
+        scanned = true;
+        scannedModCount = modCount;
+        return null;
+    }
+
+    /**
+     * Возвращает актуальный индекс, строя его заново, если список изменился
+     * после последнего построения.
+     * @return индекс
+     */
+    private HashMap<Object, Object> ensureIndex() {
+        if(!isIndexed()) {
+            int size = size();
+            index = new HashMap<>(Math.max((int) (size / 0.75f) + 1, 16));
+            for (int i = 0; i < size; i++) {
+                addPosition(get(i), i);
+            }
+            indexedModCount = modCount;
+        }
+        return index;
+    }
+
+    /**
+     * Добавляет позицию элемента в индекс, сохраняя порядок позиций
+     * @param element элемент
+     * @param position позиция элемента в списке
+     */
+    private void addPosition(Object element, int position) {
+        Object positions = index.get(element);
+        if(positions == null) {
+            index.put(element, position);
+            return;
+        }
+        IntArrayList list;
+        if(positions instanceof Integer single) {
+            list = new IntArrayList(2);
+            list.addInt(single);
+            index.put(element, list);
+        } else {
+            list = (IntArrayList) positions;
+        }
+        list.addInt(insertionPoint(list, position), position);
+    }
+
+    /**
+     * Удаляет позицию элемента из индекса
+     * @param element элемент
+     * @param position позиция элемента в списке
+     */
+    private void removePosition(Object element, int position) {
+        Object positions = index.get(element);
+        if(positions instanceof IntArrayList list) {
+            list.removeInt(insertionPoint(list, position));
+            if(list.size() == 1) {
+                index.put(element, list.getInt(0));
+            }
+        } else {
+            index.remove(element);
+        }
+    }
+
+    /**
+     * Бинарный поиск позиции в отсортированном списке позиций
+     * @param list позиции по возрастанию
+     * @param position искомая позиция
+     * @return индекс первой позиции, не меньшей искомой
+     */
+    private static int insertionPoint(IntArrayList list, int position) {
+        int low = 0, high = list.size();
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if(list.getInt(middle) < position) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+}
@@ -0,0 +1,573 @@
+package example;
+
+import java.util.*;
+import java.util.function.IntPredicate;
+
+/**
+ * Динамический массив примитивов {@code int}. Повторяет устройство {@link ArrayList}
+ * (та же политика увеличения массива, методы {@link #ensureCapacity(int)} и {@link #trimToSize()}),
+ * но хранит элементы в массиве {@code int[]}, а не в {@code Object[]}. Каждый элемент занимает
+ * 4 байта вместо ссылки и объекта {@link Integer}, а чтение элемента не требует перехода по ссылке.
+ *
+ * <p>Методы работы с элементами не упаковывают значения: {@link #addInt(int)}, {@link #getInt(int)},
+ * {@link #setInt(int, int)}, {@link #removeInt(int)}, {@link #indexOf(int)}. Для передачи списка в код,
+ * ожидающий {@code List<Integer>}, есть представление {@link #asList()}, которое упаковывает значения
+ * только при обращении к ним.
+ *
+ * <p><strong>Данный класс не является потокобезапасным.</strong>
+ *
+ * @author  Поляков Артур
+ */
+public class IntArrayList implements Cloneable {
+    /**
+     * Стандартный размер внутреннего массива.
+     */
+    private final static int DEFAULT_CAPACITY = 10;
+    /**
+     * Реализация поиска и агрегации, векторная, если она доступна.
+     */
+    private final static PrimitiveScans SCANS = PrimitiveScans.preferred();
+    /**
+     * Массив, в котором хранятся элементы.
+     */
+    private int[] elements;
+    /**
+     * Количество элементов в списке.
+     */
+    private int size;
+    /**
+     * Количество раз, которое список изменялся. По нему итераторы представления {@link #asList()}
+     * обнаруживают изменения списка, сделанные не через итератор.
+     */
+    private int modCount;
+    /**
+     * Представление, возвращаемое {@link #asList()}, либо {@code null}, если оно еще не создавалось.
+     */
+    private IntListView view;
+    /**
+     * Конструктор, позволяющий указать размер
+     * внутреннего массива
+     * @param  initialCapacity размер внутреннего массива
+     * @throws IllegalArgumentException если передано отрицательное значение
+     */
+    public IntArrayList(int initialCapacity) {
+        if(initialCapacity < 0) throw new IllegalArgumentException("capacity can't be lower than zero");
+        this.elements = new int[initialCapacity];
+    }
+
+    /**
+     * Создает IntArrayList с размером
+     * внутреннего массива {@link #DEFAULT_CAPACITY}
+     */
+    public IntArrayList() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Создает IntArrayList, содержащий элементы переданного массива.
+     * @param values элементы списка
+     * @throws NullPointerException если передан {@code null}
+     */
+    public IntArrayList(int[] values) {
+        if(values == null) throw new NullPointerException();
+        int length = values.length;
+        elements = new int[length < DEFAULT_CAPACITY ? DEFAULT_CAPACITY : (length >> 1) + length];
+        System.arraycopy(values, 0, elements, 0, length);
+        size = length;
+    }
+
+    /**
+     * Добавляет элемент в конец списка
+     * @param value добавляемый элемент
+     */
+    public void addInt(int value) {
+        if(size == elements.length) {
+            increaseArray();
+        }
+        elements[size++] = value;
+        modified();
+    }
+
+    /**
+     * Вставляет элемент в список в указанную позицию. Если передать индекс
+     * равный size, то элемент добавится в конец
+     * @param index позиция, куда нужно вставить элемент
+     * @param value вставляемый элемент
+     * @throws IndexOutOfBoundsException если передан индекс меньше нуля либо больше size
+     */
+    public void addInt(int index, int value) {
+        if(index != size) checkIndex(index);
+        if(size == elements.length) {
+            increaseArray();
+        }
+        shiftArray(index, index + 1, size - index);
+        size++;
+        elements[index] = value;
+        modified();
+    }
+
+    /**
+     * Возвращает элемент по индексу
+     * @param index индекс, по которому нужно найти элемент
+     * @throws IndexOutOfBoundsException если передан индекс меньше нуля либо больше size - 1
+     * @return элемент, который был найден по переданному индексу
+     */
+    public int getInt(int index) {
+        checkIndex(index);
+        return elements[index];
+    }
+
+    /**
+     * Заменяет элемент по индексу
+     * @param index индекс, по которому нужно заменить
+     * @param value новое значение
+     * @throws IndexOutOfBoundsException если передан индекс меньше нуля либо больше size - 1
+     * @return элемент, который был заменен
+     */
+    public int setInt(int index, int value) {
+        checkIndex(index);
+        int replaced = elements[index];
+        elements[index] = value;
+        return replaced;
+    }
+
+    /**
+     * Удаляет элемент из списка по индексу, сдвигая все элементы справа влево на одну позицию.
+     * @param index индекс, по которому нужно удалить элемент
+     * @throws IndexOutOfBoundsException если передан индекс меньше нуля либо больше size - 1
+     * @return элемент, который был удален
+     */
+    public int removeInt(int index) {
+        checkIndex(index);
+        int removed = elements[index];
+        shiftArray(index + 1, index, size - (index + 1));
+        size--;
+        modified();
+        return removed;
+    }
+
+    /**
+     * Ищет переданный элемент в списке, начиная с начала списка
+     * @param value элемент, который нужно найти
+     * @return индекс, по которому находится элемент. -1 - если элемент не был найден
+     */
+    public int indexOf(int value) {
+        return SCANS.indexOf(elements, 0, size, value);
+    }
+
+    /**
+     * Ищет переданный элемент в списке, начиная с конца списка
+     * @param value элемент, который нужно найти
+     * @return индекс, по которому находится элемент. -1 - если элемент не был найден
+     */
+    public int lastIndexOf(int value) {
+        for (int i = size - 1; i >= 0; i--) {
+            if(elements[i] == value) return i;
+        }
+        return -1;
+    }
+
+    /**
+     * Проверяет, есть ли в списке переданный элемент.
+     * @param value элемент, который нужно найти
+     * @return {@code true}, если элемент был найден, {@code false} в противном случае
+     */
+    public boolean contains(int value) {
+        return indexOf(value) > -1;
+    }
+
+    /**
+     * Возвращает минимальный элемент списка.
+     * @throws NoSuchElementException если список пуст
+     * @return минимальный элемент
+     */
+    public int min() {
+        if(size == 0) throw new NoSuchElementException();
+        return SCANS.min(elements, 0, size);
+    }
+
+    /**
+     * Возвращает максимальный элемент списка.
+     * @throws NoSuchElementException если список пуст
+     * @return максимальный элемент
+     */
+    public int max() {
+        if(size == 0) throw new NoSuchElementException();
+        return SCANS.max(elements, 0, size);
+    }
+
+    /**
+     * Возвращает сумму элементов списка. Сумма складывается в {@code long} и не переполняется.
+     * @return сумма элементов, 0 для пустого списка
+     */
+    public long sum() {
+        return SCANS.sum(elements, 0, size);
+    }
+
+    /**
+     * Подсчитывает элементы, лежащие в интервале [low, high].
+     * @param low нижняя граница включительно
+     * @param high верхняя граница включительно
+     * @return количество элементов
+     */
+    public int countInRange(int low, int high) {
+        return SCANS.countInRange(elements, 0, size, low, high);
+    }
+
+    /**
+     * Подсчитывает элементы, удовлетворяющие предикату. Предикат вызывается для каждого
+     * элемента, поэтому этот метод не векторизуется; для интервалов значений быстрее
+     * {@link #countInRange(int, int)}.
+     * @param predicate предикат
+     * @throws NullPointerException если передан {@code null}
+     * @return количество элементов
+     */
+    public int count(IntPredicate predicate) {
+        if(predicate == null) throw new NullPointerException();
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            if(predicate.test(elements[i])) count++;
+        }
+        return count;
+    }
+
+    /**
+     * Возвращает размер списка
+     * @return размер списка
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Проверяет, является ли список пустым
+     * @return {@code true}, если список пуст, {@code false} если в списке есть хотя бы один элемент
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Удаляет все элементы из списка. Внутренний массив не очищается, т.к.
+     * примитивы не удерживают объекты от сборки мусора.
+     */
+    public void clear() {
+        size = 0;
+        modified();
+    }
+
+    /**
+     * Сортирует список по возрастанию. Используется сортировка примитивов
+     * {@link Arrays#sort(int[], int, int)}, которой не нужны ни компаратор, ни упаковка.
+     */
+    public void sort() {
+        Arrays.sort(elements, 0, size);
+        modified();
+    }
+
+    /**
+     * Преобразует список в массив. Размер массива будет равен количеству элементов
+     * @return массив, содержащий все элементы списка
+     */
+    public int[] toIntArray() {
+        return Arrays.copyOf(elements, size);
+    }
+
+    /**
+     * Увеличивает внутренний массив до переданного значения. Если
+     * переданное значение меньше размера массива и положительно, то ничего не произойдет.
+     * @param capacity новый размер внутреннего массива
+     * @throws IllegalArgumentException если capacity меньше нуля.
+     * @throws OutOfMemoryError если capacity больше максимального размера массива
+     * @return {@code true}, если массив был увеличен, {@code false} в противном случае
+     */
+    public boolean ensureCapacity(int capacity) {
+        if(capacity < 0) throw new IllegalArgumentException("capacity can't be lower than zero");
+        if(capacity <= elements.length) return false;
+        increaseArray(capacity);
+        return true;
+    }
+
+    /**
+     * Удаляет все неиспользуемые ячейки внутреннего массива путем создания нового массива,
+     * содержащего все элементы списка.
+     */
+    public void trimToSize() {
+        elements = Arrays.copyOf(elements, size);
+    }
+
+    /**
+     * Возвращает представление списка в виде {@code List<Integer>}. Представление не копирует
+     * элементы: чтение и запись, в том числе вставка и удаление, выполняются над данным списком,
+     * а значения упаковываются только при обращении к ним. Элементы {@code null} не допускаются.
+     * Итераторы представления выбрасывают {@link ConcurrentModificationException}, если список
+     * был структурно изменен не через итератор, в том числе итераторы представлений
+     * {@link List#subList(int, int)}. Все вызовы возвращают одно и то же представление.
+     * @return представление списка
+     */
+    public List<Integer> asList() {
+        if(view == null) view = new IntListView();
+        return view;
+    }
+
+    /**
+     * Отмечает структурное изменение списка. Счетчик изменений копируется в представление
+     * {@link #asList()}, чтобы его подсписки, которые проверяют счетчик самого представления,
+     * тоже обнаруживали изменения списка.
+     */
+    private void modified() {
+        modCount++;
+        if(view != null) view.sync();
+    }
+
+    /**
+     * Представление {@link IntArrayList} в виде {@code List<Integer>}.
+     */
+    private class IntListView extends AbstractList<Integer> implements RandomAccess {
+        /**
+         * Копирует счетчик изменений списка в счетчик представления
+         */
+        void sync() {
+            modCount = IntArrayList.this.modCount;
+        }
+
+        @Override
+        public Integer get(int index) {
+            return getInt(index);
+        }
+
+        @Override
+        public Integer set(int index, Integer element) {
+            return setInt(index, element);
+        }
+
+        @Override
+        public void add(int index, Integer element) {
+            addInt(index, element);
+        }
+
+        @Override
+        public Integer remove(int index) {
+            return removeInt(index);
+        }
+
+        @Override
+        public int indexOf(Object o) {
+            return o instanceof Integer value ? IntArrayList.this.indexOf(value) : -1;
+        }
+
+        @Override
+        public int lastIndexOf(Object o) {
+            return o instanceof Integer value ? IntArrayList.this.lastIndexOf(value) : -1;
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return indexOf(o) > -1;
+        }
+
+        @Override
+        public void clear() {
+            IntArrayList.this.clear();
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public Iterator<Integer> iterator() {
+            return new ViewIterator(0);
+        }
+
+        @Override
+        public ListIterator<Integer> listIterator() {
+            return new ViewIterator(0);
+        }
+
+        @Override
+        public ListIterator<Integer> listIterator(int index) {
+            if(index < 0 || index > size) {
+                throw new IndexOutOfBoundsException(String.format("Index %d out of bounds for length %d", index, size));
+            }
+            return new ViewIterator(index);
+        }
+    }
+
+    /**
+     * Итератор представления {@link #asList()}. Запоминает {@link #modCount} списка и выбрасывает
+     * {@link ConcurrentModificationException}, если список был изменен не через данный итератор,
+     * в том числе методами самого {@link IntArrayList}.
+     */
+    private class ViewIterator implements ListIterator<Integer> {
+        /**
+         * Индекс элемента, который вернет {@link #next()}
+         */
+        int cursor;
+        /**
+         * Индекс последнего возвращенного элемента, либо -1, если его нельзя изменить или удалить
+         */
+        int last = -1;
+        /**
+         * Количество раз, которое изменялся список на момент создания итератора
+         */
+        int expectedModCount = modCount;
+
+        ViewIterator(int cursor) {
+            this.cursor = cursor;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return cursor < size;
+        }
+
+        @Override
+        public Integer next() {
+            checkForCoModification();
+            if(cursor >= size) throw new NoSuchElementException();
+            last = cursor++;
+            return elements[last];
+        }
+
+        @Override
+        public boolean hasPrevious() {
+            return cursor > 0;
+        }
+
+        @Override
+        public Integer previous() {
+            checkForCoModification();
+            if(cursor == 0) throw new NoSuchElementException();
+            last = --cursor;
+            return elements[last];
+        }
+
+        @Override
+        public int nextIndex() {
+            return cursor;
+        }
+
+        @Override
+        public int previousIndex() {
+            return cursor - 1;
+        }
+
+        @Override
+        public void remove() {
+            if(last < 0) throw new IllegalStateException();
+            checkForCoModification();
+            removeInt(last);
+            cursor = last;
+            last = -1;
+            expectedModCount = modCount;
+        }
+
+        @Override
+        public void set(Integer e) {
+            if(last < 0) throw new IllegalStateException();
+            checkForCoModification();
+            setInt(last, e);
+        }
+
+        @Override
+        public void add(Integer e) {
+            checkForCoModification();
+            addInt(cursor++, e);
+            last = -1;
+            expectedModCount = modCount;
+        }
+
+        /**
+         * Проверяет, менялся ли список не через данный итератор
+         * @throws ConcurrentModificationException если список был структурно изменен не через данный итератор
+         */
+        void checkForCoModification() {
+            if(expectedModCount != modCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+    }
+
+    /**
+     * Клонирует список. В склонированном списке создается новый внутренний массив.
+     * @return клон данного списка
+     */
+    @Override
+    public IntArrayList clone() {
+        try {
+            IntArrayList clone = (IntArrayList) super.clone();
+            clone.elements = Arrays.copyOf(elements, size);
+            clone.modCount = 0;
+            clone.view = null;
+            return clone;
+        } catch (CloneNotSupportedException ex) {
+            throw new InternalError();
+        }
+    }
+
+    /**
+     * Строковое представление списка.
+     * @return строковое представление списка
+     */
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder("[");
+        for (int i = 0; i < size; i++) {
+            builder.append(elements[i]);
+            if(i != size - 1) {
+                builder.append(", ");
+            }
+        }
+        builder.append("]");
+        return builder.toString();
+    }
+
+    /**
+     * Метод для проверки валидности индекса. Индекс считается валидным, если он лежит в диапазоне [0, size).
+     * @param index индекс, валидность которого нужно проверить
+     * @throws IndexOutOfBoundsException если по данному индексу нельзя получить элемент
+     */
+    private void checkIndex(int index) {
+        if(index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(String.format("Index %d out of bounds for length %d", index, size));
+        }
+    }
+
+    /**
+     * Сдвигает часть внутреннего массива назад либо вперед.
+     * @param from начальный индекс той части массива, которую нужно переместить
+     * @param to индекс, куда нужно переместить часть массива
+     * @param count размер перемещаемой части массива
+     */
+    private void shiftArray(int from, int to, int count) {
+        System.arraycopy(elements, from, elements, to, count);
+    }
+
+    /**
+     * Увеличивает массив в полтора раза путем создания нового массива и копирования в него элементов из старого,
+     * как {@link GrowthPolicy#DEFAULT}. Новый размер вычисляется в {@code long} и приводится к диапазону
+     * [size + 1, {@link GrowthPolicy#MAX_CAPACITY}].
+     * @throws OutOfMemoryError если массив уже имеет максимальный размер
+     */
+    private void increaseArray() {
+        int capacity = elements.length;
+        long newCapacity = (long) (capacity >> 1) + capacity + 1;
+        increaseArray((int) Math.max(size + 1L, Math.min(newCapacity, GrowthPolicy.MAX_CAPACITY)));
+    }
+
+    /**
+     * Увеличивает массив до переданного значения.
+     * @param newCapacity размер, до которого нужно увеличить массив
+     * @throws OutOfMemoryError если newCapacity больше максимального размера массива
+     */
+    private void increaseArray(int newCapacity) {
+        if(newCapacity < 0 || newCapacity > GrowthPolicy.MAX_CAPACITY) {
+            throw new OutOfMemoryError("Required array size too large");
+        }
+        int[] newArray = new int[newCapacity];
+        System.arraycopy(elements, 0, newArray, 0, size);
+        elements = newArray;
+    }
+}
@@ -0,0 +1,141 @@
+package example;
+
+import jdk.jfr.*;
+
+/**
+ * Реализация {@link ListMetrics}, которая записывает события в Java Flight Recorder. События
+ * попадают в запись только когда JFR запущен и событие включено в его настройках, в остальное
+ * время объект события не создается (JIT убирает его выделение), и слушатель почти ничего не стоит.
+ *
+ * <p>События: {@code example.ListGrow}, {@code example.ListShift}, {@code example.ListSort}
+ * и {@code example.ListTrim} в категории "Example / ArrayList". Сдвиги происходят при каждой
+ * вставке и удалении в середине списка, поэтому записываются только сдвиги не меньше заданного
+ * количества элементов.
+ *
+ * @author  Поляков Артур
+ */
+public class JfrListMetrics implements ListMetrics {
+    /**
+     * Минимальный сдвиг, который записывается по умолчанию.
+     */
+    public static final int DEFAULT_MIN_SHIFT = 1 << 10;
+    /**
+     * Сдвиги меньше этого количества элементов не записываются.
+     */
+    private final int minShift;
+
+    /**
+     * Создает слушателя, записывающего сдвиги от {@link #DEFAULT_MIN_SHIFT} элементов
+     */
+    public JfrListMetrics() {
+        this(DEFAULT_MIN_SHIFT);
+    }
+
+    /**
+     * Конструктор, позволяющий указать минимальный записываемый сдвиг
+     * @param minShift сдвиги меньше этого количества элементов не записываются
+     * @throws IllegalArgumentException если minShift меньше единицы
+     */
+    public JfrListMetrics(int minShift) {
+        if(minShift < 1) throw new IllegalArgumentException("min shift must be greater than zero");
+        this.minShift = minShift;
+    }
+
+    @Override
+    public void onGrow(int oldCapacity, int newCapacity, long copiedBytes) {
+        GrowEvent event = new GrowEvent();
+        if(event.isEnabled()) {
+            event.oldCapacity = oldCapacity;
+            event.newCapacity = newCapacity;
+            event.copiedBytes = copiedBytes;
+            event.commit();
+        }
+    }
+
+    @Override
+    public void onShift(int count) {
+        if(count < minShift) return;
+        ShiftEvent event = new ShiftEvent();
+        if(event.isEnabled()) {
+            event.count = count;
+            event.commit();
+        }
+    }
+
+    @Override
+    public void onSort(int length, int depth, boolean parallel, long nanos) {
+        SortEvent event = new SortEvent();
+        if(event.isEnabled()) {
+            event.length = length;
+            event.depth = depth;
+            event.parallel = parallel;
+            event.sortDuration = nanos;
+            event.commit();
+        }
+    }
+
+    @Override
+    public void onTrim(int oldCapacity, int newCapacity, long releasedBytes) {
+        TrimEvent event = new TrimEvent();
+        if(event.isEnabled()) {
+            event.oldCapacity = oldCapacity;
+            event.newCapacity = newCapacity;
+            event.releasedBytes = releasedBytes;
+            event.commit();
+        }
+    }
+
+    @Name("example.ListGrow")
+    @Label("List Grow")
+    @Category({"Example", "ArrayList"})
+    @Description("Внутренний массив списка заменен большим")
+    static final class GrowEvent extends Event {
+        @Label("Old Capacity")
+        int oldCapacity;
+        @Label("New Capacity")
+        int newCapacity;
+        @Label("Copied")
+        @DataAmount
+        long copiedBytes;
+    }
+
+    @Name("example.ListShift")
+    @Label("List Shift")
+    @Category({"Example", "ArrayList"})
+    @Description("Элементы списка сдвинуты при вставке или удалении в середине")
+    @StackTrace(false)
+    static final class ShiftEvent extends Event {
+        @Label("Elements")
+        int count;
+    }
+
+    @Name("example.ListSort")
+    @Label("List Sort")
+    @Category({"Example", "ArrayList"})
+    @Description("Список или его представление отсортированы")
+    static final class SortEvent extends Event {
+        @Label("Length")
+        int length;
+        @Label("Depth")
+        int depth;
+        @Label("Parallel")
+        boolean parallel;
+        @Label("Sort Duration")
+        @Timespan(Timespan.NANOSECONDS)
+        long sortDuration;
+    }
+
+    @Name("example.ListTrim")
+    @Label("List Trim")
+    @Category({"Example", "ArrayList"})
+    @Description("Внутренний массив списка уменьшен до размера списка")
+    static final class TrimEvent extends Event {
+        @Label("Old Capacity")
+        int oldCapacity;
+        @Label("New Capacity")
+        int newCapacity;
+        @Label("Released")
+        @DataAmount
+        long releasedBytes;
+    }
+}
@@ -0,0 +1,201 @@
+package example;
+
+import javax.management.JMException;
+import javax.management.MalformedObjectNameException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Реализация {@link ListMetrics}, которая считает события в потокобезопасных счетчиках
+ * ({@link LongAdder}), поэтому один набор счетчиков можно задать многим спискам, в том числе
+ * изменяемым из разных потоков. Счетчики можно читать напрямую или через JMX: набор
+ * регистрируется как MBean {@code example:type=ListCounters,name=<имя>} методом {@link #register()}.
+ *
+ * <p>Для учета по группам списков есть именованные наборы {@link #pool(String)}: все вызовы
+ * с одним именем возвращают один и тот же набор, уже зарегистрированный в JMX.
+ * Например, {@code list.setMetrics(ListCounters.pool("orders"))}.
+ *
+ * @author  Поляков Артур
+ */
+public class ListCounters implements ListMetrics, ListCountersMXBean {
+    /**
+     * Именованные наборы счетчиков, созданные методом {@link #pool(String)}.
+     */
+    private static final ConcurrentMap<String, ListCounters> POOLS = new ConcurrentHashMap<>();
+
+    private final String name;
+    private final LongAdder grows = new LongAdder();
+    private final LongAdder growCopiedBytes = new LongAdder();
+    private final LongAdder shifts = new LongAdder();
+    private final LongAdder shiftedElements = new LongAdder();
+    private final LongAdder sorts = new LongAdder();
+    private final LongAdder sortNanos = new LongAdder();
+    private final LongAccumulator maxSortDepth = new LongAccumulator(Math::max, 0);
+    private final LongAdder trims = new LongAdder();
+    private final LongAdder trimmedBytes = new LongAdder();
+
+    /**
+     * Создает набор счетчиков. Набор не регистрируется в JMX, для этого есть {@link #register()}.
+     * @param name имя набора, используется в имени MBean
+     * @throws NullPointerException если передан {@code null}
+     */
+    public ListCounters(String name) {
+        if(name == null) throw new NullPointerException();
+        this.name = name;
+    }
+
+    /**
+     * Возвращает именованный набор счетчиков, создавая и регистрируя его в JMX при первом обращении
+     * @param name имя набора
+     * @throws NullPointerException если передан {@code null}
+     * @throws IllegalStateException если набор не удалось зарегистрировать в JMX
+     * @return набор счетчиков с переданным именем
+     */
+    public static ListCounters pool(String name) {
+        if(name == null) throw new NullPointerException();
+        return POOLS.computeIfAbsent(name, n -> {
+            ListCounters counters = new ListCounters(n);
+            counters.register();
+            return counters;
+        });
+    }
+
+    /**
+     * Регистрирует набор в платформенном MBeanServer
+     * @throws IllegalStateException если набор не удалось зарегистрировать, например,
+     * если набор с таким же именем уже зарегистрирован
+     * @return имя, под которым набор зарегистрирован
+     */
+    public ObjectName register() {
+        try {
+            ObjectName objectName = objectName();
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, objectName);
+            return objectName;
+        } catch (JMException ex) {
+            throw new IllegalStateException("can't register list counters " + name, ex);
+        }
+    }
+
+    /**
+     * Удаляет набор из платформенного MBeanServer. Если набор не зарегистрирован, ничего не делает.
+     * Набор, полученный методом {@link #pool(String)}, при этом перестает быть именованным.
+     * @throws IllegalStateException если набор не удалось удалить
+     */
+    public void unregister() {
+        POOLS.remove(name, this);
+        try {
+            ObjectName objectName = objectName();
+            if(ManagementFactory.getPlatformMBeanServer().isRegistered(objectName)) {
+                ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName);
+            }
+        } catch (JMException ex) {
+            throw new IllegalStateException("can't unregister list counters " + name, ex);
+        }
+    }
+
+    /**
+     * Имя MBean для данного набора
+     * @return имя вида {@code example:type=ListCounters,name=<имя>}
+     * @throws MalformedObjectNameException не выбрасывается, т.к. имя набора экранируется
+     */
+    private ObjectName objectName() throws MalformedObjectNameException {
+        return new ObjectName("example:type=ListCounters,name=" + ObjectName.quote(name));
+    }
+
+    @Override
+    public void onGrow(int oldCapacity, int newCapacity, long copiedBytes) {
+        grows.increment();
+        growCopiedBytes.add(copiedBytes);
+    }
+
+    @Override
+    public void onShift(int count) {
+        shifts.increment();
+        shiftedElements.add(count);
+    }
+
+    @Override
+    public void onSort(int length, int depth, boolean parallel, long nanos) {
+        sorts.increment();
+        sortNanos.add(nanos);
+        maxSortDepth.accumulate(depth);
+    }
+
+    @Override
+    public void onTrim(int oldCapacity, int newCapacity, long releasedBytes) {
+        trims.increment();
+        trimmedBytes.add(releasedBytes);
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public long getGrowCount() {
+        return grows.sum();
+    }
+
+    @Override
+    public long getGrowCopiedBytes() {
+        return growCopiedBytes.sum();
+    }
+
+    @Override
+    public long getShiftCount() {
+        return shifts.sum();
+    }
+
+    @Override
+    public long getShiftedElements() {
+        return shiftedElements.sum();
+    }
+
+    @Override
+    public long getSortCount() {
+        return sorts.sum();
+    }
+
+    @Override
+    public long getSortTimeNanos() {
+        return sortNanos.sum();
+    }
+
+    @Override
+    public int getMaxSortDepth() {
+        return (int) maxSortDepth.get();
+    }
+
+    @Override
+    public long getTrimCount() {
+        return trims.sum();
+    }
+
+    @Override
+    public long getTrimmedBytes() {
+        return trimmedBytes.sum();
+    }
+
+    @Override
+    public void reset() {
+        grows.reset();
+        growCopiedBytes.reset();
+        shifts.reset();
+        shiftedElements.reset();
+        sorts.reset();
+        sortNanos.reset();
+        maxSortDepth.reset();
+        trims.reset();
+        trimmedBytes.reset();
+    }
+
+    @Override
+    public String toString() {
+        return "ListCounters[" + name + "]";
+    }
+}
@@ -0,0 +1,64 @@
+package example;
+
+/**
+ * Интерфейс управления {@link ListCounters}, через который счетчики видны в JMX
+ * (например, в JConsole или VisualVM) как атрибуты MBean.
+ *
+ * @author  Поляков Артур
+ */
+public interface ListCountersMXBean {
+    /**
+     * @return имя набора счетчиков
+     */
+    String getName();
+
+    /**
+     * @return сколько раз внутренний массив был увеличен
+     */
+    long getGrowCount();
+
+    /**
+     * @return сколько байт ссылок было скопировано при увеличении массива
+     */
+    long getGrowCopiedBytes();
+
+    /**
+     * @return сколько раз элементы сдвигались внутри массива
+     */
+    long getShiftCount();
+
+    /**
+     * @return сколько элементов было сдвинуто внутри массива
+     */
+    long getShiftedElements();
+
+    /**
+     * @return сколько раз выполнялась сортировка
+     */
+    long getSortCount();
+
+    /**
+     * @return суммарное время сортировок в наносекундах
+     */
+    long getSortTimeNanos();
+
+    /**
+     * @return наибольшая глубина сортировки, см. {@link ListMetrics#onSort(int, int, boolean, long)}
+     */
+    int getMaxSortDepth();
+
+    /**
+     * @return сколько раз массив был уменьшен методом {@link ArrayList#trimToSize()}
+     */
+    long getTrimCount();
+
+    /**
+     * @return сколько байт ссылок было освобождено методом {@link ArrayList#trimToSize()}
+     */
+    long getTrimmedBytes();
+
+    /**
+     * Обнуляет все счетчики
+     */
+    void reset();
+}
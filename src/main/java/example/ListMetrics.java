@@ -0,0 +1,93 @@
+package example;
+
+/**
+ * Слушатель внутренних операций {@link ArrayList}: пересоздания массива при росте и при
+ * уменьшении, сдвигов элементов и сортировок. Позволяет увидеть, как списки ведут себя
+ * в работающем приложении, не меняя код, который их использует.
+ *
+ * <p>Метрики подключаются явно: методом {@link ArrayList#setMetrics(ListMetrics)} для одного
+ * списка или {@link ArrayList#setDefaultMetrics(ListMetrics)} для всех новых списков. Пока
+ * слушатель не задан, список только проверяет поле на {@code null}, и других затрат нет.
+ * Готовые реализации - счетчики {@link ListCounters}, доступные через JMX, и события
+ * JFR {@link JfrListMetrics}; несколько слушателей объединяются методом {@link #compose}.
+ *
+ * <p>Методы вызываются синхронно в потоке, изменяющем список, поэтому должны быть быстрыми.
+ * Если один слушатель задан нескольким спискам, которые меняются из разных потоков,
+ * он должен быть потокобезопасным. Все методы по умолчанию ничего не делают.
+ *
+ * @author  Поляков Артур
+ */
+public interface ListMetrics {
+    /**
+     * Вызывается после того, как внутренний массив был заменен большим: при нехватке места
+     * или в {@link ArrayList#ensureCapacity(int)}
+     * @param oldCapacity прежний размер массива
+     * @param newCapacity новый размер массива
+     * @param copiedBytes сколько байт ссылок было скопировано в новый массив
+     */
+    default void onGrow(int oldCapacity, int newCapacity, long copiedBytes) {
+    }
+
+    /**
+     * Вызывается после сдвига элементов внутри массива при вставке или удалении в середине
+     * @param count количество сдвинутых элементов, больше нуля
+     */
+    default void onShift(int count) {
+    }
+
+    /**
+     * Вызывается после сортировки списка или его представления
+     * @param length количество отсортированных элементов
+     * @param depth глубина сортировки: для последовательной сортировки - наибольшее количество
+     * серий, одновременно ожидавших слияния, для параллельной - глубина рекурсии деления на части
+     * @param parallel {@code true}, если сортировка была параллельной
+     * @param nanos время сортировки в наносекундах
+     */
+    default void onSort(int length, int depth, boolean parallel, long nanos) {
+    }
+
+    /**
+     * Вызывается после того, как внутренний массив был заменен меньшим в {@link ArrayList#trimToSize()}
+     * @param oldCapacity прежний размер массива
+     * @param newCapacity новый размер массива
+     * @param releasedBytes на сколько байт ссылок уменьшился массив
+     */
+    default void onTrim(int oldCapacity, int newCapacity, long releasedBytes) {
+    }
+
+    /**
+     * Объединяет двух слушателей в одного, вызывающего их по очереди
+     * @param first первый слушатель
+     * @param second второй слушатель
+     * @throws NullPointerException если передан {@code null}
+     * @return слушатель, передающий каждое событие обоим
+     */
+    static ListMetrics compose(ListMetrics first, ListMetrics second) {
+        if(first == null || second == null) throw new NullPointerException();
+        return new ListMetrics() {
+            @Override
+            public void onGrow(int oldCapacity, int newCapacity, long copiedBytes) {
+                first.onGrow(oldCapacity, newCapacity, copiedBytes);
+                second.onGrow(oldCapacity, newCapacity, copiedBytes);
+            }
+
+            @Override
+            public void onShift(int count) {
+                first.onShift(count);
+                second.onShift(count);
+            }
+
+            @Override
+            public void onSort(int length, int depth, boolean parallel, long nanos) {
+                first.onSort(length, depth, parallel, nanos);
+                second.onSort(length, depth, parallel, nanos);
+            }
+
+            @Override
+            public void onTrim(int oldCapacity, int newCapacity, long releasedBytes) {
+                first.onTrim(oldCapacity, newCapacity, releasedBytes);
+                second.onTrim(oldCapacity, newCapacity, releasedBytes);
+            }
+        };
+    }
+}
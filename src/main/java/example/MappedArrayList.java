@@ -0,0 +1,420 @@
+package example;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+
+/**
+ * Динамический массив, хранящий элементы в файле, отображенном в память ({@link FileChannel#map}).
+ * Элементы кодируются с помощью {@link FixedWidthCodec}, как в {@link OffHeapArrayList}, но лежат
+ * не в буфере процесса, а в страницах файла. Поэтому список переживает перезапуск: повторное
+ * открытие файла методом {@link #open(Path, FixedWidthCodec)} только отображает его в память,
+ * не читая и не декодируя элементы, а страницы подгружаются операционной системой при первом
+ * обращении к ним.
+ *
+ * <p>Файл состоит из заголовка ({@link #HEADER_SIZE} байт: сигнатура, ширина элемента, размер
+ * области и количество элементов) и областей (region) одинакового размера, каждая из которых
+ * отображается отдельно. Так список не ограничен 2 гигабайтами одного {@link ByteBuffer}, а при
+ * добавлении в конец уже записанные элементы никогда не копируются: когда последняя область
+ * заполнена, файл увеличивается и отображается новая область. Количество элементов в областях -
+ * степень двойки, поэтому область и позиция в ней вычисляются сдвигом и маской индекса,
+ * и {@code get}, {@code set} и добавление в конец работают за O(1). Вставка и удаление в середине
+ * сдвигают все элементы правее позиции.
+ *
+ * <p>Изменения попадают в файл через страничный кэш операционной системы, поэтому видны при
+ * повторном открытии, даже если процесс завершился без {@link #close()}. Чтобы изменения
+ * гарантированно были записаны на диск (например, пережили отключение питания), нужно вызвать
+ * {@link #force()}. Байты элементов пишутся в нативном порядке; файл, записанный на машине
+ * с другим порядком байт, распознается по сигнатуре и читается в своем порядке.
+ *
+ * <p>После окончания работы список нужно закрыть методом {@link #close()}. Отображения
+ * освобождаются, когда становятся недостижимыми: явного освобождения в стандартной библиотеке
+ * Java 20 нет, а {@code MemorySegment} в ней доступен только как preview API.
+ *
+ * <p><strong>Данный класс не является потокобезапасным.</strong> Один и тот же файл
+ * не должен быть одновременно открыт несколькими списками.
+ *
+ * @param <E> Тип, которым параметризован список
+ *
+ * @author  Поляков Артур
+ */
+public class MappedArrayList<E> extends AbstractList<E> implements RandomAccess, Closeable {
+    /**
+     * Стандартный размер области: 64 мегабайта.
+     */
+    public final static int DEFAULT_REGION_SIZE = 1 << 26;
+    /**
+     * Размер заголовка файла в байтах.
+     */
+    public final static int HEADER_SIZE = 32;
+    /**
+     * Сигнатура в начале файла, "MAPL".
+     */
+    private final static int MAGIC = 0x4D41504C;
+    private final static int WIDTH_OFFSET = 4;
+    private final static int REGION_SHIFT_OFFSET = 8;
+    private final static int SIZE_OFFSET = 16;
+    /**
+     * Начальный размер массива отображенных областей.
+     */
+    private final static int DEFAULT_REGIONS_CAPACITY = 4;
+    /**
+     * Кодек, с помощью которого элементы записываются в файл.
+     */
+    private final FixedWidthCodec<E> codec;
+    /**
+     * Ширина элемента в байтах.
+     */
+    private final int width;
+    /**
+     * Порядок байт, в котором записан файл.
+     */
+    private final ByteOrder order;
+    /**
+     * Степень двойки, равная количеству элементов в области.
+     */
+    private final int regionShift;
+    /**
+     * Маска для вычисления позиции элемента в области.
+     */
+    private final int regionMask;
+    /**
+     * Канал файла. После закрытия списка равен {@code null}.
+     */
+    private FileChannel channel;
+    /**
+     * Отображение заголовка файла.
+     */
+    private MappedByteBuffer header;
+    /**
+     * Отображенные области. Области с номерами меньше {@link #regionCount} отображены,
+     * остальные ячейки равны {@code null}.
+     */
+    private MappedByteBuffer[] regions;
+    /**
+     * Количество отображенных областей.
+     */
+    private int regionCount;
+    /**
+     * Количество элементов в списке.
+     */
+    private int size;
+    /**
+     * Буфер на один элемент, в который кодируется элемент, вставляемый в середину списка.
+     */
+    private final ByteBuffer encoded;
+
+    private MappedArrayList(FileChannel channel, MappedByteBuffer header, FixedWidthCodec<E> codec, ByteOrder order,
+                            int regionShift, int size) throws IOException {
+        this.channel = channel;
+        this.header = header;
+        this.codec = codec;
+        this.width = codec.width();
+        this.order = order;
+        this.regionShift = regionShift;
+        this.regionMask = (1 << regionShift) - 1;
+        this.size = size;
+        this.encoded = ByteBuffer.allocate(width).order(order);
+        int needed = (int) (((long) size + regionMask) >>> regionShift);
+        this.regions = new MappedByteBuffer[Math.max(needed, DEFAULT_REGIONS_CAPACITY)];
+        while (regionCount < needed) {
+            mapRegion();
+        }
+    }
+
+    /**
+     * Открывает список, хранящийся в файле, либо создает новый, если файла нет или он пуст.
+     * Новый файл создается с размером области {@link #DEFAULT_REGION_SIZE}.
+     * @param path путь к файлу
+     * @param codec кодек элементов
+     * @param <E> тип элементов списка
+     * @throws NullPointerException если передан {@code null}
+     * @throws IllegalArgumentException если ширина кодека не совпадает с шириной элементов в файле
+     * @throws IOException если файл не удалось открыть или он не является файлом списка
+     * @return открытый список
+     */
+    public static <E> MappedArrayList<E> open(Path path, FixedWidthCodec<E> codec) throws IOException {
+        return open(path, codec, DEFAULT_REGION_SIZE);
+    }
+
+    /**
+     * Открывает список, хранящийся в файле, либо создает новый, если файла нет или он пуст.
+     * Размер области задается только при создании файла, у существующего файла он читается
+     * из заголовка.
+     * @param path путь к файлу
+     * @param codec кодек элементов
+     * @param regionSize размер области нового файла в байтах. Округляется вниз так, чтобы
+     * в области помещалось количество элементов, равное степени двойки
+     * @param <E> тип элементов списка
+     * @throws NullPointerException если передан {@code null}
+     * @throws IllegalArgumentException если в область не помещается ни одного элемента, либо
+     * ширина кодека не совпадает с шириной элементов в файле
+     * @throws IOException если файл не удалось открыть или он не является файлом списка
+     * @return открытый список
+     */
+    public static <E> MappedArrayList<E> open(Path path, FixedWidthCodec<E> codec, int regionSize) throws IOException {
+        if(path == null || codec == null) throw new NullPointerException();
+        int width = codec.width();
+        if(width <= 0) throw new IllegalArgumentException("codec width must be greater than zero");
+        if(regionSize < width) throw new IllegalArgumentException("region can't be smaller than codec width " + width);
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            MappedByteBuffer header;
+            ByteOrder order;
+            int regionShift;
+            int size;
+            if(channel.size() == 0) {
+                header = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE);
+                order = ByteOrder.nativeOrder();
+                header.order(order);
+                regionShift = 31 - Integer.numberOfLeadingZeros(regionSize / width);
+                size = 0;
+                header.putInt(WIDTH_OFFSET, width);
+                header.putInt(REGION_SHIFT_OFFSET, regionShift);
+                header.putLong(SIZE_OFFSET, size);
+                header.putInt(0, MAGIC);
+            } else {
+                if(channel.size() < HEADER_SIZE) throw new IOException("not a mapped list file: " + path);
+                header = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE);
+                int magic = header.order(ByteOrder.BIG_ENDIAN).getInt(0);
+                if(magic == MAGIC) {
+                    order = ByteOrder.BIG_ENDIAN;
+                } else if(magic == Integer.reverseBytes(MAGIC)) {
+                    order = ByteOrder.LITTLE_ENDIAN;
+                } else {
+                    throw new IOException("not a mapped list file: " + path);
+                }
+                header.order(order);
+                int fileWidth = header.getInt(WIDTH_OFFSET);
+                if(fileWidth != width) {
+                    throw new IllegalArgumentException("codec width " + width + " doesn't match file width " + fileWidth);
+                }
+                regionShift = header.getInt(REGION_SHIFT_OFFSET);
+                long storedSize = header.getLong(SIZE_OFFSET);
+                if(regionShift < 0 || regionShift > 30 || ((long) width << regionShift) > Integer.MAX_VALUE
+                        || storedSize < 0 || storedSize > Integer.MAX_VALUE) {
+                    throw new IOException("corrupted mapped list header: " + path);
+                }
+                size = (int) storedSize;
+            }
+            return new MappedArrayList<>(channel, header, codec, order, regionShift, size);
+        } catch (IOException | RuntimeException ex) {
+            channel.close();
+            throw ex;
+        }
+    }
+
+    /**
+     * Вставляет элемент в список в указанную позицию. Если передать индекс
+     * равный size, то элемент добавится в конец
+     * @param index позиция, куда нужно вставить элемент
+     * @param element вставляемый элемент
+     * @throws IndexOutOfBoundsException если передан индекс меньше нуля либо больше size
+     * @throws IllegalStateException если список закрыт или достигнут максимальный размер списка
+     * @throws UncheckedIOException если файл не удалось увеличить
+     */
+    @Override
+    public void add(int index, E element) {
+        ensureOpen();
+        if(index != size) checkIndex(index);
+        if(size == Integer.MAX_VALUE) throw new IllegalStateException("list size limit reached");
+        if(size == (long) regionCount << regionShift) {
+            try {
+                mapRegion();
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }
+        ByteBuffer region = regions[index >>> regionShift];
+        int offset = (index & regionMask) * width;
+        if(index == size) {
+            codec.write(region, offset, element);
+        } else {
+            // элемент кодируется до сдвига: если кодек его отвергнет, файл не изменится
+            codec.write(encoded, 0, element);
+            ChunkedBuffers.move(regions, regionShift, regionMask, width, index, index + 1, size - index);
+            region.put(offset, encoded, 0, width);
+        }
+        setSize(size + 1);
+    }
+
+    /**
+     * Добавляет элемент в конец списка
+     * @return {@code true} если элемент был добавлен
+     * @throws IllegalStateException если список закрыт или достигнут максимальный размер списка
+     * @throws UncheckedIOException если файл не удалось увеличить
+     */
+    @Override
+    public boolean add(E e) {
+        add(size, e);
+        return true;
+    }
+
+    /**
+     * Возвращает элемент по индексу, декодируя его прямо из отображения файла
+     * @param index индекс, по которому нужно найти элемент
+     * @throws IndexOutOfBoundsException если передан индекс меньше нуля либо больше size - 1
+     * @throws IllegalStateException если список закрыт
+     * @return элемент, который был найден по переданному индексу
+     */
+    @Override
+    public E get(int index) {
+        ensureOpen();
+        checkIndex(index);
+        return codec.read(regions[index >>> regionShift], (index & regionMask) * width);
+    }
+
+    /**
+     * Заменяет элемент по индексу
+     * @param index индекс, по которому нужно заменить
+     * @throws IndexOutOfBoundsException если передан индекс меньше нуля либо больше size - 1
+     * @throws IllegalStateException если список закрыт
+     * @return элемент, который был заменен
+     */
+    @Override
+    public E set(int index, E element) {
+        ensureOpen();
+        checkIndex(index);
+        ByteBuffer region = regions[index >>> regionShift];
+        int offset = (index & regionMask) * width;
+        E replaced = codec.read(region, offset);
+        codec.write(region, offset, element);
+        return replaced;
+    }
+
+    /**
+     * Удаляет элемент из списка по индексу, сдвигая все элементы справа влево на одну позицию.
+     * @param index индекс, по которому нужно удалить элемент
+     * @throws IndexOutOfBoundsException если передан индекс меньше нуля либо больше size - 1
+     * @throws IllegalStateException если список закрыт
+     * @return элемент, который был удален
+     */
+    @Override
+    public E remove(int index) {
+        ensureOpen();
+        checkIndex(index);
+        E removed = get(index);
+        ChunkedBuffers.move(regions, regionShift, regionMask, width, index + 1, index, size - (index + 1));
+        setSize(size - 1);
+        return removed;
+    }
+
+    /**
+     * Удаляет все элементы из списка. Файл не уменьшается.
+     * @throws IllegalStateException если список закрыт
+     */
+    @Override
+    public void clear() {
+        ensureOpen();
+        setSize(0);
+    }
+
+    /**
+     * Возвращает размер списка
+     * @return размер списка
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Записывает на диск все изменения областей и заголовка, сделанные с момента открытия
+     * или предыдущего вызова. После возврата из метода изменения переживут не только завершение
+     * процесса, но и сбой операционной системы.
+     * @throws IllegalStateException если список закрыт
+     */
+    public void force() {
+        ensureOpen();
+        for (int i = 0; i < regionCount; i++) {
+            regions[i].force();
+        }
+        header.force();
+    }
+
+    /**
+     * Закрывает список и файл. Изменения, которые не были записаны методом {@link #force()},
+     * остаются в страничном кэше и записываются операционной системой позже. Дальнейшие
+     * обращения к списку, кроме {@link #size()}, выбрасывают {@link IllegalStateException}.
+     * Повторный вызов ничего не делает.
+     * @throws IOException если файл не удалось закрыть
+     */
+    @Override
+    public void close() throws IOException {
+        if(channel == null) return;
+        FileChannel closing = channel;
+        channel = null;
+        header = null;
+        regions = null;
+        regionCount = 0;
+        size = 0;
+        modCount++;
+        closing.close();
+    }
+
+    /**
+     * Проверяет, закрыт ли список
+     * @return {@code true}, если список был закрыт методом {@link #close()}
+     */
+    public boolean isClosed() {
+        return channel == null;
+    }
+
+    /**
+     * Возвращает количество элементов, помещающихся в одну область
+     * @return размер области в элементах
+     */
+    public int getRegionCapacity() {
+        return 1 << regionShift;
+    }
+
+    /**
+     * Метод для проверки валидности индекса. Индекс считается валидным, если он лежит в диапазоне [0, size).
+     * @param index индекс, валидность которого нужно проверить
+     * @throws IndexOutOfBoundsException если по данному индексу нельзя получить элемент
+     */
+    private void checkIndex(int index) {
+        if(index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(String.format("Index %d out of bounds for length %d", index, size));
+        }
+    }
+
+    /**
+     * Проверяет, что список не закрыт
+     * @throws IllegalStateException если список закрыт
+     */
+    private void ensureOpen() {
+        if(channel == null) throw new IllegalStateException("list is closed");
+    }
+
+    /**
+     * Меняет количество элементов в списке и в заголовке файла
+     * @param newSize новое количество элементов
+     */
+    private void setSize(int newSize) {
+        size = newSize;
+        header.putLong(SIZE_OFFSET, newSize);
+        modCount++;
+    }
+
+    /**
+     * Отображает следующую область файла. Если файл короче, отображение его увеличивает.
+     * @throws IOException если область не удалось отобразить
+     */
+    private void mapRegion() throws IOException {
+        if(regionCount == regions.length) {
+            regions = Arrays.copyOf(regions, regionCount << 1);
+        }
+        long regionSize = (long) width << regionShift;
+        MappedByteBuffer region = channel.map(FileChannel.MapMode.READ_WRITE, HEADER_SIZE + regionCount * regionSize, regionSize);
+        region.order(order);
+        regions[regionCount++] = region;
+    }
+}
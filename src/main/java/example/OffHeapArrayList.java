@@ -0,0 +1,471 @@
+package example;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.*;
+
+/**
+ * Динамический массив, хранящий элементы вне кучи Java. Элементы кодируются с помощью
+ * {@link FixedWidthCodec} и лежат в прямых (direct) буферах {@link ByteBuffer}, поэтому
+ * сотни миллионов записей не создают объектов, которые пришлось бы обходить сборщику мусора:
+ * объекты создаются только при чтении элемента.
+ *
+ * <p>Элементы хранятся в блоках (chunk) так же, как области в {@link MappedArrayList}: количество
+ * элементов в блоке - степень двойки, и блок с позицией в нем вычисляются сдвигом и маской индекса,
+ * поэтому доступ по индексу работает за O(1). Пока список помещается в один блок, устройство
+ * повторяет {@link ArrayList}: когда буфер заполнен, выделяется новый буфер в полтора раза больше,
+ * и в него копируется содержимое старого. Когда первый блок достигает полного размера, к списку
+ * добавляются новые блоки, и уже записанные элементы больше не копируются. Поэтому список
+ * не ограничен 2 гигабайтами одного буфера: в него помещается до {@code Integer.MAX_VALUE}
+ * элементов. Вставка и удаление в середине сдвигают все элементы правее позиции.
+ *
+ * <p>После окончания работы список нужно закрыть методом {@link #close()}. После закрытия
+ * любое обращение к списку выбрасывает {@link IllegalStateException}. Память буферов, ставших
+ * ненужными при закрытии, при росте первого блока и в {@link #trimToSize()}, освобождается сразу
+ * через {@code sun.misc.Unsafe.invokeCleaner} из модуля {@code jdk.unsupported}: другого способа
+ * явно освободить прямой буфер в стандартной библиотеке Java 20 нет, а {@code Arena}
+ * и {@code MemorySegment} в ней доступны только как preview API. Если модуль недоступен,
+ * буферы освобождаются сборщиком мусора, как только становятся недостижимыми.
+ *
+ * <p><strong>Данный класс не является потокобезапасным.</strong>
+ *
+ * @param <E> Тип, которым параметризован список
+ *
+ * @author  Поляков Артур
+ */
+public class OffHeapArrayList<E> extends AbstractList<E> implements RandomAccess, AutoCloseable {
+    /**
+     * Стандартный размер блока: 16 мегабайт.
+     */
+    public final static int DEFAULT_CHUNK_SIZE = 1 << 24;
+    /**
+     * Стандартный размер буфера в элементах.
+     */
+    private final static int DEFAULT_CAPACITY = 10;
+    /**
+     * Начальный размер массива блоков.
+     */
+    private final static int DEFAULT_CHUNKS_CAPACITY = 4;
+    /**
+     * Метод, освобождающий память прямого буфера, либо {@code null}, если он недоступен.
+     */
+    private final static MethodHandle FREE = findFree();
+    /**
+     * Кодек, с помощью которого элементы записываются в буфер.
+     */
+    private final FixedWidthCodec<E> codec;
+    /**
+     * Ширина элемента в байтах.
+     */
+    private final int width;
+    /**
+     * Двоичный логарифм количества элементов в блоке.
+     */
+    private final int chunkShift;
+    /**
+     * Маска позиции элемента внутри блока.
+     */
+    private final int chunkMask;
+    /**
+     * Буфер для кодирования вставляемого элемента до сдвига элементов списка.
+     */
+    private final ByteBuffer encoded;
+    /**
+     * Блоки, в которых хранятся элементы. Используются блоки с номерами меньше {@link #chunkCount}.
+     * Все блоки, кроме первого, имеют полный размер, первый может быть меньше, только если он
+     * единственный. После закрытия списка равен {@code null}.
+     */
+    private ByteBuffer[] chunks;
+    /**
+     * Количество выделенных блоков.
+     */
+    private int chunkCount;
+    /**
+     * Суммарный размер блоков в элементах.
+     */
+    private long capacity;
+    /**
+     * Количество элементов в списке.
+     */
+    private int size;
+
+    /**
+     * Создает список с размером буфера {@link #DEFAULT_CAPACITY}
+     * @param codec кодек элементов
+     * @throws NullPointerException если передан {@code null}
+     */
+    public OffHeapArrayList(FixedWidthCodec<E> codec) {
+        this(codec, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Конструктор, позволяющий указать размер буфера
+     * @param codec кодек элементов
+     * @param initialCapacity размер буфера в элементах
+     * @throws NullPointerException если передан {@code null}
+     * @throws IllegalArgumentException если передано отрицательное значение
+     */
+    public OffHeapArrayList(FixedWidthCodec<E> codec, int initialCapacity) {
+        this(codec, initialCapacity, DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Конструктор, позволяющий указать размер буфера и размер блока
+     * @param codec кодек элементов
+     * @param initialCapacity размер буфера в элементах
+     * @param chunkSize размер блока в байтах. Округляется вниз так, чтобы в блоке помещалось
+     * количество элементов, равное степени двойки
+     * @throws NullPointerException если передан {@code null}
+     * @throws IllegalArgumentException если передано отрицательное значение, либо в блок
+     * не помещается ни одного элемента
+     */
+    public OffHeapArrayList(FixedWidthCodec<E> codec, int initialCapacity, int chunkSize) {
+        if(codec == null) throw new NullPointerException();
+        if(initialCapacity < 0) throw new IllegalArgumentException("capacity can't be lower than zero");
+        this.codec = codec;
+        this.width = codec.width();
+        if(width <= 0) throw new IllegalArgumentException("codec width must be greater than zero");
+        if(chunkSize < width) throw new IllegalArgumentException("chunk can't be smaller than codec width " + width);
+        this.chunkShift = 31 - Integer.numberOfLeadingZeros(chunkSize / width);
+        this.chunkMask = (1 << chunkShift) - 1;
+        this.encoded = ByteBuffer.allocate(width).order(ByteOrder.nativeOrder());
+        this.chunks = new ByteBuffer[DEFAULT_CHUNKS_CAPACITY];
+        int first = Math.min(initialCapacity, chunkMask + 1);
+        this.chunks[0] = allocate(first);
+        this.chunkCount = 1;
+        this.capacity = first;
+        if(initialCapacity > first) {
+            increaseBuffer(initialCapacity);
+        }
+    }
+
+    /**
+     * Вставляет элемент в список в указанную позицию. Если передать индекс
+     * равный size, то элемент добавится в конец. Элемент кодируется до сдвига,
+     * поэтому если кодек его отклонит, список не изменится.
+     * @param index позиция, куда нужно вставить элемент
+     * @param element вставляемый элемент
+     * @throws IndexOutOfBoundsException если передан индекс меньше нуля либо больше size
+     * @throws IllegalStateException если список закрыт
+     * @throws OutOfMemoryError если в списке уже {@code Integer.MAX_VALUE} элементов
+     */
+    @Override
+    public void add(int index, E element) {
+        ensureOpen();
+        if(index != size) checkIndex(index);
+        if(size == capacity) {
+            if(size == Integer.MAX_VALUE) throw new OutOfMemoryError("list size limit reached: " + Integer.MAX_VALUE);
+            increaseBuffer(size + 1);
+        }
+        ByteBuffer chunk = chunks[index >>> chunkShift];
+        int offset = (index & chunkMask) * width;
+        if(index == size) {
+            codec.write(chunk, offset, element);
+        } else {
+            codec.write(encoded, 0, element);
+            ChunkedBuffers.move(chunks, chunkShift, chunkMask, width, index, index + 1, size - index);
+            chunk.put(offset, encoded, 0, width);
+        }
+        size++;
+        modCount++;
+    }
+
+    /**
+     * Добавляет элемент в конец списка
+     * @return {@code true} если элемент был добавлен
+     * @throws IllegalStateException если список закрыт
+     */
+    @Override
+    public boolean add(E e) {
+        add(size, e);
+        return true;
+    }
+
+    /**
+     * Возвращает элемент по индексу, декодируя его из буфера
+     * @param index индекс, по которому нужно найти элемент
+     * @throws IndexOutOfBoundsException если передан индекс меньше нуля либо больше size - 1
+     * @throws IllegalStateException если список закрыт
+     * @return элемент, который был найден по переданному индексу
+     */
+    @Override
+    public E get(int index) {
+        ensureOpen();
+        checkIndex(index);
+        return read(index);
+    }
+
+    /**
+     * Заменяет элемент по индексу
+     * @param index индекс, по которому нужно заменить
+     * @throws IndexOutOfBoundsException если передан индекс меньше нуля либо больше size - 1
+     * @throws IllegalStateException если список закрыт
+     * @return элемент, который был заменен
+     */
+    @Override
+    public E set(int index, E element) {
+        ensureOpen();
+        checkIndex(index);
+        E replaced = read(index);
+        write(index, element);
+        return replaced;
+    }
+
+    /**
+     * Удаляет элемент из списка по индексу, сдвигая все элементы справа влево на одну позицию.
+     * @param index индекс, по которому нужно удалить элемент
+     * @throws IndexOutOfBoundsException если передан индекс меньше нуля либо больше size - 1
+     * @throws IllegalStateException если список закрыт
+     * @return элемент, который был удален
+     */
+    @Override
+    public E remove(int index) {
+        ensureOpen();
+        checkIndex(index);
+        E removed = read(index);
+        ChunkedBuffers.move(chunks, chunkShift, chunkMask, width, index + 1, index, size - (index + 1));
+        size--;
+        modCount++;
+        return removed;
+    }
+
+    /**
+     * Удаляет все элементы из списка. Буфер не очищается и не уменьшается.
+     * @throws IllegalStateException если список закрыт
+     */
+    @Override
+    public void clear() {
+        ensureOpen();
+        size = 0;
+        modCount++;
+    }
+
+    /**
+     * Возвращает размер списка
+     * @return размер списка
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Сортирует список с помощью переданного компаратора. Элементы декодируются
+     * в массив, сортируются и записываются в буфер обратно, поэтому на время
+     * сортировки в куче находятся все элементы списка.
+     * @param comparator компаратор, с помощью которого будет сортироваться список,
+     * {@code null} означает естественный порядок
+     * @throws IllegalStateException если список закрыт
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public void sort(Comparator<? super E> comparator) {
+        ensureOpen();
+        Object[] decoded = new Object[size];
+        for (int i = 0; i < size; i++) {
+            decoded[i] = read(i);
+        }
+        Arrays.sort(decoded, (Comparator<Object>) comparator);
+        for (int i = 0; i < size; i++) {
+            write(i, (E) decoded[i]);
+        }
+        modCount++;
+    }
+
+    /**
+     * Сортирует список в естественном порядке элементов. Ответственность за то,
+     * имплементирует ли параметризованный тип Comparable, ложится на того, кто вызывает этот метод.
+     * @throws IllegalStateException если список закрыт
+     */
+    public void sort() {
+        sort(null);
+    }
+
+    /**
+     * Увеличивает буфер до переданного количества элементов. Если
+     * переданное значение меньше размера буфера и положительно, то ничего не произойдет.
+     * @param capacity новый размер буфера в элементах
+     * @throws IllegalArgumentException если capacity меньше нуля
+     * @throws IllegalStateException если список закрыт
+     * @return {@code true}, если буфер был увеличен, {@code false} в противном случае
+     */
+    public boolean ensureCapacity(int capacity) {
+        ensureOpen();
+        if(capacity < 0) throw new IllegalArgumentException("capacity can't be lower than zero");
+        if(capacity <= this.capacity) return false;
+        increaseBuffer(capacity);
+        return true;
+    }
+
+    /**
+     * Уменьшает буфер до количества элементов в списке. Блоки, в которых не осталось элементов,
+     * освобождаются, а если список помещается в первый блок, он заменяется буфером размером
+     * со список, и в него копируются элементы. Последний занятый блок полного размера не уменьшается.
+     * @throws IllegalStateException если список закрыт
+     */
+    public void trimToSize() {
+        ensureOpen();
+        int chunkCapacity = chunkMask + 1;
+        int needed = Math.max(1, (int) (((long) size + chunkMask) >>> chunkShift));
+        while (chunkCount > needed) {
+            free(chunks[--chunkCount]);
+            chunks[chunkCount] = null;
+        }
+        if(size >= chunkCapacity) {
+            capacity = (long) chunkCount << chunkShift;
+        } else if(chunks[0].capacity() != size * width) {
+            replaceFirst(size);
+        }
+    }
+
+    /**
+     * Закрывает список и освобождает память буферов. Дальнейшие обращения к списку,
+     * кроме {@link #size()}, выбрасывают {@link IllegalStateException}.
+     * Повторный вызов ничего не делает.
+     */
+    @Override
+    public void close() {
+        if(chunks == null) return;
+        ByteBuffer[] closing = chunks;
+        int closingCount = chunkCount;
+        chunks = null;
+        chunkCount = 0;
+        capacity = 0;
+        size = 0;
+        modCount++;
+        for (int i = 0; i < closingCount; i++) {
+            free(closing[i]);
+        }
+    }
+
+    /**
+     * Проверяет, закрыт ли список
+     * @return {@code true}, если список был закрыт методом {@link #close()}
+     */
+    public boolean isClosed() {
+        return chunks == null;
+    }
+
+    /**
+     * Возвращает количество элементов, помещающихся в один блок
+     * @return размер блока в элементах
+     */
+    public int getChunkCapacity() {
+        return 1 << chunkShift;
+    }
+
+    /**
+     * Метод для проверки валидности индекса. Индекс считается валидным, если он лежит в диапазоне [0, size).
+     * @param index индекс, валидность которого нужно проверить
+     * @throws IndexOutOfBoundsException если по данному индексу нельзя получить элемент
+     */
+    private void checkIndex(int index) {
+        if(index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(String.format("Index %d out of bounds for length %d", index, size));
+        }
+    }
+
+    /**
+     * Проверяет, что список не закрыт
+     * @throws IllegalStateException если список закрыт
+     */
+    private void ensureOpen() {
+        if(chunks == null) throw new IllegalStateException("list is closed");
+    }
+
+    /**
+     * Декодирует элемент по индексу без проверок
+     * @param index индекс элемента
+     * @return элемент
+     */
+    private E read(int index) {
+        return codec.read(chunks[index >>> chunkShift], (index & chunkMask) * width);
+    }
+
+    /**
+     * Кодирует элемент по индексу без проверок
+     * @param index индекс элемента
+     * @param element записываемый элемент
+     */
+    private void write(int index, E element) {
+        codec.write(chunks[index >>> chunkShift], (index & chunkMask) * width, element);
+    }
+
+    /**
+     * Увеличивает буфер так, чтобы в нем поместилось не меньше переданного количества элементов.
+     * Пока список помещается в один блок, первый блок растет в полтора раза, как массив
+     * {@link ArrayList}; дальше добавляются блоки полного размера.
+     * @param minCapacity необходимый размер буфера в элементах
+     */
+    private void increaseBuffer(int minCapacity) {
+        int chunkCapacity = chunkMask + 1;
+        if(capacity < chunkCapacity) {
+            long grown = (capacity >> 1) + capacity + 1;
+            replaceFirst((int) Math.min(Math.max(grown, minCapacity), chunkCapacity));
+        }
+        while (capacity < minCapacity) {
+            if(chunkCount == chunks.length) {
+                chunks = Arrays.copyOf(chunks, chunkCount << 1);
+            }
+            chunks[chunkCount++] = allocate(chunkCapacity);
+            capacity += chunkCapacity;
+        }
+    }
+
+    /**
+     * Заменяет первый блок буфером переданного размера, копирует в него элементы
+     * и освобождает старый блок. Вызывается, только когда блок единственный.
+     * @param newCapacity размер нового блока в элементах, не меньше size
+     */
+    private void replaceFirst(int newCapacity) {
+        ByteBuffer first = allocate(newCapacity);
+        first.put(0, chunks[0], 0, size * width);
+        free(chunks[0]);
+        chunks[0] = first;
+        capacity = newCapacity;
+    }
+
+    /**
+     * Выделяет прямой буфер с нативным порядком байт
+     * @param capacity размер буфера в элементах
+     * @return новый буфер
+     */
+    private ByteBuffer allocate(int capacity) {
+        return ByteBuffer.allocateDirect(capacity * width).order(ByteOrder.nativeOrder());
+    }
+
+    /**
+     * Освобождает память прямого буфера, не дожидаясь сборки мусора. После вызова
+     * к буферу нельзя обращаться.
+     * @param buffer буфер, выделенный методом {@link #allocate(int)}
+     */
+    private static void free(ByteBuffer buffer) {
+        if(FREE == null) return;
+        try {
+            FREE.invokeExact(buffer);
+        } catch (Throwable e) {
+            // буфер освободит сборщик мусора
+        }
+    }
+
+    /**
+     * Ищет {@code sun.misc.Unsafe.invokeCleaner}
+     * @return метод, принимающий буфер, либо {@code null}, если он недоступен
+     */
+    private static MethodHandle findFree() {
+        try {
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            Field field = unsafeClass.getDeclaredField("theUnsafe");
+            field.setAccessible(true);
+            return MethodHandles.lookup()
+                    .findVirtual(unsafeClass, "invokeCleaner", MethodType.methodType(void.class, ByteBuffer.class))
+                    .bindTo(field.get(null));
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+}
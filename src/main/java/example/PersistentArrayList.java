@@ -0,0 +1,520 @@
+package example;
+
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * Список на основе персистентного вектора: префиксного дерева (trie) с ветвлением 32 и отдельным
+ * хвостом (tail) из последних элементов. Элементы лежат в листьях по 32 штуки, путь к элементу
+ * вычисляется по 5 битам индекса на каждый уровень, поэтому доступ по индексу работает за
+ * O(log32 n) - не больше 7 переходов для любого размера списка. Добавление в конец почти всегда
+ * пишет только в хвост и переносит его в дерево раз в 32 добавления.
+ *
+ * <p>Главное отличие от {@link ArrayList} - копирование. {@link #clone()} и {@link #snapshot()}
+ * работают за O(1): клон использует то же дерево, а при изменении копируется только путь от корня
+ * до затронутого листа (path copying) - не больше 7 массивов по 32 ссылки, а не весь список.
+ * Поэтому клон большого списка на каждую транзакцию для возможного отката почти ничего не стоит.
+ *
+ * <p>Чтобы изменения без клонов не копировали пути, каждый узел помнит владельца - список, который
+ * его создал. Узлы своего владельца список меняет на месте, как обычный массив (transient-режим),
+ * а чужие сначала копирует. При клонировании оба списка получают новых владельцев, и все узлы
+ * становятся для них чужими. Так заполнение списка и изменения между клонированиями идут со
+ * скоростью записи в массив, а копирование начинается только после клонирования.
+ *
+ * <p>Методы {@code get}, {@code set}, {@code add} и {@code removeLast} работают за O(log32 n).
+ * Вставка и удаление в середине сдвигают элементы правее позиции по одному и работают за O(n).
+ *
+ * <p><strong>Данный класс не является потокобезапасным.</strong>
+ *
+ * @param <E> Тип, которым параметризован список
+ *
+ * @author  Поляков Артур
+ */
+public class PersistentArrayList<E> extends AbstractList<E> implements RandomAccess, Cloneable {
+    /**
+     * Количество бит индекса, приходящихся на один уровень дерева.
+     */
+    private final static int BITS = 5;
+    /**
+     * Ветвление дерева и размер листа.
+     */
+    private final static int WIDTH = 1 << BITS;
+    /**
+     * Маска для вычисления позиции в узле.
+     */
+    private final static int MASK = WIDTH - 1;
+    /**
+     * Корень дерева. Содержит все элементы, кроме хвоста.
+     */
+    private Node root;
+    /**
+     * Последние элементы списка, от 1 до {@link #WIDTH} штук, если список не пуст.
+     */
+    private Object[] tail;
+    /**
+     * Признак того, что хвост используется еще одним списком и перед изменением его нужно скопировать.
+     */
+    private boolean tailShared;
+    /**
+     * Сдвиг индекса на верхнем уровне дерева. Равен {@link #BITS} умноженному на глубину дерева.
+     */
+    private int shift;
+    /**
+     * Количество элементов в списке.
+     */
+    private int size;
+    /**
+     * Владелец узлов, которые список может менять на месте. Меняется при каждом клонировании.
+     */
+    private Object owner;
+
+    /**
+     * Создает пустой список
+     */
+    public PersistentArrayList() {
+        owner = new Object();
+        root = new Node(owner);
+        tail = new Object[WIDTH];
+        shift = BITS;
+    }
+
+    /**
+     * Создает список на основе другой коллекции
+     * @param c коллекция, на основе которой нужно создать список
+     * @throws NullPointerException если передан {@code null}
+     */
+    public PersistentArrayList(Collection<? extends E> c) {
+        this();
+        appendAll(c);
+    }
+
+    /**
+     * Узел дерева. Во внутренних узлах массив содержит дочерние узлы, в листьях - элементы списка.
+     */
+    private static final class Node {
+        /**
+         * Список-владелец, которому разрешено менять узел на месте.
+         */
+        final Object owner;
+        /**
+         * Дочерние узлы или элементы списка.
+         */
+        final Object[] array;
+
+        Node(Object owner) {
+            this(owner, new Object[WIDTH]);
+        }
+
+        Node(Object owner, Object[] array) {
+            this.owner = owner;
+            this.array = array;
+        }
+    }
+
+    /**
+     * Возвращает элемент по индексу
+     * @param index индекс элемента
+     * @throws IndexOutOfBoundsException если передан индекс меньше нуля либо больше size - 1
+     * @return элемент по индексу
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public E get(int index) {
+        checkIndex(index);
+        return (E) leafFor(index)[index & MASK];
+    }
+
+    /**
+     * Заменяет элемент по индексу. Если узлы на пути к элементу используются клоном,
+     * они копируются, остальное дерево остается общим.
+     * @param index индекс элемента
+     * @param element новый элемент
+     * @throws IndexOutOfBoundsException если передан индекс меньше нуля либо больше size - 1
+     * @return замененный элемент
+     */
+    @Override
+    public E set(int index, E element) {
+        checkIndex(index);
+        Object[] leaf;
+        if(index >= tailOffset()) {
+            leaf = editableTail();
+        } else {
+            root = editable(root);
+            Node node = root;
+            for (int level = shift; level > 0; level -= BITS) {
+                int child = (index >>> level) & MASK;
+                Node next = editable((Node) node.array[child]);
+                node.array[child] = next;
+                node = next;
+            }
+            leaf = node.array;
+        }
+        @SuppressWarnings("unchecked")
+        E replaced = (E) leaf[index & MASK];
+        leaf[index & MASK] = element;
+        return replaced;
+    }
+
+    /**
+     * Добавляет элемент в конец списка. Когда хвост заполнен, он целиком переносится в дерево
+     * как новый лист, и элементы при этом не копируются.
+     * @param e добавляемый элемент
+     * @throws IllegalStateException если достигнут максимальный размер списка
+     * @return {@code true}
+     */
+    @Override
+    public boolean add(E e) {
+        if(size == Integer.MAX_VALUE) throw new IllegalStateException("list is too large");
+        int tailSize = size - tailOffset();
+        if(tailSize < WIDTH) {
+            editableTail()[tailSize] = e;
+        } else {
+            pushTail();
+            tail[0] = e;
+        }
+        size++;
+        modCount++;
+        return true;
+    }
+
+    /**
+     * Вставляет элемент в список в указанную позицию, сдвигая элементы справа на одну позицию.
+     * Если передать индекс равный size, то элемент добавится в конец
+     * @param index позиция, куда нужно вставить элемент
+     * @param element вставляемый элемент
+     * @throws IndexOutOfBoundsException если передан индекс меньше нуля либо больше size
+     */
+    @Override
+    public void add(int index, E element) {
+        if(index != size) checkIndex(index);
+        if(index == size) {
+            add(element);
+            return;
+        }
+        add(get(size - 1));
+        for (int i = size - 2; i > index; i--) {
+            set(i, get(i - 1));
+        }
+        set(index, element);
+    }
+
+    /**
+     * Добавляет все элементы из переданной коллекции в конец списка. Элементы копируются
+     * в хвост целыми блоками, поэтому заполнение списка идет со скоростью копирования массива.
+     * @param c коллекция, из которой будут браться элементы
+     * @throws NullPointerException если передан {@code null}
+     * @throws IllegalStateException если достигнут максимальный размер списка
+     * @return {@code true} если был добавлен хотя бы один элемент, в противном случае {@code false}
+     */
+    @Override
+    public boolean addAll(Collection<? extends E> c) {
+        return appendAll(c);
+    }
+
+    /**
+     * Добавляет элементы коллекции в конец списка. Общая часть {@link #addAll(Collection)}
+     * и конструктора, которая не может быть переопределена подклассом.
+     * @param c коллекция, из которой будут браться элементы
+     * @throws NullPointerException если передан {@code null}
+     * @throws IllegalStateException если достигнут максимальный размер списка
+     * @return {@code true} если был добавлен хотя бы один элемент, в противном случае {@code false}
+     */
+    private boolean appendAll(Collection<? extends E> c) {
+        if(c == null) throw new NullPointerException();
+        Object[] source = c.toArray();
+        if(source.length == 0) return false;
+        if(size + source.length < 0) throw new IllegalStateException("list is too large");
+        int copied = 0;
+        while (copied < source.length) {
+            int tailSize = size - tailOffset();
+            if(tailSize == WIDTH) {
+                pushTail();
+                tailSize = 0;
+            }
+            int count = Math.min(WIDTH - tailSize, source.length - copied);
+            System.arraycopy(source, copied, editableTail(), tailSize, count);
+            copied += count;
+            size += count;
+        }
+        modCount++;
+        return true;
+    }
+
+    /**
+     * Удаляет элемент по индексу, сдвигая элементы справа на одну позицию влево.
+     * @param index индекс удаляемого элемента
+     * @throws IndexOutOfBoundsException если передан индекс меньше нуля либо больше size - 1
+     * @return удаленный элемент
+     */
+    @Override
+    public E remove(int index) {
+        checkIndex(index);
+        E removed = get(index);
+        for (int i = index; i < size - 1; i++) {
+            set(i, get(i + 1));
+        }
+        removeLast();
+        return removed;
+    }
+
+    /**
+     * Удаляет последний элемент списка. Если хвост становится пустым, его место занимает
+     * последний лист дерева.
+     * @throws NoSuchElementException если список пуст
+     * @return удаленный элемент
+     */
+    public E removeLast() {
+        if(size == 0) throw new NoSuchElementException();
+        int tailOffset = tailOffset();
+        int last = size - 1 - tailOffset;
+        @SuppressWarnings("unchecked")
+        E removed = (E) tail[last];
+        if(last > 0 || size == 1) {
+            editableTail()[last] = null;
+        } else {
+            Node leaf = leafNode(size - 2);
+            tail = leaf.array;
+            tailShared = leaf.owner != owner;
+            Node newRoot = popTail(shift, root);
+            if(newRoot == null) {
+                newRoot = new Node(owner);
+            }
+            if(shift > BITS && newRoot.array[1] == null) {
+                newRoot = (Node) newRoot.array[0];
+                shift -= BITS;
+            }
+            root = newRoot;
+        }
+        size--;
+        modCount++;
+        return removed;
+    }
+
+    /**
+     * Удаляет все элементы из списка. Клоны списка не затрагиваются.
+     */
+    @Override
+    public void clear() {
+        root = new Node(owner);
+        tail = new Object[WIDTH];
+        tailShared = false;
+        shift = BITS;
+        size = 0;
+        modCount++;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Выполняет действие для каждого элемента списка, обходя листья дерева целиком,
+     * а не спускаясь от корня для каждого индекса.
+     * @param action действие
+     * @throws NullPointerException если передан {@code null}
+     * @throws ConcurrentModificationException если список был изменен во время обхода
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public void forEach(Consumer<? super E> action) {
+        if(action == null) throw new NullPointerException();
+        int expectedModCount = modCount;
+        int size = this.size;
+        for (int i = 0; i < size; i += WIDTH) {
+            Object[] leaf = leafFor(i);
+            int end = Math.min(WIDTH, size - i);
+            for (int j = 0; j < end; j++) {
+                action.accept((E) leaf[j]);
+            }
+        }
+        if(modCount != expectedModCount) throw new ConcurrentModificationException();
+    }
+
+    @Override
+    public Object[] toArray() {
+        Object[] result = new Object[size];
+        for (int i = 0; i < size; i += WIDTH) {
+            System.arraycopy(leafFor(i), 0, result, i, Math.min(WIDTH, size - i));
+        }
+        return result;
+    }
+
+    /**
+     * Клонирует список за O(1). Клон использует то же дерево и хвост, а оба списка получают
+     * новых владельцев, поэтому любое последующее изменение каждого из них копирует только путь
+     * от корня до затронутого листа.
+     * @return клон данного списка
+     */
+    @Override
+    public PersistentArrayList<E> clone() {
+        try {
+            @SuppressWarnings("unchecked")
+            PersistentArrayList<E> clone = (PersistentArrayList<E>) super.clone();
+            owner = new Object();
+            clone.owner = new Object();
+            tailShared = true;
+            clone.tailShared = true;
+            return clone;
+        } catch (CloneNotSupportedException ex) {
+            throw new InternalError();
+        }
+    }
+
+    /**
+     * Возвращает неизменяемый снимок списка за O(1). Снимок - это клон, закрытый от изменений:
+     * последующие изменения списка копируют затронутые пути и снимок не меняют.
+     * Методы изменения снимка выбрасывают {@link UnsupportedOperationException}.
+     * @return неизменяемый снимок текущего состояния списка
+     */
+    public List<E> snapshot() {
+        return Collections.unmodifiableList(clone());
+    }
+
+    /**
+     * Возвращает индекс первого элемента хвоста
+     * @return количество элементов в дереве
+     */
+    private int tailOffset() {
+        return size < WIDTH ? 0 : ((size - 1) >>> BITS) << BITS;
+    }
+
+    /**
+     * Возвращает массив, в котором лежит элемент с переданным индексом: хвост или лист дерева
+     * @param index индекс элемента, меньше size
+     * @return хвост или массив листа
+     */
+    private Object[] leafFor(int index) {
+        if(index >= tailOffset()) {
+            return tail;
+        }
+        return leafNode(index).array;
+    }
+
+    /**
+     * Спускается от корня до листа, в котором лежит элемент с переданным индексом
+     * @param index индекс элемента в дереве, меньше {@link #tailOffset()}
+     * @return лист
+     */
+    private Node leafNode(int index) {
+        Node node = root;
+        for (int level = shift; level > 0; level -= BITS) {
+            node = (Node) node.array[(index >>> level) & MASK];
+        }
+        return node;
+    }
+
+    /**
+     * Возвращает узел, который можно менять на месте: сам узел, если он принадлежит
+     * этому списку, иначе его копию.
+     * @param node узел дерева
+     * @return узел, принадлежащий этому списку
+     */
+    private Node editable(Node node) {
+        return node.owner == owner ? node : new Node(owner, node.array.clone());
+    }
+
+    /**
+     * Возвращает хвост, который можно менять на месте, копируя его, если он общий с клоном
+     * @return хвост
+     */
+    private Object[] editableTail() {
+        if(tailShared) {
+            tail = tail.clone();
+            tailShared = false;
+        }
+        return tail;
+    }
+
+    /**
+     * Переносит заполненный хвост в дерево новым листом и создает пустой хвост.
+     * Если в дереве нет места, над корнем добавляется новый уровень. Хвост, общий с клоном,
+     * становится листом без владельца, чтобы следующее изменение скопировало его.
+     */
+    private void pushTail() {
+        Node leaf = new Node(tailShared ? null : owner, tail);
+        if((size >>> BITS) > (1 << shift)) {
+            Node newRoot = new Node(owner);
+            newRoot.array[0] = root;
+            newRoot.array[1] = newPath(shift, leaf);
+            root = newRoot;
+            shift += BITS;
+        } else {
+            root = pushTail(shift, root, leaf);
+        }
+        tail = new Object[WIDTH];
+        tailShared = false;
+    }
+
+    /**
+     * Вставляет лист в крайнюю правую позицию поддерева, копируя чужие узлы на пути
+     * @param level сдвиг индекса на уровне узла
+     * @param parent корень поддерева
+     * @param leaf вставляемый лист
+     * @return корень поддерева после вставки
+     */
+    private Node pushTail(int level, Node parent, Node leaf) {
+        Node result = editable(parent);
+        int child = ((size - 1) >>> level) & MASK;
+        Node inserted;
+        if(level == BITS) {
+            inserted = leaf;
+        } else {
+            Node next = (Node) parent.array[child];
+            inserted = next != null ? pushTail(level - BITS, next, leaf) : newPath(level - BITS, leaf);
+        }
+        result.array[child] = inserted;
+        return result;
+    }
+
+    /**
+     * Создает цепочку узлов от указанного уровня до листа
+     * @param level сдвиг индекса на верхнем уровне цепочки
+     * @param leaf лист в конце цепочки
+     * @return верхний узел цепочки
+     */
+    private Node newPath(int level, Node leaf) {
+        if(level == 0) {
+            return leaf;
+        }
+        Node node = new Node(owner);
+        node.array[0] = newPath(level - BITS, leaf);
+        return node;
+    }
+
+    /**
+     * Удаляет крайний правый лист поддерева, копируя чужие узлы на пути
+     * @param level сдвиг индекса на уровне узла
+     * @param node корень поддерева
+     * @return корень поддерева после удаления или {@code null}, если поддерево стало пустым
+     */
+    private Node popTail(int level, Node node) {
+        int child = ((size - 2) >>> level) & MASK;
+        if(level > BITS) {
+            Node next = popTail(level - BITS, (Node) node.array[child]);
+            if(next == null && child == 0) {
+                return null;
+            }
+            Node result = editable(node);
+            result.array[child] = next;
+            return result;
+        }
+        if(child == 0) {
+            return null;
+        }
+        Node result = editable(node);
+        result.array[child] = null;
+        return result;
+    }
+
+    /**
+     * Проверяет индекс на выход за границы списка
+     * @param index проверяемый индекс
+     * @throws IndexOutOfBoundsException если индекс меньше нуля либо больше size - 1
+     */
+    private void checkIndex(int index) {
+        if(index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(String.format("Index %d out of bounds for length %d", index, size));
+        }
+    }
+}
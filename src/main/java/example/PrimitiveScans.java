@@ -0,0 +1,129 @@
+package example;
+
+/**
+ * Операции просмотра и агрегации диапазонов примитивных массивов: поиск значения, минимум, максимум,
+ * сумма и подсчет значений в интервале. Используются списками {@link IntArrayList},
+ * {@link LongArrayList} и {@link DoubleArrayList}.
+ *
+ * <p>Есть две реализации. Скалярная ({@link #scalar()}) обрабатывает по одному элементу
+ * за итерацию и работает на любой виртуальной машине. Векторная использует SIMD-инструкции
+ * процессора через модуль {@code jdk.incubator.vector} и собирается профилем {@code vector}.
+ * Метод {@link #preferred()} возвращает векторную реализацию, если она есть в classpath и модуль
+ * подключен при запуске ({@code --add-modules jdk.incubator.vector}), иначе скалярную.
+ * Выбор можно переопределить системным свойством {@code example.scans=scalar}.
+ *
+ * <p>Диапазоны задаются как [from, to) и не проверяются: вызывающий код отвечает за их корректность.
+ * Сравнение {@code double} при поиске выполняется как в {@link Double#compare(double, double)}:
+ * {@code NaN} равен {@code NaN}, а {@code -0.0} не равен {@code 0.0}. Сумма {@code double} в векторной
+ * реализации складывается в другом порядке, поэтому может отличаться от скалярной в последних битах.
+ *
+ * @author  Поляков Артур
+ */
+public interface PrimitiveScans {
+    /**
+     * Возвращает скалярную реализацию
+     * @return скалярная реализация
+     */
+    static PrimitiveScans scalar() {
+        return ScalarScans.INSTANCE;
+    }
+
+    /**
+     * Возвращает самую быструю реализацию, доступную в текущей виртуальной машине
+     * @return векторная реализация, если она доступна, иначе скалярная
+     */
+    static PrimitiveScans preferred() {
+        return ScalarScans.Preferred.INSTANCE;
+    }
+
+    /**
+     * Ищет первое вхождение значения
+     * @return индекс в массиве либо -1
+     */
+    int indexOf(int[] array, int from, int to, int value);
+
+    /**
+     * Ищет первое вхождение значения
+     * @return индекс в массиве либо -1
+     */
+    int indexOf(long[] array, int from, int to, long value);
+
+    /**
+     * Ищет первое вхождение значения, сравнивая как {@link Double#compare(double, double)}
+     * @return индекс в массиве либо -1
+     */
+    int indexOf(double[] array, int from, int to, double value);
+
+    /**
+     * Минимум непустого диапазона
+     * @return минимальное значение
+     */
+    int min(int[] array, int from, int to);
+
+    /**
+     * Минимум непустого диапазона
+     * @return минимальное значение
+     */
+    long min(long[] array, int from, int to);
+
+    /**
+     * Минимум непустого диапазона по правилам {@link Math#min(double, double)}
+     * @return минимальное значение
+     */
+    double min(double[] array, int from, int to);
+
+    /**
+     * Максимум непустого диапазона
+     * @return максимальное значение
+     */
+    int max(int[] array, int from, int to);
+
+    /**
+     * Максимум непустого диапазона
+     * @return максимальное значение
+     */
+    long max(long[] array, int from, int to);
+
+    /**
+     * Максимум непустого диапазона по правилам {@link Math#max(double, double)}
+     * @return максимальное значение
+     */
+    double max(double[] array, int from, int to);
+
+    /**
+     * Сумма диапазона. Складывается в {@code long}, поэтому не переполняется
+     * для любого количества элементов {@code int}
+     * @return сумма
+     */
+    long sum(int[] array, int from, int to);
+
+    /**
+     * Сумма диапазона с переполнением, как у сложения {@code long}
+     * @return сумма
+     */
+    long sum(long[] array, int from, int to);
+
+    /**
+     * Сумма диапазона
+     * @return сумма
+     */
+    double sum(double[] array, int from, int to);
+
+    /**
+     * Подсчитывает значения, лежащие в интервале [low, high]
+     * @return количество значений
+     */
+    int countInRange(int[] array, int from, int to, int low, int high);
+
+    /**
+     * Подсчитывает значения, лежащие в интервале [low, high]
+     * @return количество значений
+     */
+    int countInRange(long[] array, int from, int to, long low, long high);
+
+    /**
+     * Подсчитывает значения, лежащие в интервале [low, high]. {@code NaN} не попадает ни в какой интервал
+     * @return количество значений
+     */
+    int countInRange(double[] array, int from, int to, double low, double high);
+}
@@ -0,0 +1,177 @@
+package example;
+
+/**
+ * Скалярная реализация {@link PrimitiveScans}: обычные циклы по одному элементу.
+ * Также отвечает за выбор реализации для {@link PrimitiveScans#preferred()}.
+ *
+ * @author  Поляков Артур
+ */
+final class ScalarScans implements PrimitiveScans {
+    /**
+     * Единственный экземпляр.
+     */
+    static final ScalarScans INSTANCE = new ScalarScans();
+    /**
+     * Имя класса векторной реализации, который есть в classpath только при сборке с профилем {@code vector}.
+     */
+    private static final String VECTORIZED_CLASS = "example.VectorizedScans";
+
+    private ScalarScans() {}
+
+    /**
+     * Реализация, выбранная для {@link PrimitiveScans#preferred()}. Вынесена в отдельный класс,
+     * чтобы векторная реализация загружалась только при первом обращении.
+     */
+    static final class Preferred {
+        static final PrimitiveScans INSTANCE = load();
+
+        /**
+         * Загружает векторную реализацию. Если класса нет, модуль {@code jdk.incubator.vector}
+         * не подключен либо реализация не смогла инициализироваться, возвращает скалярную.
+         * @return выбранная реализация
+         */
+        private static PrimitiveScans load() {
+            if("scalar".equals(System.getProperty("example.scans"))) return ScalarScans.INSTANCE;
+            try {
+                return (PrimitiveScans) Class.forName(VECTORIZED_CLASS).getDeclaredConstructor().newInstance();
+            } catch (ReflectiveOperationException | LinkageError | RuntimeException e) {
+                return ScalarScans.INSTANCE;
+            }
+        }
+    }
+
+    @Override
+    public int indexOf(int[] array, int from, int to, int value) {
+        for (int i = from; i < to; i++) {
+            if(array[i] == value) return i;
+        }
+        return -1;
+    }
+
+    @Override
+    public int indexOf(long[] array, int from, int to, long value) {
+        for (int i = from; i < to; i++) {
+            if(array[i] == value) return i;
+        }
+        return -1;
+    }
+
+    @Override
+    public int indexOf(double[] array, int from, int to, double value) {
+        for (int i = from; i < to; i++) {
+            if(Double.compare(array[i], value) == 0) return i;
+        }
+        return -1;
+    }
+
+    @Override
+    public int min(int[] array, int from, int to) {
+        int min = array[from];
+        for (int i = from + 1; i < to; i++) {
+            min = Math.min(min, array[i]);
+        }
+        return min;
+    }
+
+    @Override
+    public long min(long[] array, int from, int to) {
+        long min = array[from];
+        for (int i = from + 1; i < to; i++) {
+            min = Math.min(min, array[i]);
+        }
+        return min;
+    }
+
+    @Override
+    public double min(double[] array, int from, int to) {
+        double min = array[from];
+        for (int i = from + 1; i < to; i++) {
+            min = Math.min(min, array[i]);
+        }
+        return min;
+    }
+
+    @Override
+    public int max(int[] array, int from, int to) {
+        int max = array[from];
+        for (int i = from + 1; i < to; i++) {
+            max = Math.max(max, array[i]);
+        }
+        return max;
+    }
+
+    @Override
+    public long max(long[] array, int from, int to) {
+        long max = array[from];
+        for (int i = from + 1; i < to; i++) {
+            max = Math.max(max, array[i]);
+        }
+        return max;
+    }
+
+    @Override
+    public double max(double[] array, int from, int to) {
+        double max = array[from];
+        for (int i = from + 1; i < to; i++) {
+            max = Math.max(max, array[i]);
+        }
+        return max;
+    }
+
+    @Override
+    public long sum(int[] array, int from, int to) {
+        long sum = 0;
+        for (int i = from; i < to; i++) {
+            sum += array[i];
+        }
+        return sum;
+    }
+
+    @Override
+    public long sum(long[] array, int from, int to) {
+        long sum = 0;
+        for (int i = from; i < to; i++) {
+            sum += array[i];
+        }
+        return sum;
+    }
+
+    @Override
+    public double sum(double[] array, int from, int to) {
+        double sum = 0;
+        for (int i = from; i < to; i++) {
+            sum += array[i];
+        }
+        return sum;
+    }
+
+    @Override
+    public int countInRange(int[] array, int from, int to, int low, int high) {
+        int count = 0;
+        for (int i = from; i < to; i++) {
+            int value = array[i];
+            if(value >= low && value <= high) count++;
+        }
+        return count;
+    }
+
+    @Override
+    public int countInRange(long[] array, int from, int to, long low, long high) {
+        int count = 0;
+        for (int i = from; i < to; i++) {
+            long value = array[i];
+            if(value >= low && value <= high) count++;
+        }
+        return count;
+    }
+
+    @Override
+    public int countInRange(double[] array, int from, int to, double low, double high) {
+        int count = 0;
+        for (int i = from; i < to; i++) {
+            double value = array[i];
+            if(value >= low && value <= high) count++;
+        }
+        return count;
+    }
+}
@@ -0,0 +1,454 @@
+package example;
+
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * Динамический массив для очень больших списков. В отличие от {@link ArrayList}, элементы
+ * хранятся не в одном массиве, а в блоках (chunk) одинакового размера, равного степени двойки.
+ * Номер блока и позиция в нем вычисляются сдвигом и маской индекса, поэтому доступ по индексу
+ * по-прежнему работает за O(1).
+ *
+ * <p>При добавлении в конец уже записанные элементы никогда не копируются: когда последний блок
+ * заполнен, создается новый блок. Копируется только каталог блоков - массив ссылок на блоки,
+ * который в {@code chunkSize} раз меньше списка. Так пропадают выделения огромных массивов
+ * (humongous-объекты в G1), пиковое потребление памяти при росте не удваивается, а паузы
+ * на копирование не растут вместе со списком.
+ *
+ * <p>Вставка и удаление в середине, как и в {@link ArrayList}, сдвигают все элементы правее
+ * позиции вставки, но блоки при этом не освобождаются. Освободить блоки, оставшиеся пустыми
+ * после удалений, можно методом {@link #compact()}.
+ *
+ * <p><strong>Данный класс не является потокобезапасным.</strong>
+ *
+ * @param <E> Тип, которым параметризован список
+ *
+ * @author  Поляков Артур
+ */
+public class SegmentedArrayList<E> extends AbstractList<E> implements RandomAccess {
+    /**
+     * Стандартный размер блока: 4096 элементов, т.е. 16 или 32 килобайта ссылок.
+     */
+    public final static int DEFAULT_CHUNK_SIZE = 1 << 12;
+    /**
+     * Стандартный размер каталога блоков.
+     */
+    private final static int DEFAULT_DIRECTORY_CAPACITY = 4;
+    /**
+     * Максимальный размер списка.
+     */
+    private final static int MAX_SIZE = GrowthPolicy.MAX_CAPACITY;
+    /**
+     * Степень двойки, равная размеру блока.
+     */
+    private final int shift;
+    /**
+     * Маска для вычисления позиции элемента в блоке.
+     */
+    private final int mask;
+    /**
+     * Каталог блоков. Блоки с номерами меньше {@link #chunkCount} созданы,
+     * остальные ячейки равны {@code null}.
+     */
+    private Object[][] chunks;
+    /**
+     * Количество созданных блоков.
+     */
+    private int chunkCount;
+    /**
+     * Количество элементов в списке.
+     */
+    private int size;
+
+    /**
+     * Создает пустой список с размером блока {@link #DEFAULT_CHUNK_SIZE}
+     */
+    public SegmentedArrayList() {
+        this(DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Конструктор, позволяющий указать размер блока
+     * @param chunkSize размер блока, степень двойки
+     * @throws IllegalArgumentException если chunkSize не является положительной степенью двойки
+     */
+    public SegmentedArrayList(int chunkSize) {
+        if(chunkSize <= 0 || Integer.bitCount(chunkSize) != 1) {
+            throw new IllegalArgumentException("chunk size must be a positive power of two");
+        }
+        this.shift = Integer.numberOfTrailingZeros(chunkSize);
+        this.mask = chunkSize - 1;
+        this.chunks = new Object[DEFAULT_DIRECTORY_CAPACITY][];
+    }
+
+    /**
+     * Создает список на основе другой коллекции с размером блока {@link #DEFAULT_CHUNK_SIZE}
+     * @param c коллекция, на основе которой нужно создать список
+     * @throws NullPointerException если передан {@code null}
+     */
+    public SegmentedArrayList(Collection<? extends E> c) {
+        this(DEFAULT_CHUNK_SIZE);
+        insertAll(0, c);
+    }
+
+    /**
+     * Добавляет элемент в конец списка. Уже записанные элементы не копируются.
+     * @param e добавляемый элемент
+     * @throws IllegalStateException если достигнут максимальный размер списка
+     * @return {@code true}
+     */
+    @Override
+    public boolean add(E e) {
+        ensureCapacityInternal(size + 1);
+        chunks[size >>> shift][size & mask] = e;
+        size++;
+        modCount++;
+        return true;
+    }
+
+    /**
+     * Вставляет элемент в список в указанную позицию, сдвигая элементы справа на одну позицию.
+     * Если передать индекс равный size, то элемент добавится в конец
+     * @param index позиция, куда нужно вставить элемент
+     * @param element вставляемый элемент
+     * @throws IndexOutOfBoundsException если передан индекс меньше нуля либо больше size
+     * @throws IllegalStateException если достигнут максимальный размер списка
+     */
+    @Override
+    public void add(int index, E element) {
+        if(index != size) checkIndex(index);
+        ensureCapacityInternal(size + 1);
+        move(index, index + 1, size - index);
+        chunks[index >>> shift][index & mask] = element;
+        size++;
+        modCount++;
+    }
+
+    /**
+     * Добавляет все элементы из переданной коллекции в конец списка. Элементы копируются
+     * в блоки частями, по одному вызову {@link System#arraycopy} на блок.
+     * @param c коллекция, из которой будут браться элементы
+     * @throws NullPointerException если передан {@code null}
+     * @throws IllegalStateException если достигнут максимальный размер списка
+     * @return {@code true} если был добавлен хотя бы один элемент, в противном случае {@code false}
+     */
+    @Override
+    public boolean addAll(Collection<? extends E> c) {
+        return insertAll(size, c);
+    }
+
+    /**
+     * Вставляет все элементы коллекции в указанную позицию. Элементы правее позиции сдвигаются
+     * один раз на размер коллекции, а не на один элемент для каждого вставляемого,
+     * поэтому сложность O(n + m) вместо O(n * m).
+     * @param index позиция, куда нужно вставить элементы
+     * @param c коллекция, из которой будут браться элементы
+     * @throws NullPointerException если передан {@code null}
+     * @throws IndexOutOfBoundsException если передан индекс меньше нуля либо больше size
+     * @throws IllegalStateException если достигнут максимальный размер списка
+     * @return {@code true} если был добавлен хотя бы один элемент, в противном случае {@code false}
+     */
+    @Override
+    public boolean addAll(int index, Collection<? extends E> c) {
+        if(index != size) checkIndex(index);
+        return insertAll(index, c);
+    }
+
+    /**
+     * Вставляет элементы коллекции в указанную позицию. Общая часть методов addAll
+     * и конструктора, которая не может быть переопределена подклассом. Коллекция копируется
+     * в массив до сдвига, т.к. она может быть представлением данного списка.
+     * @param index позиция, куда нужно вставить элементы, уже проверенная
+     * @param c коллекция, из которой будут браться элементы
+     * @throws NullPointerException если передан {@code null}
+     * @throws IllegalStateException если достигнут максимальный размер списка
+     * @return {@code true} если был добавлен хотя бы один элемент, в противном случае {@code false}
+     */
+    private boolean insertAll(int index, Collection<? extends E> c) {
+        if(c == null) throw new NullPointerException();
+        Object[] array = c.toArray();
+        int count = array.length;
+        if(count == 0) return false;
+        if(count > MAX_SIZE - size) throw new IllegalStateException("list size limit reached: " + MAX_SIZE);
+        ensureCapacityInternal(size + count);
+        move(index, index + count, size - index);
+        int copied = 0;
+        while (copied < count) {
+            int position = index + copied;
+            int offset = position & mask;
+            int length = Math.min(count - copied, mask + 1 - offset);
+            System.arraycopy(array, copied, chunks[position >>> shift], offset, length);
+            copied += length;
+        }
+        size += count;
+        modCount++;
+        return true;
+    }
+
+    /**
+     * Возвращает элемент по индексу
+     * @param index индекс, по которому нужно найти элемент
+     * @throws IndexOutOfBoundsException если передан индекс меньше нуля либо больше size - 1
+     * @return элемент, который был найден по переданному индексу
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public E get(int index) {
+        checkIndex(index);
+        return (E) chunks[index >>> shift][index & mask];
+    }
+
+    /**
+     * Заменяет элемент по индексу
+     * @param index индекс, по которому нужно заменить
+     * @param element новый элемент
+     * @throws IndexOutOfBoundsException если передан индекс меньше нуля либо больше size - 1
+     * @return элемент, который был заменен
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public E set(int index, E element) {
+        checkIndex(index);
+        Object[] chunk = chunks[index >>> shift];
+        E replaced = (E) chunk[index & mask];
+        chunk[index & mask] = element;
+        return replaced;
+    }
+
+    /**
+     * Удаляет элемент из списка по индексу, сдвигая все элементы справа влево на одну позицию.
+     * Опустевший блок не освобождается, для этого есть метод {@link #compact()}.
+     * @param index индекс, по которому нужно удалить элемент
+     * @throws IndexOutOfBoundsException если передан индекс меньше нуля либо больше size - 1
+     * @return элемент, который был удален
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public E remove(int index) {
+        checkIndex(index);
+        E removed = (E) chunks[index >>> shift][index & mask];
+        move(index + 1, index, size - (index + 1));
+        size--;
+        chunks[size >>> shift][size & mask] = null;
+        modCount++;
+        return removed;
+    }
+
+    /**
+     * Удаляет элементы в диапазоне [fromIndex, toIndex) одним сдвигом хвоста
+     * @param fromIndex индекс первого удаляемого элемента
+     * @param toIndex индекс, следующий за последним удаляемым элементом
+     */
+    @Override
+    protected void removeRange(int fromIndex, int toIndex) {
+        int count = toIndex - fromIndex;
+        if(count <= 0) return;
+        move(toIndex, fromIndex, size - toIndex);
+        fill(size - count, size);
+        size -= count;
+        modCount++;
+    }
+
+    /**
+     * Удаляет все элементы из списка. Блоки не освобождаются, но очищаются,
+     * чтобы не удерживать ссылки на элементы.
+     */
+    @Override
+    public void clear() {
+        fill(0, size);
+        size = 0;
+        modCount++;
+    }
+
+    /**
+     * Возвращает размер списка
+     * @return размер списка
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Выполняет действие для каждого элемента, обходя блоки напрямую без вычисления
+     * номера блока для каждого индекса.
+     * @param action действие
+     * @throws NullPointerException если передан {@code null}
+     * @throws ConcurrentModificationException если список был изменен во время обхода
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public void forEach(Consumer<? super E> action) {
+        if(action == null) throw new NullPointerException();
+        int expectedModCount = modCount;
+        int remaining = size;
+        for (int i = 0; remaining > 0 && modCount == expectedModCount; i++) {
+            Object[] chunk = chunks[i];
+            int length = Math.min(remaining, chunk.length);
+            for (int j = 0; j < length && modCount == expectedModCount; j++) {
+                action.accept((E) chunk[j]);
+            }
+            remaining -= length;
+        }
+        if(modCount != expectedModCount) throw new ConcurrentModificationException();
+    }
+
+    /**
+     * Сортирует список с помощью переданного компаратора. Элементы копируются во временный
+     * массив, сортируются устойчивой сортировкой {@link ArrayList} и записываются обратно,
+     * поэтому на время сортировки нужен один непрерывный массив размером со список.
+     * @param comparator компаратор, с помощью которого будет сортироваться список,
+     * {@code null} означает естественный порядок
+     * @throws ConcurrentModificationException если список был изменен компаратором
+     */
+    @Override
+    public void sort(Comparator<? super E> comparator) {
+        int expectedModCount = modCount;
+        Object[] array = toArray();
+        StableSort.sort(array, 0, array.length, comparator);
+        if(modCount != expectedModCount) throw new ConcurrentModificationException();
+        int copied = 0;
+        for (int i = 0; copied < size; i++) {
+            int length = Math.min(size - copied, mask + 1);
+            System.arraycopy(array, copied, chunks[i], 0, length);
+            copied += length;
+        }
+        modCount++;
+    }
+
+    /**
+     * Возвращает массив, содержащий все элементы списка
+     * @return массив элементов
+     */
+    @Override
+    public Object[] toArray() {
+        Object[] array = new Object[size];
+        int copied = 0;
+        for (int i = 0; copied < size; i++) {
+            int length = Math.min(size - copied, mask + 1);
+            System.arraycopy(chunks[i], 0, array, copied, length);
+            copied += length;
+        }
+        return array;
+    }
+
+    /**
+     * Создает блоки заранее, чтобы в список поместилось переданное количество элементов.
+     * Если места уже достаточно, ничего не происходит.
+     * @param capacity необходимое количество элементов
+     * @throws IllegalArgumentException если capacity меньше нуля
+     * @throws IllegalStateException если capacity больше максимального размера списка
+     * @return {@code true}, если были созданы новые блоки, {@code false} в противном случае
+     */
+    public boolean ensureCapacity(int capacity) {
+        if(capacity < 0) throw new IllegalArgumentException("capacity can't be lower than zero");
+        int before = chunkCount;
+        ensureCapacityInternal(capacity);
+        return chunkCount != before;
+    }
+
+    /**
+     * Дефрагментирует хранилище: освобождает блоки, в которых не осталось элементов после
+     * удалений, и уменьшает каталог блоков до количества используемых блоков. Элементы при этом
+     * не перемещаются, т.к. в списке они всегда лежат подряд, начиная с первого блока.
+     * @return количество освобожденных блоков
+     */
+    public int compact() {
+        int used = (size + mask) >>> shift;
+        int released = chunkCount - used;
+        if(released > 0 || chunks.length > Math.max(used, DEFAULT_DIRECTORY_CAPACITY)) {
+            chunks = Arrays.copyOf(chunks, Math.max(used, DEFAULT_DIRECTORY_CAPACITY));
+            chunkCount = used;
+            modCount++;
+        }
+        return released;
+    }
+
+    /**
+     * Возвращает размер блока
+     * @return количество элементов в одном блоке
+     */
+    public int getChunkSize() {
+        return mask + 1;
+    }
+
+    /**
+     * Возвращает количество созданных блоков, включая пустые
+     * @return количество блоков
+     */
+    public int getChunkCount() {
+        return chunkCount;
+    }
+
+    /**
+     * Метод для проверки валидности индекса. Индекс считается валидным, если он лежит в диапазоне [0, size).
+     * @param index индекс, валидность которого нужно проверить
+     * @throws IndexOutOfBoundsException если по данному индексу нельзя получить элемент
+     */
+    private void checkIndex(int index) {
+        if(index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(String.format("Index %d out of bounds for length %d", index, size));
+        }
+    }
+
+    /**
+     * Создает недостающие блоки. При нехватке места в каталоге он увеличивается вдвое,
+     * копируются только ссылки на блоки.
+     * @param capacity необходимое количество элементов
+     * @throws IllegalStateException если capacity больше максимального размера списка
+     */
+    private void ensureCapacityInternal(int capacity) {
+        if(capacity < 0 || capacity > MAX_SIZE) throw new IllegalStateException("list size limit reached: " + MAX_SIZE);
+        int required = (int) (((long) capacity + mask) >>> shift);
+        if(required <= chunkCount) return;
+        if(required > chunks.length) {
+            chunks = Arrays.copyOf(chunks, Math.max(required, chunks.length << 1));
+        }
+        while (chunkCount < required) {
+            chunks[chunkCount++] = new Object[mask + 1];
+        }
+    }
+
+    /**
+     * Сдвигает часть списка. Аналог {@link System#arraycopy} для блоков: диапазоны
+     * могут пересекаться, элементы копируются частями, не пересекающими границы блоков.
+     * @param from индекс первого перемещаемого элемента
+     * @param to индекс, куда нужно переместить элементы
+     * @param count количество перемещаемых элементов
+     */
+    private void move(int from, int to, int count) {
+        if(count <= 0 || from == to) return;
+        if(to < from) {
+            while (count > 0) {
+                int length = Math.min(count, Math.min(mask + 1 - (from & mask), mask + 1 - (to & mask)));
+                System.arraycopy(chunks[from >>> shift], from & mask, chunks[to >>> shift], to & mask, length);
+                from += length;
+                to += length;
+                count -= length;
+            }
+        } else {
+            int fromEnd = from + count;
+            int toEnd = to + count;
+            while (count > 0) {
+                int length = Math.min(count, Math.min(((fromEnd - 1) & mask) + 1, ((toEnd - 1) & mask) + 1));
+                fromEnd -= length;
+                toEnd -= length;
+                System.arraycopy(chunks[fromEnd >>> shift], fromEnd & mask, chunks[toEnd >>> shift], toEnd & mask, length);
+                count -= length;
+            }
+        }
+    }
+
+    /**
+     * Заполняет диапазон [from, to) значением {@code null}
+     * @param from индекс первого элемента
+     * @param to индекс, следующий за последним элементом
+     */
+    private void fill(int from, int to) {
+        while (from < to) {
+            int length = Math.min(to - from, mask + 1 - (from & mask));
+            Arrays.fill(chunks[from >>> shift], from & mask, (from & mask) + length, null);
+            from += length;
+        }
+    }
+}
@@ -0,0 +1,311 @@
+package example;
+
+import java.io.*;
+import java.util.*;
+import java.util.function.UnaryOperator;
+
+/**
+ * {@link ArrayList}, элементы которого всегда отсортированы. Список запоминает компаратор и
+ * вставляет каждый элемент в позицию, найденную бинарным поиском, поэтому {@link #indexOf(Object)},
+ * {@link #lastIndexOf(Object)} и {@link #contains(Object)} работают за O(log n), а
+ * {@link #remove(Object)} находит элемент за O(log n) и удаляет его сдвигом хвоста.
+ * Равные элементы хранятся в порядке добавления.
+ *
+ * <p>Равенство элементов в методах поиска определяется компаратором, а не
+ * {@link Object#equals(Object)}, как в {@link TreeSet}. Методы, задающие позицию элемента
+ * ({@link #add(int, Object)}, {@link #set(int, Object)}, {@link #addAll(int, Collection)},
+ * {@link #insertAll(int[], List)}) и сортировка другим порядком нарушили бы упорядоченность, поэтому
+ * выбрасывают {@link UnsupportedOperationException}. Удаление работает как в {@link ArrayList}.
+ *
+ * <p>Для выборки по диапазону значений есть методы {@link #headList(Object)}, {@link #tailList(Object)}
+ * и {@link #rangeList(Object, Object)}, которые возвращают представления, как {@link #subList(int, int)}.
+ *
+ * <p>При сериализации вместе с элементами записывается компаратор, поэтому прочитанный список
+ * сохраняет порядок. Компаратор должен реализовывать {@link Serializable} (например,
+ * {@link Comparator#reverseOrder()} или лямбда, приведенная к {@code Comparator<T> & Serializable}),
+ * иначе сериализация списка выбрасывает {@link NotSerializableException}.
+ *
+ * <p><strong>Данный класс не является потокобезапасным.</strong>
+ *
+ * @param <E> Тип, которым параметризован список
+ *
+ * @author  Поляков Артур
+ */
+public class SortedArrayList<E> extends ArrayList<E> {
+    @Serial
+    private static final long serialVersionUID = 1L;
+    /**
+     * Компаратор, задающий порядок элементов. {@code null} означает естественный порядок.
+     * Не изменяется после создания списка, кроме чтения в {@link #readExternal(ObjectInput)}.
+     */
+    private transient Comparator<? super E> comparator;
+
+    /**
+     * Создает пустой список с естественным порядком элементов
+     */
+    public SortedArrayList() {
+        this((Comparator<? super E>) null);
+    }
+
+    /**
+     * Создает пустой список с порядком, заданным компаратором
+     * @param comparator компаратор, {@code null} означает естественный порядок
+     */
+    public SortedArrayList(Comparator<? super E> comparator) {
+        super();
+        this.comparator = comparator;
+    }
+
+    /**
+     * Создает список из элементов коллекции, отсортированных компаратором
+     * @param c коллекция, на основе которой нужно создать список
+     * @param comparator компаратор, {@code null} означает естественный порядок
+     * @throws NullPointerException если передан {@code null} вместо коллекции
+     * @throws ClassCastException если компаратор равен {@code null}, а элементы не реализуют {@link Comparable}
+     */
+    public SortedArrayList(Collection<? extends E> c, Comparator<? super E> comparator) {
+        super(sorted(c, comparator));
+        this.comparator = comparator;
+    }
+
+    /**
+     * Сортирует элементы коллекции до вызова конструктора {@link ArrayList}, чтобы конструктор
+     * не обращался к методам списка, которые может переопределить подкласс
+     * @param c коллекция
+     * @param comparator компаратор, {@code null} означает естественный порядок
+     * @return отсортированные элементы коллекции
+     */
+    @SuppressWarnings("unchecked")
+    private static <E> List<E> sorted(Collection<? extends E> c, Comparator<? super E> comparator) {
+        Object[] elements = c.toArray();
+        StableSort.sort(elements, 0, elements.length, comparator);
+        return (List<E>) Arrays.asList(elements);
+    }
+
+    /**
+     * Возвращает компаратор, задающий порядок элементов
+     * @return компаратор или {@code null}, если используется естественный порядок
+     */
+    public Comparator<? super E> comparator() {
+        return comparator;
+    }
+
+    /**
+     * Вставляет элемент в позицию, найденную бинарным поиском, после всех равных ему элементов
+     * @param e добавляемый элемент
+     * @throws ClassCastException если компаратор равен {@code null}, а элемент не реализует {@link Comparable}
+     * @return индекс, по которому был вставлен элемент
+     */
+    public int addSorted(E e) {
+        int index = upperBound(e, comparator);
+        super.add(index, e);
+        return index;
+    }
+
+    /**
+     * Добавляет элемент в список с сохранением порядка. То же, что {@link #addSorted(Object)}
+     * @param e добавляемый элемент
+     * @return {@code true}
+     */
+    @Override
+    public boolean add(E e) {
+        addSorted(e);
+        return true;
+    }
+
+    /**
+     * Добавляет все элементы коллекции с сохранением порядка. Элементы коллекции сортируются,
+     * для каждого бинарным поиском находится позиция, после чего все элементы вставляются
+     * за один проход методом {@link ArrayList#insertAll(int[], List)}. Сложность
+     * O(m log m + m log n + n) вместо O(n * m) при поочередной вставке.
+     * @param c коллекция, из которой будут браться элементы
+     * @throws NullPointerException если передан {@code null}
+     * @return {@code true} если был добавлен хотя бы один элемент, в противном случае {@code false}
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean addAll(Collection<? extends E> c) {
+        if(c == null) throw new NullPointerException();
+        Object[] added = c.toArray();
+        if(added.length == 0) return false;
+        StableSort.sort(added, 0, added.length, comparator);
+        int[] indices = new int[added.length];
+        for (int i = 0; i < added.length; i++) {
+            indices[i] = upperBound(added[i], comparator);
+        }
+        super.insertAll(indices, (List<? extends E>) Arrays.asList(added));
+        return true;
+    }
+
+    /**
+     * Ищет первый элемент, равный переданному по компаратору, бинарным поиском
+     * @param o элемент, который нужно найти
+     * @throws ClassCastException если элемент нельзя сравнить с элементами списка
+     * @return индекс элемента, если элемент был найден, в противном случае -1
+     */
+    @Override
+    public int indexOf(Object o) {
+        int index = lowerBound(o, comparator);
+        return index < size() && compare(get(index), o) == 0 ? index : -1;
+    }
+
+    /**
+     * Ищет последний элемент, равный переданному по компаратору, бинарным поиском
+     * @param o элемент, который нужно найти
+     * @throws ClassCastException если элемент нельзя сравнить с элементами списка
+     * @return индекс элемента, если элемент был найден, в противном случае -1
+     */
+    @Override
+    public int lastIndexOf(Object o) {
+        int index = upperBound(o, comparator) - 1;
+        return index >= 0 && compare(get(index), o) == 0 ? index : -1;
+    }
+
+    /**
+     * Проверяет наличие элемента бинарным поиском
+     * @param o элемент, наличие которого нужно проверить
+     * @throws ClassCastException если элемент нельзя сравнить с элементами списка
+     * @return {@code true}, если элемент есть в списке, {@code false} в противном случае
+     */
+    @Override
+    public boolean contains(Object o) {
+        return indexOf(o) > -1;
+    }
+
+    /**
+     * Возвращает представление элементов, строго меньших переданного
+     * @param toElement верхняя граница(не будет включена)
+     * @return представление части списка
+     */
+    public List<E> headList(E toElement) {
+        return subList(0, lowerBound(toElement, comparator));
+    }
+
+    /**
+     * Возвращает представление элементов, не меньших переданного
+     * @param fromElement нижняя граница включительно
+     * @return представление части списка
+     */
+    public List<E> tailList(E fromElement) {
+        return subList(lowerBound(fromElement, comparator), size());
+    }
+
+    /**
+     * Возвращает представление элементов в диапазоне [fromElement, toElement)
+     * @param fromElement нижняя граница включительно
+     * @param toElement верхняя граница(не будет включена)
+     * @throws IllegalArgumentException если fromElement больше toElement
+     * @return представление части списка
+     */
+    public List<E> rangeList(E fromElement, E toElement) {
+        if(compare(fromElement, toElement) > 0) throw new IllegalArgumentException("fromElement > toElement");
+        return subList(lowerBound(fromElement, comparator), lowerBound(toElement, comparator));
+    }
+
+    /**
+     * Не поддерживается: позиция элемента определяется компаратором
+     * @throws UnsupportedOperationException всегда
+     */
+    @Override
+    public void add(int index, E element) {
+        throw new UnsupportedOperationException("sorted list doesn't support positional insert");
+    }
+
+    /**
+     * Не поддерживается: позиция элемента определяется компаратором
+     * @throws UnsupportedOperationException всегда
+     */
+    @Override
+    public E set(int index, E element) {
+        throw new UnsupportedOperationException("sorted list doesn't support positional replace");
+    }
+
+    /**
+     * Не поддерживается: позиция элементов определяется компаратором
+     * @throws UnsupportedOperationException всегда
+     */
+    @Override
+    public boolean addAll(int index, Collection<? extends E> c) {
+        throw new UnsupportedOperationException("sorted list doesn't support positional insert");
+    }
+
+    /**
+     * Не поддерживается: позиция элементов определяется компаратором
+     * @throws UnsupportedOperationException всегда
+     */
+    @Override
+    public void insertAll(int[] indices, List<? extends E> values) {
+        throw new UnsupportedOperationException("sorted list doesn't support positional insert");
+    }
+
+    /**
+     * Не поддерживается: новые значения могли бы нарушить порядок элементов
+     * @throws UnsupportedOperationException всегда
+     */
+    @Override
+    public void replaceAll(UnaryOperator<E> operator) {
+        throw new UnsupportedOperationException("sorted list doesn't support positional replace");
+    }
+
+    /**
+     * Не поддерживается: список всегда отсортирован своим компаратором
+     * @throws UnsupportedOperationException всегда
+     */
+    @Override
+    public void parallelSort(Comparator<? super E> comparator) {
+        throw new UnsupportedOperationException("sorted list can't be reordered");
+    }
+
+    /**
+     * Запрещает сортировку списка и его представлений методами {@link #sort(Comparator)}
+     * и {@link List#sort(Comparator)}
+     * @throws UnsupportedOperationException всегда
+     */
+    @Override
+    void sortRange(int from, int to, Comparator<? super E> comparator) {
+        throw new UnsupportedOperationException("sorted list can't be reordered");
+    }
+
+    /**
+     * Записывает в поток компаратор, а затем элементы списка
+     * @param out поток, в который нужно записать список
+     * @throws NotSerializableException если компаратор не реализует {@link Serializable}
+     * @throws IOException если запись не удалась
+     */
+    @Override
+    public void writeExternal(ObjectOutput out) throws IOException {
+        if(comparator != null && !(comparator instanceof Serializable)) {
+            throw new NotSerializableException(comparator.getClass().getName());
+        }
+        out.writeObject(comparator);
+        super.writeExternal(out);
+    }
+
+    /**
+     * Читает список, записанный методом {@link #writeExternal(ObjectOutput)}, вместе с компаратором.
+     * Прочитанные элементы сортируются компаратором заново, чтобы поврежденный поток не нарушил
+     * упорядоченность; для уже отсортированных элементов это один линейный проход.
+     * @param in поток, из которого нужно прочитать список
+     * @throws IOException если чтение не удалось или поток поврежден
+     * @throws ClassNotFoundException если не найден класс компаратора или одного из элементов
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException {
+        Object read = in.readObject();
+        if(read != null && !(read instanceof Comparator)) {
+            throw new StreamCorruptedException("not a comparator: " + read.getClass().getName());
+        }
+        comparator = (Comparator<? super E>) read;
+        super.readExternal(in);
+        super.sortRange(0, size(), comparator);
+    }
+
+    /**
+     * Сравнивает элементы компаратором списка
+     * @return результат сравнения
+     */
+    private int compare(Object e1, Object e2) {
+        return StableSort.orderOf(comparator).compare(e1, e2);
+    }
+}
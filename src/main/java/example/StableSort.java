@@ -0,0 +1,506 @@
+package example;
+
+import java.io.Serial;
+import java.util.Comparator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Устойчивая сортировка массива, используемая {@link ArrayList#sort(Comparator)}. Это упрощенный
+ * вариант TimSort: массив разбивается на естественные серии (уже упорядоченные участки, убывающие
+ * серии разворачиваются), короткие серии дополняются до минимальной длины сортировкой вставками,
+ * а серии сливаются попарно так, чтобы длины серий в стеке убывали быстрее чисел Фибоначчи.
+ * Благодаря этому глубина стека не превышает O(log n), а время в худшем случае - O(n log n).
+ * На уже отсортированных и отсортированных в обратном порядке данных сортировка работает за O(n).
+ *
+ * <p>Для слияния используется один временный массив на всю сортировку. Он выделяется при
+ * первом слиянии, увеличивается только при необходимости и никогда не превышает половины
+ * сортируемого диапазона. Сортировка устойчива: равные элементы сохраняют взаимный порядок.
+ *
+ * <p>Состояние сортировки хранится в объекте, создаваемом на каждый вызов, поэтому одновременные
+ * сортировки разных массивов не мешают друг другу.
+ *
+ * @author  Поляков Артур
+ */
+final class StableSort {
+    /**
+     * Серии короче этой длины дополняются сортировкой вставками. Диапазоны
+     * короче этой длины целиком сортируются вставками без слияний.
+     */
+    private static final int MIN_MERGE = 32;
+    /**
+     * Размер стека серий. Длины серий в стеке растут быстрее чисел Фибоначчи,
+     * поэтому для массива длиной до {@code Integer.MAX_VALUE} этого достаточно.
+     */
+    private static final int MAX_RUNS = 49;
+    /**
+     * Диапазоны не длиннее этого размера {@link #parallelSort} сортирует последовательно.
+     * Это же минимальный размер части, которую сортирует или сливает одна задача.
+     */
+    private static final int MIN_PARALLEL_LENGTH = 1 << 13;
+    /**
+     * Сравнение в естественном порядке. Если элементы не реализуют {@link Comparable},
+     * будет выброшено {@link ClassCastException}.
+     */
+    @SuppressWarnings("unchecked")
+    private static final Comparator<Object> NATURAL_ORDER = (e1, e2) -> ((Comparable<Object>) e1).compareTo(e2);
+
+    private final Object[] array;
+    private final Comparator<Object> comparator;
+    /**
+     * Максимальный размер временного массива - половина сортируемого диапазона.
+     */
+    private final int maxScratch;
+    /**
+     * Временный массив для слияний.
+     */
+    private Object[] scratch = new Object[0];
+    /**
+     * Начала серий, ожидающих слияния.
+     */
+    private final int[] runBase = new int[MAX_RUNS];
+    /**
+     * Длины серий, ожидающих слияния.
+     */
+    private final int[] runLength = new int[MAX_RUNS];
+    /**
+     * Количество серий в стеке.
+     */
+    private int runsCount;
+    /**
+     * Наибольшее количество серий, одновременно находившихся в стеке.
+     */
+    private int maxRunsCount;
+
+    private StableSort(Object[] array, Comparator<Object> comparator, int length) {
+        this.array = array;
+        this.comparator = comparator;
+        this.maxScratch = length >>> 1;
+    }
+
+    /**
+     * Сортирует диапазон массива
+     * @param array сортируемый массив
+     * @param from начало диапазона включительно
+     * @param to конец диапазона(не будет включен)
+     * @param comparator компаратор, {@code null} означает естественный порядок элементов
+     * @throws ClassCastException если компаратор равен {@code null}, а элементы не реализуют {@link Comparable}
+     * @return глубина стека серий: наибольшее количество серий, одновременно ожидавших слияния
+     * (1, если диапазон целиком отсортирован вставками, и 0 для диапазона короче двух элементов)
+     */
+    static int sort(Object[] array, int from, int to, Comparator<?> comparator) {
+        int length = to - from;
+        if(length < 2) return 0;
+        Comparator<Object> c = orderOf(comparator);
+        if(length < MIN_MERGE) {
+            int runLength = countRunAndMakeAscending(array, from, to, c);
+            insertionSort(array, from, to, from + runLength, c);
+            return 1;
+        }
+        StableSort sorter = new StableSort(array, c, length);
+        int minRun = minRunLength(length);
+        int low = from;
+        int remaining = length;
+        do {
+            int runLength = countRunAndMakeAscending(array, low, to, c);
+            if(runLength < minRun) {
+                int forced = Math.min(remaining, minRun);
+                insertionSort(array, low, low + forced, low + runLength, c);
+                runLength = forced;
+            }
+            sorter.pushRun(low, runLength);
+            sorter.mergeCollapse();
+            low += runLength;
+            remaining -= runLength;
+        } while (remaining != 0);
+        sorter.mergeForceCollapse();
+        return sorter.maxRunsCount;
+    }
+
+    /**
+     * Сортирует диапазон массива параллельно в пуле {@link ForkJoinPool}. Диапазон рекурсивно
+     * делится пополам, пока части не станут меньше порога, части сортируются последовательной
+     * сортировкой {@link #sort}, а затем попарно сливаются, причем каждое слияние тоже делится на
+     * независимые части. Чтобы не копировать данные обратно после каждого слияния, уровни рекурсии
+     * поочередно сливают данные из массива во вспомогательный массив размером с диапазон и обратно.
+     *
+     * <p>Используется пул текущего потока, если метод вызван из задачи {@link ForkJoinPool},
+     * иначе общий пул {@link ForkJoinPool#commonPool()}. Если в пуле один поток или диапазон не
+     * длиннее {@link #MIN_PARALLEL_LENGTH}, сортировка выполняется последовательно. Результат, как и
+     * у {@link #sort}, устойчив.
+     * @param array сортируемый массив
+     * @param from начало диапазона включительно
+     * @param to конец диапазона(не будет включен)
+     * @param comparator компаратор, {@code null} означает естественный порядок элементов
+     * @throws ClassCastException если компаратор равен {@code null}, а элементы не реализуют {@link Comparable}
+     * @return глубина рекурсии деления диапазона на части, либо результат {@link #sort},
+     * если сортировка выполнялась последовательно
+     */
+    static int parallelSort(Object[] array, int from, int to, Comparator<?> comparator) {
+        int length = to - from;
+        ForkJoinPool pool = ForkJoinTask.getPool();
+        int parallelism = (pool == null ? ForkJoinPool.commonPool() : pool).getParallelism();
+        if(length <= MIN_PARALLEL_LENGTH || parallelism <= 1) {
+            return sort(array, from, to, comparator);
+        }
+        Comparator<Object> c = orderOf(comparator);
+        int granularity = Math.max(length / (parallelism << 2), MIN_PARALLEL_LENGTH);
+        new Sorter(array, new Object[length], from, length, 0, true, c, granularity).invoke();
+        int depth = 0;
+        for (int part = length; part > granularity; part -= part >>> 1) {
+            depth++;
+        }
+        return depth;
+    }
+
+    /**
+     * Задача параллельной сортировки части массива. Результат остается в основном массиве,
+     * если {@code intoArray} равен {@code true}, иначе записывается во вспомогательный массив.
+     * Дочерние задачи кладут результат в противоположный массив, откуда он сливается в нужный.
+     */
+    private static final class Sorter extends RecursiveAction {
+        @Serial
+        private static final long serialVersionUID = 1L;
+        private final transient Object[] array, buffer;
+        private final int low, length, bufferLow;
+        private final boolean intoArray;
+        private final transient Comparator<Object> comparator;
+        private final int granularity;
+
+        Sorter(Object[] array, Object[] buffer, int low, int length, int bufferLow, boolean intoArray,
+               Comparator<Object> comparator, int granularity) {
+            this.array = array;
+            this.buffer = buffer;
+            this.low = low;
+            this.length = length;
+            this.bufferLow = bufferLow;
+            this.intoArray = intoArray;
+            this.comparator = comparator;
+            this.granularity = granularity;
+        }
+
+        @Override
+        protected void compute() {
+            if(length <= granularity) {
+                sort(array, low, low + length, comparator);
+                if(!intoArray) System.arraycopy(array, low, buffer, bufferLow, length);
+                return;
+            }
+            int half = length >>> 1;
+            invokeAll(new Sorter(array, buffer, low, half, bufferLow, !intoArray, comparator, granularity),
+                    new Sorter(array, buffer, low + half, length - half, bufferLow + half, !intoArray, comparator, granularity));
+            if(intoArray) {
+                new Merger(buffer, array, bufferLow, half, bufferLow + half, length - half, low, comparator, granularity).invoke();
+            } else {
+                new Merger(array, buffer, low, half, low + half, length - half, bufferLow, comparator, granularity).invoke();
+            }
+        }
+    }
+
+    /**
+     * Задача параллельного устойчивого слияния двух отсортированных частей одного массива в другой.
+     * Большая часть делится пополам, в меньшей бинарным поиском находится позиция разделяющего
+     * элемента, и две получившиеся пары частей сливаются независимо. Для устойчивости равные
+     * элементы первой части всегда оказываются левее равных элементов второй.
+     */
+    private static final class Merger extends RecursiveAction {
+        @Serial
+        private static final long serialVersionUID = 1L;
+        private final transient Object[] source, destination;
+        private final int low1, length1, low2, length2, destinationLow;
+        private final transient Comparator<Object> comparator;
+        private final int granularity;
+
+        Merger(Object[] source, Object[] destination, int low1, int length1, int low2, int length2, int destinationLow,
+               Comparator<Object> comparator, int granularity) {
+            this.source = source;
+            this.destination = destination;
+            this.low1 = low1;
+            this.length1 = length1;
+            this.low2 = low2;
+            this.length2 = length2;
+            this.destinationLow = destinationLow;
+            this.comparator = comparator;
+            this.granularity = granularity;
+        }
+
+        @Override
+        protected void compute() {
+            if(length1 + length2 <= granularity || length1 == 0 || length2 == 0) {
+                merge();
+                return;
+            }
+            int split1, split2;
+            if(length1 >= length2) {
+                split1 = length1 >>> 1;
+                split2 = lowerBound(source, source[low1 + split1], low2, low2 + length2, comparator) - low2;
+            } else {
+                split2 = length2 >>> 1;
+                split1 = upperBound(source, source[low2 + split2], low1, low1 + length1, comparator) - low1;
+            }
+            invokeAll(new Merger(source, destination, low1, split1, low2, split2, destinationLow, comparator, granularity),
+                    new Merger(source, destination, low1 + split1, length1 - split1, low2 + split2, length2 - split2,
+                            destinationLow + split1 + split2, comparator, granularity));
+        }
+
+        /**
+         * Последовательное слияние
+         */
+        private void merge() {
+            int cursor1 = low1, end1 = low1 + length1;
+            int cursor2 = low2, end2 = low2 + length2;
+            int cursor = destinationLow;
+            while (cursor1 < end1 && cursor2 < end2) {
+                if(comparator.compare(source[cursor2], source[cursor1]) < 0) {
+                    destination[cursor++] = source[cursor2++];
+                } else {
+                    destination[cursor++] = source[cursor1++];
+                }
+            }
+            System.arraycopy(source, cursor1, destination, cursor, end1 - cursor1);
+            System.arraycopy(source, cursor2, destination, cursor + end1 - cursor1, end2 - cursor2);
+        }
+    }
+
+    /**
+     * Находит длину серии, начинающейся с {@code low}. Строго убывающая серия разворачивается,
+     * неубывающая остается как есть; строгость нужна, чтобы разворот не нарушил устойчивость.
+     * @param array массив
+     * @param low начало серии
+     * @param high конец диапазона(не будет включен)
+     * @param c компаратор
+     * @return длина серии, не меньше единицы
+     */
+    private static int countRunAndMakeAscending(Object[] array, int low, int high, Comparator<Object> c) {
+        int runHigh = low + 1;
+        if(runHigh == high) return 1;
+        if(c.compare(array[runHigh++], array[low]) < 0) {
+            while (runHigh < high && c.compare(array[runHigh], array[runHigh - 1]) < 0) runHigh++;
+            reverse(array, low, runHigh);
+        } else {
+            while (runHigh < high && c.compare(array[runHigh], array[runHigh - 1]) >= 0) runHigh++;
+        }
+        return runHigh - low;
+    }
+
+    /**
+     * Разворачивает диапазон массива
+     * @param array массив
+     * @param low начало диапазона включительно
+     * @param high конец диапазона(не будет включен)
+     */
+    private static void reverse(Object[] array, int low, int high) {
+        for (high--; low < high; low++, high--) {
+            Object temp = array[low];
+            array[low] = array[high];
+            array[high] = temp;
+        }
+    }
+
+    /**
+     * Сортировка вставками с бинарным поиском позиции. Диапазон [low, start) уже отсортирован,
+     * элементы [start, high) вставляются в него по одному. Равный элемент вставляется после
+     * уже стоящих равных, поэтому сортировка устойчива.
+     * @param array массив
+     * @param low начало диапазона включительно
+     * @param high конец диапазона(не будет включен)
+     * @param start первый неотсортированный элемент
+     * @param c компаратор
+     */
+    private static void insertionSort(Object[] array, int low, int high, int start, Comparator<Object> c) {
+        for (; start < high; start++) {
+            Object pivot = array[start];
+            int left = low, right = start;
+            while (left < right) {
+                int middle = (left + right) >>> 1;
+                if(c.compare(pivot, array[middle]) < 0) {
+                    right = middle;
+                } else {
+                    left = middle + 1;
+                }
+            }
+            System.arraycopy(array, left, array, left + 1, start - left);
+            array[left] = pivot;
+        }
+    }
+
+    /**
+     * Вычисляет минимальную длину серии так, чтобы количество серий было равно
+     * степени двойки или чуть меньше нее - тогда слияния получаются сбалансированными.
+     * @param length длина сортируемого диапазона
+     * @return минимальная длина серии, от {@code MIN_MERGE / 2} до {@code MIN_MERGE}
+     */
+    private static int minRunLength(int length) {
+        int remainder = 0;
+        while (length >= MIN_MERGE) {
+            remainder |= length & 1;
+            length >>= 1;
+        }
+        return length + remainder;
+    }
+
+    private void pushRun(int base, int length) {
+        runBase[runsCount] = base;
+        runLength[runsCount] = length;
+        runsCount++;
+        if(runsCount > maxRunsCount) {
+            maxRunsCount = runsCount;
+        }
+    }
+
+    /**
+     * Сливает серии на вершине стека, пока длины серий не удовлетворяют условиям
+     * {@code runLength[i - 2] > runLength[i - 1] + runLength[i]} и {@code runLength[i - 1] > runLength[i]}
+     * для трех верхних серий, а также первому условию для серий ниже них.
+     */
+    private void mergeCollapse() {
+        while (runsCount > 1) {
+            int n = runsCount - 2;
+            if(n > 0 && runLength[n - 1] <= runLength[n] + runLength[n + 1]
+                    || n > 1 && runLength[n - 2] <= runLength[n] + runLength[n - 1]) {
+                if(runLength[n - 1] < runLength[n + 1]) n--;
+            } else if(runLength[n] > runLength[n + 1]) {
+                break;
+            }
+            mergeAt(n);
+        }
+    }
+
+    /**
+     * Сливает все оставшиеся в стеке серии в одну
+     */
+    private void mergeForceCollapse() {
+        while (runsCount > 1) {
+            int n = runsCount - 2;
+            if(n > 0 && runLength[n - 1] < runLength[n + 1]) n--;
+            mergeAt(n);
+        }
+    }
+
+    /**
+     * Сливает серии с номерами i и i + 1 в стеке. Перед слиянием отбрасываются элементы,
+     * которые уже стоят на своих местах: начало первой серии, не большее первого элемента второй,
+     * и конец второй серии, не меньший последнего элемента первой. Оставшаяся часть сливается
+     * через временный массив размером с меньшую из частей.
+     * @param i номер первой из сливаемых серий
+     */
+    private void mergeAt(int i) {
+        int base1 = runBase[i], length1 = runLength[i];
+        int base2 = runBase[i + 1], length2 = runLength[i + 1];
+        runLength[i] = length1 + length2;
+        if(i == runsCount - 3) {
+            runBase[i + 1] = runBase[i + 2];
+            runLength[i + 1] = runLength[i + 2];
+        }
+        runsCount--;
+
+        int start1 = upperBound(array, array[base2], base1, base1 + length1, comparator);
+        length1 -= start1 - base1;
+        base1 = start1;
+        if(length1 == 0) return;
+        length2 = lowerBound(array, array[base1 + length1 - 1], base2, base2 + length2, comparator) - base2;
+        if(length2 == 0) return;
+
+        if(length1 <= length2) {
+            mergeLow(base1, length1, base2, length2);
+        } else {
+            mergeHigh(base1, length1, base2, length2);
+        }
+    }
+
+    /**
+     * Слияние, при котором первая серия копируется во временный массив,
+     * а результат заполняется с начала. Используется, когда первая серия короче.
+     */
+    private void mergeLow(int base1, int length1, int base2, int length2) {
+        Object[] temp = ensureScratch(length1);
+        System.arraycopy(array, base1, temp, 0, length1);
+        int cursor1 = 0, cursor2 = base2, destination = base1;
+        int end2 = base2 + length2;
+        while (cursor1 < length1 && cursor2 < end2) {
+            if(comparator.compare(array[cursor2], temp[cursor1]) < 0) {
+                array[destination++] = array[cursor2++];
+            } else {
+                array[destination++] = temp[cursor1++];
+            }
+        }
+        System.arraycopy(temp, cursor1, array, destination, length1 - cursor1);
+    }
+
+    /**
+     * Слияние, при котором вторая серия копируется во временный массив,
+     * а результат заполняется с конца. Используется, когда вторая серия короче.
+     */
+    private void mergeHigh(int base1, int length1, int base2, int length2) {
+        Object[] temp = ensureScratch(length2);
+        System.arraycopy(array, base2, temp, 0, length2);
+        int cursor1 = base1 + length1 - 1, cursor2 = length2 - 1, destination = base2 + length2 - 1;
+        while (cursor1 >= base1 && cursor2 >= 0) {
+            if(comparator.compare(temp[cursor2], array[cursor1]) < 0) {
+                array[destination--] = array[cursor1--];
+            } else {
+                array[destination--] = temp[cursor2--];
+            }
+        }
+        System.arraycopy(temp, 0, array, base1, cursor2 + 1);
+    }
+
+    /**
+     * Приводит компаратор к виду, с которым работают методы сортировки и поиска
+     * @param comparator компаратор, {@code null} означает естественный порядок элементов
+     * @return компаратор, не равный {@code null}
+     */
+    @SuppressWarnings("unchecked")
+    static Comparator<Object> orderOf(Comparator<?> comparator) {
+        return comparator == null ? NATURAL_ORDER : (Comparator<Object>) comparator;
+    }
+
+    /**
+     * Ищет позицию первого элемента диапазона, строго большего ключа.
+     * Используется также для бинарного поиска в {@link ArrayList}.
+     * @return индекс в массиве
+     */
+    static int upperBound(Object[] array, Object key, int low, int high, Comparator<Object> comparator) {
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if(comparator.compare(key, array[middle]) < 0) {
+                high = middle;
+            } else {
+                low = middle + 1;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Ищет позицию первого элемента диапазона, не меньшего ключа.
+     * Используется также для бинарного поиска в {@link ArrayList}.
+     * @return индекс в массиве
+     */
+    static int lowerBound(Object[] array, Object key, int low, int high, Comparator<Object> comparator) {
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if(comparator.compare(array[middle], key) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Возвращает временный массив не меньше переданного размера, при необходимости
+     * увеличивая его вдвое, но не больше половины сортируемого диапазона.
+     * @param minLength необходимый размер
+     * @return временный массив
+     */
+    private Object[] ensureScratch(int minLength) {
+        if(scratch.length < minLength) {
+            int newLength = Math.max(minLength, Math.min(scratch.length << 1, maxScratch));
+            scratch = new Object[newLength];
+        }
+        return scratch;
+    }
+}
@@ -1,6 +1,8 @@
 package tests;
 
 import example.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import org.junit.jupiter.api.*;
 import static org.junit.jupiter.api.Assertions.*;
 public class AddTests extends ArrayListTester {
@@ -40,6 +42,71 @@ public class AddTests extends ArrayListTester {
         testingList.addAll(index, randomList);
         addAll(index, randomList);
     }
+    @Test
+    public void testAddAllFromSources() {
+        enabledBaseTests = false;
+        List<Integer> expected = new java.util.ArrayList<>(testingList);
+        int index = randomValue(0, expectedSize);
+        testingList.addAll(index, testingList);
+        expected.addAll(index, new java.util.ArrayList<>(expected));
+        assertEquals(expected, testingList);
+
+        List<Integer> small = List.of(1, 2, 3);
+        List<Integer> large = new java.util.LinkedList<>(randomList());
+        ArrayList<Integer> same = randomList();
+        testingList.addAll(0, small);
+        expected.addAll(0, small);
+        testingList.addAll(large);
+        expected.addAll(large);
+        testingList.addAll(index, same);
+        expected.addAll(index, same);
+        assertEquals(expected, testingList);
+        assertEquals(expected, new ArrayList<>(testingList));
+        assertFalse(testingList.addAll(index, List.of()));
+    }
+
+    @Test
+    public void testBatchInsert() {
+        int count = randomSmallValue();
+        int[] indices = new int[count];
+        ArrayList<Integer> values = randomList(count);
+        for (int i = 0; i < count; i++) {
+            indices[i] = randomValue(0, expectedSize + 1);
+        }
+        Arrays.sort(indices);
+        List<Integer> expected = new java.util.ArrayList<>(Arrays.asList(expectedElements).subList(0, expectedSize));
+        for (int i = count - 1; i >= 0; i--) {
+            expected.add(indices[i], values.get(i));
+        }
+        testingList.insertAll(indices, values);
+        expectedElements = expected.toArray(new Integer[0]);
+        expectedSize = expectedElements.length;
+    }
+
+    @Test
+    public void testBatchInsertValidation() {
+        assertThrows(IllegalArgumentException.class, () -> testingList.insertAll(new int[] {1, 0}, List.of(1, 2)));
+        assertThrows(IllegalArgumentException.class, () -> testingList.insertAll(new int[] {0}, List.of(1, 2)));
+        assertThrows(IndexOutOfBoundsException.class, () -> testingList.insertAll(new int[] {expectedSize + 1}, List.of(1)));
+        assertThrows(NullPointerException.class, () -> testingList.insertAll(null, List.of()));
+    }
+    @Test
+    public void testAddAllOwnSubList() {
+        enabledBaseTests = false;
+        ArrayList<String> list = new ArrayList<>(List.of("a", "b", "c", "d"));
+        list.addAll(0, list.subList(2, 4));
+        assertEquals(List.of("c", "d", "a", "b", "c", "d"), list);
+        list.addAll(3, list.subList(0, 2));
+        assertEquals(List.of("c", "d", "a", "c", "d", "b", "c", "d"), list);
+
+        List<Integer> expected = new java.util.ArrayList<>(testingList);
+        int from = randomValue(0, expectedSize);
+        int index = randomValue(0, from + 1);
+        testingList.addAll(index, testingList.subList(from, expectedSize));
+        expected.addAll(index, new java.util.ArrayList<>(expected.subList(from, expectedSize)));
+        assertEquals(expected, testingList);
+    }
+
     @Test
     public void testAddCollectionInConstructor() {
         testingList = new ArrayList<>(testingList);
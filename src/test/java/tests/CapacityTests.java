@@ -1,6 +1,7 @@
 package tests;
 
 import example.ArrayList;
+import example.GrowthPolicy;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.function.Executable;
 import java.lang.reflect.Field;
@@ -56,6 +57,78 @@ public class CapacityTests extends ArrayListTester {
         assertThrows(IllegalArgumentException.class, () -> testingList.ensureCapacity(-1));
         assertFalse(testingList.ensureCapacity(randomValue(0, expected)));
     }
+    @Test
+    public void testDefaultGrowth() throws IllegalAccessException {
+        ArrayList<Integer> list = new ArrayList<>(10);
+        for (int i = 0; i < 11; i++) {
+            list.add(i);
+        }
+        assertEquals(16, getCapacity(list));
+        assertEquals(1, list.getReallocationCount());
+    }
+    @Test
+    public void testFixedStepGrowth() throws IllegalAccessException {
+        ArrayList<Integer> list = new ArrayList<>(0);
+        list.setGrowthPolicy(GrowthPolicy.fixedStep(4));
+        for (int i = 0; i < 9; i++) {
+            list.add(i);
+            assertEquals(((i >> 2) + 1) << 2, getCapacity(list));
+        }
+        assertEquals(3, list.getReallocationCount());
+    }
+    @Test
+    public void testPowerOfTwoGrowth() throws IllegalAccessException {
+        ArrayList<Integer> list = new ArrayList<>(0);
+        list.setGrowthPolicy(GrowthPolicy.powerOfTwo());
+        for (int i = 0; i < 100; i++) {
+            list.add(i);
+            int capacity = getCapacity(list);
+            assertEquals(Integer.bitCount(capacity), 1);
+            assertTrue(capacity >= list.size() && capacity < list.size() << 1);
+        }
+    }
+    @Test
+    public void testCappedGrowth() throws IllegalAccessException {
+        ArrayList<Integer> list = new ArrayList<>(1000);
+        list.setGrowthPolicy(GrowthPolicy.capped(GrowthPolicy.DEFAULT, 100));
+        for (int i = 0; i < 1001; i++) {
+            list.add(i);
+        }
+        assertEquals(1100, getCapacity(list));
+    }
+    @Test
+    public void testGrowthPolicyBelowMinimum() throws IllegalAccessException {
+        ArrayList<Integer> list = new ArrayList<>(0);
+        list.setGrowthPolicy((capacity, minCapacity) -> 0);
+        generateRandomTestingList();
+        list.addAll(testingList);
+        assertEquals(testingList.size(), getCapacity(list));
+        list.add(1);
+        assertEquals(testingList.size() + 1, getCapacity(list));
+        assertThrows(NullPointerException.class, () -> list.setGrowthPolicy(null));
+    }
+    @Test
+    public void testInvalidGrowthPolicies() {
+        assertThrows(IllegalArgumentException.class, () -> GrowthPolicy.geometric(1));
+        assertThrows(IllegalArgumentException.class, () -> GrowthPolicy.fixedStep(0));
+        assertThrows(IllegalArgumentException.class, () -> GrowthPolicy.capped(GrowthPolicy.DEFAULT, 0));
+        assertThrows(NullPointerException.class, () -> GrowthPolicy.capped(null, 1));
+        assertEquals(GrowthPolicy.MAX_CAPACITY, GrowthPolicy.geometric(2).newCapacity(GrowthPolicy.MAX_CAPACITY - 1, GrowthPolicy.MAX_CAPACITY));
+    }
+    @Test
+    public void testCopyCounters() {
+        ArrayList<Integer> list = new ArrayList<>(4);
+        for (int i = 0; i < 5; i++) {
+            list.add(i);
+        }
+        long copiedBytes = list.getCopiedBytes();
+        assertEquals(1, list.getReallocationCount());
+        assertTrue(copiedBytes == 4 * 4 || copiedBytes == 4 * 8);
+        list.trimToSize();
+        list.ensureCapacity(100);
+        assertEquals(3, list.getReallocationCount());
+        assertEquals(copiedBytes / 4 * 14, list.getCopiedBytes());
+    }
     private int getCapacity(ArrayList<Integer> list) throws IllegalAccessException {
         Class<?> clazz = list.getClass();
         Field[] fields = clazz.getDeclaredFields();
@@ -0,0 +1,104 @@
+package tests;
+
+import example.CircularArrayList;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CircularListTests extends ArrayListTester {
+
+    public CircularListTests() {
+        super(false, true);
+    }
+
+    @Test
+    public void testQueueOperations() {
+        CircularArrayList<Integer> list = new CircularArrayList<>(4);
+        Deque<Integer> expected = new ArrayDeque<>();
+        for (int i = 0; i < TESTS_COUNT * 50; i++) {
+            int value = randomValue();
+            switch (randomValue(0, 6)) {
+                case 0, 1 -> { list.addLast(value); expected.addLast(value); }
+                case 2 -> { list.addFirst(value); expected.addFirst(value); }
+                case 3 -> assertEquals(expected.pollFirst(), list.pollFirst());
+                case 4 -> assertEquals(expected.pollLast(), list.pollLast());
+                default -> {
+                    assertEquals(expected.peekFirst(), list.peekFirst());
+                    assertEquals(expected.peekLast(), list.peekLast());
+                }
+            }
+            assertEquals(new ArrayList<>(expected), list);
+        }
+        list.clear();
+        assertNull(list.pollFirst());
+        assertThrows(NoSuchElementException.class, list::removeFirst);
+        assertThrows(NoSuchElementException.class, list::getLast);
+    }
+
+    @Test
+    public void testInsertAndRemoveInMiddle() {
+        CircularArrayList<Integer> list = new CircularArrayList<>(0);
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < TESTS_COUNT * 50; i++) {
+            int value = randomValue();
+            if(expected.isEmpty() || randomValue(0, 3) > 0) {
+                int index = randomValue(0, expected.size() + 1);
+                list.add(index, value);
+                expected.add(index, value);
+            } else {
+                int index = randomValue(0, expected.size());
+                assertEquals(expected.remove(index), list.remove(index));
+            }
+            assertEquals(expected, list);
+        }
+        assertArrayEquals(expected.toArray(), list.toArray());
+        List<Integer> visited = new ArrayList<>();
+        list.forEach(visited::add);
+        assertEquals(expected, visited);
+    }
+
+    @Test
+    public void testListIterator() {
+        CircularArrayList<Integer> list = new CircularArrayList<>();
+        for (Integer element : expectedElements) {
+            list.addFirst(element);
+        }
+        List<Integer> expected = new ArrayList<>(Arrays.asList(expectedElements));
+        Collections.reverse(expected);
+        ListIterator<Integer> iterator = list.listIterator();
+        ListIterator<Integer> expectedIterator = expected.listIterator();
+        while (iterator.hasNext()) {
+            Integer element = iterator.next();
+            assertEquals(expectedIterator.next(), element);
+            if(element % 2 == 0) {
+                iterator.remove();
+                expectedIterator.remove();
+            } else {
+                iterator.set(element + 1);
+                expectedIterator.set(element + 1);
+                iterator.add(element);
+                expectedIterator.add(element);
+            }
+        }
+        assertEquals(expected, list);
+        Iterator<Integer> failing = list.iterator();
+        list.addFirst(0);
+        assertThrows(ConcurrentModificationException.class, failing::next);
+    }
+
+    @Test
+    public void testCapacity() {
+        CircularArrayList<Integer> list = new CircularArrayList<>(testingList);
+        list.removeFirst();
+        list.addLast(1);
+        assertTrue(list.ensureCapacity(expectedSize * 4));
+        assertFalse(list.ensureCapacity(1));
+        list.trimToSize();
+        List<Integer> expected = new ArrayList<>(Arrays.asList(expectedElements).subList(1, expectedSize));
+        expected.add(1);
+        assertEquals(expected, list);
+        assertThrows(IllegalArgumentException.class, () -> new CircularArrayList<>(-1));
+    }
+}
@@ -3,6 +3,8 @@ package tests;
 import example.ArrayList;
 import org.junit.jupiter.api.Test;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
 public class CloneTest extends ArrayListTester {
 
     @Test
@@ -15,4 +17,14 @@ public class CloneTest extends ArrayListTester {
         }
         testingList = clone;
     }
+
+    @Test
+    public void testCloneSharesUntilWrite() {
+        ArrayList<Integer> clone = (ArrayList<Integer>) testingList.clone();
+        clone.add(-1);
+        clone.set(0, -1);
+        assertEquals(expectedSize + 1, clone.size());
+        assertEquals(-1, clone.get(0));
+        assertEquals(-1, clone.get(expectedSize));
+    }
 }
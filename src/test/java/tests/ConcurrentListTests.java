@@ -0,0 +1,80 @@
+package tests;
+
+import example.ConcurrentArrayList;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ConcurrentListTests extends ArrayListTester {
+    private static final int THREADS_COUNT = 8;
+    private static final int ADDS_PER_THREAD = 20_000;
+
+    public ConcurrentListTests() {
+        super(false, true);
+    }
+
+    @Test
+    public void testSingleThread() {
+        ConcurrentArrayList<Integer> list = new ConcurrentArrayList<>(testingList);
+        assertEquals(Arrays.asList(expectedElements), list);
+        int index = randomValue(0, expectedSize);
+        assertEquals(expectedElements[index], list.set(index, 1));
+        assertEquals(1, list.get(index));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.get(expectedSize));
+        assertThrows(NullPointerException.class, () -> list.add(null));
+        assertThrows(UnsupportedOperationException.class, () -> list.remove(0));
+    }
+
+    @Test
+    public void testConcurrentAdd() throws Exception {
+        ConcurrentArrayList<long[]> list = new ConcurrentArrayList<>();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS_COUNT + 1);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> writers = new java.util.ArrayList<>();
+            for (int t = 0; t < THREADS_COUNT; t++) {
+                long thread = t;
+                writers.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < ADDS_PER_THREAD; i++) {
+                        if(i % 100 == 0) {
+                            list.addAll(Arrays.asList(new long[] {thread, i}, new long[] {thread, i + 1}));
+                            i++;
+                        } else {
+                            list.add(new long[] {thread, i});
+                        }
+                    }
+                    return null;
+                }));
+            }
+            Future<?> reader = executor.submit(() -> {
+                start.await();
+                int seen = 0;
+                while (seen < THREADS_COUNT * ADDS_PER_THREAD) {
+                    int size = list.size();
+                    for (int i = seen; i < size; i++) {
+                        assertNotNull(list.get(i));
+                    }
+                    seen = size;
+                }
+                return null;
+            });
+            start.countDown();
+            for (Future<?> writer : writers) {
+                writer.get(30, TimeUnit.SECONDS);
+            }
+            reader.get(30, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(THREADS_COUNT * ADDS_PER_THREAD, list.size());
+        long[] next = new long[THREADS_COUNT];
+        for (long[] element : list) {
+            int thread = (int) element[0];
+            assertEquals(next[thread]++, element[1]);
+        }
+    }
+}
@@ -1,9 +1,11 @@
 package tests;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.*;
 import example.ArrayList;
 import org.junit.jupiter.api.Test;
+import java.util.Arrays;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
 public class FindIndexTest extends ArrayListTester {
@@ -46,6 +48,30 @@ public class FindIndexTest extends ArrayListTester {
         }
     }
 
+    @Test
+    public void testIndexOfWithNulls() {
+        ArrayList<String> list = new ArrayList<>(Arrays.asList("a", null, "b", null, "a"));
+        assertEquals(1, list.indexOf(null));
+        assertEquals(3, list.lastIndexOf(null));
+        assertEquals(0, list.indexOf(new String("a")));
+        assertEquals(4, list.lastIndexOf(new String("a")));
+        assertEquals(-1, list.indexOf("c"));
+        assertTrue(list.contains(null));
+        assertTrue(list.containsAll(Arrays.asList(null, "b")));
+        assertFalse(list.containsAll(Arrays.asList(null, "c")));
+        assertTrue(list.remove(null));
+        assertEquals(Arrays.asList("a", "b", null, "a"), list);
+
+        List<String> view = list.subList(1, 3);
+        assertEquals(1, view.indexOf(null));
+        assertEquals(0, view.lastIndexOf("b"));
+        assertEquals(-1, view.indexOf("a"));
+        assertFalse(view.contains("a"));
+        list.remove(null);
+        assertEquals(-1, list.indexOf(null));
+        assertFalse(list.contains(null));
+    }
+
     private void testIndexOf(int value, int minIndex, int maxIndex) {
         assertEquals(minIndex, testingList.indexOf(value));
         assertEquals(maxIndex, testingList.lastIndexOf(value));
@@ -0,0 +1,90 @@
+package tests;
+
+import example.IndexedArrayList;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IndexedListTests extends ArrayListTester {
+
+    public IndexedListTests() {
+        super(false, false);
+    }
+
+    @Test
+    public void testLookupsFollowModifications() {
+        IndexedArrayList<Integer> list = new IndexedArrayList<>();
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < TESTS_COUNT * 50; i++) {
+            Integer value = randomValue(0, 20);
+            switch (randomValue(0, 7)) {
+                case 0, 1 -> { list.add(value); expected.add(value); }
+                case 2 -> {
+                    int index = randomValue(0, expected.size() + 1);
+                    list.add(index, value);
+                    expected.add(index, value);
+                }
+                case 3 -> {
+                    if(!expected.isEmpty()) {
+                        int index = randomValue(0, expected.size());
+                        assertEquals(expected.set(index, value), list.set(index, value));
+                    }
+                }
+                case 4 -> {
+                    if(!expected.isEmpty()) {
+                        int index = randomBoolean() ? expected.size() - 1 : randomValue(0, expected.size());
+                        assertEquals(expected.remove(index), list.remove(index));
+                    }
+                }
+                case 5 -> assertEquals(expected.remove(value), list.remove(value));
+                default -> {
+                    list.removeIf(e -> e.equals(value));
+                    expected.removeIf(e -> e.equals(value));
+                }
+            }
+            Integer probe = randomValue(0, 20);
+            assertEquals(expected.indexOf(probe), list.indexOf(probe));
+            assertEquals(expected.lastIndexOf(probe), list.lastIndexOf(probe));
+            assertEquals(expected.contains(probe), list.contains(probe));
+        }
+        assertEquals(expected, list);
+    }
+
+    @Test
+    public void testContainsAllAndNulls() {
+        IndexedArrayList<Integer> list = new IndexedArrayList<>(Arrays.asList(1, null, 2, null, 3));
+        assertEquals(1, list.indexOf(null));
+        assertEquals(3, list.lastIndexOf(null));
+        assertTrue(list.containsAll(Arrays.asList(3, null, 1)));
+        assertFalse(list.containsAll(Arrays.asList(3, 4)));
+        list.set(1, 4);
+        assertEquals(3, list.indexOf(null));
+        assertTrue(list.containsAll(List.of(4)));
+        assertThrows(NullPointerException.class, () -> list.containsAll(null));
+    }
+
+    @Test
+    public void testCloneAndIterators() {
+        IndexedArrayList<Integer> list = new IndexedArrayList<>(Arrays.asList(5, 6, 7, 5));
+        assertEquals(3, list.lastIndexOf(5));
+        @SuppressWarnings("unchecked")
+        IndexedArrayList<Integer> clone = (IndexedArrayList<Integer>) list.clone();
+        clone.set(3, 8);
+        assertEquals(3, list.lastIndexOf(5));
+        assertEquals(0, clone.lastIndexOf(5));
+
+        ListIterator<Integer> iterator = list.listIterator();
+        iterator.next();
+        iterator.set(9);
+        assertEquals(3, list.indexOf(5));
+        list.subList(1, 3).set(0, 5);
+        assertEquals(1, list.indexOf(5));
+        list.sort(null);
+        assertEquals(0, list.indexOf(5));
+        assertEquals(2, list.lastIndexOf(7));
+        list.clear();
+        assertFalse(list.contains(5));
+    }
+}
@@ -43,6 +43,31 @@ public class IteratorTests extends ArrayListTester {
         assertArrayEquals(expectedElements, actual);
     }
 
+    @Test
+    public void testForEachMethod() {
+        List<Integer> actual = new ArrayList<>();
+        testingList.forEach(actual::add);
+        assertEquals(Arrays.asList(expectedElements).subList(0, expectedSize), actual);
+        assertThrows(NullPointerException.class, () -> testingList.forEach(null));
+        assertThrows(ConcurrentModificationException.class, () -> testingList.forEach(e -> testingList.add(e)));
+    }
+
+    @Test
+    public void testReplaceAll() {
+        testingList.replaceAll(e -> e / 2);
+        for (int i = 0; i < expectedSize; i++) {
+            expectedElements[i] = expectedElements[i] / 2;
+        }
+        assertEquals(Arrays.asList(expectedElements).subList(0, expectedSize), testingList);
+        Iterator<Integer> iterator = testingList.iterator();
+        testingList.replaceAll(e -> e);
+        assertThrows(ConcurrentModificationException.class, iterator::next);
+        List<Integer> snapshot = testingList.snapshot();
+        testingList.replaceAll(e -> 0);
+        assertEquals(Arrays.asList(expectedElements).subList(0, expectedSize), snapshot);
+        assertThrows(NullPointerException.class, () -> testingList.replaceAll(null));
+    }
+
     @Test
     public void walkInIteratorTest() {
         ListIterator<Integer> listIterator = testingList.listIterator();
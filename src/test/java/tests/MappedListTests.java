@@ -0,0 +1,117 @@
+package tests;
+
+import example.FixedWidthCodec;
+import example.MappedArrayList;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MappedListTests extends ArrayListTester {
+    /**
+     * Маленькая область, чтобы тесты затрагивали несколько областей
+     */
+    private static final int REGION_SIZE = 64;
+
+    @TempDir
+    Path directory;
+
+    public MappedListTests() {
+        super(false, true);
+    }
+
+    @Test
+    public void testAddGetSetAcrossRegions() throws IOException {
+        try (MappedArrayList<Integer> list = MappedArrayList.open(directory.resolve("list"), FixedWidthCodec.INTEGER, REGION_SIZE)) {
+            assertEquals(16, list.getRegionCapacity());
+            list.addAll(testingList);
+            assertEquals(Arrays.asList(expectedElements), list);
+            int index = randomValue(0, expectedSize);
+            assertEquals(expectedElements[index], list.set(index, -1));
+            assertEquals(-1, list.get(index));
+            assertThrows(IndexOutOfBoundsException.class, () -> list.get(expectedSize));
+            assertThrows(IndexOutOfBoundsException.class, () -> list.get(-1));
+        }
+    }
+
+    @Test
+    public void testInsertAndRemoveInMiddle() throws IOException {
+        try (MappedArrayList<Long> list = MappedArrayList.open(directory.resolve("list"), FixedWidthCodec.LONG, REGION_SIZE)) {
+            List<Long> expected = new java.util.ArrayList<>();
+            for (int i = 0; i < TESTS_COUNT * 20; i++) {
+                long value = RANDOMIZER.nextLong();
+                if(expected.isEmpty() || randomValue(0, 3) > 0) {
+                    int index = randomValue(0, expected.size() + 1);
+                    list.add(index, value);
+                    expected.add(index, value);
+                } else {
+                    int index = randomValue(0, expected.size());
+                    assertEquals(expected.remove(index), list.remove(index));
+                }
+                assertEquals(expected, list);
+            }
+        }
+    }
+
+    @Test
+    public void testRejectedElement() throws IOException {
+        try (MappedArrayList<Integer> list = MappedArrayList.open(directory.resolve("list"), FixedWidthCodec.INTEGER, REGION_SIZE)) {
+            list.addAll(testingList);
+            assertThrows(NullPointerException.class, () -> list.add(0, null));
+            assertThrows(NullPointerException.class, () -> list.add(expectedSize >> 1, null));
+            assertThrows(NullPointerException.class, () -> list.add(null));
+            assertThrows(NullPointerException.class, () -> list.set(0, null));
+            assertEquals(Arrays.asList(expectedElements), list);
+        }
+    }
+
+    @Test
+    public void testReopen() throws IOException {
+        Path file = directory.resolve("list");
+        try (MappedArrayList<Integer> list = MappedArrayList.open(file, FixedWidthCodec.INTEGER, REGION_SIZE)) {
+            list.addAll(testingList);
+            list.remove(0);
+            list.force();
+        }
+        try (MappedArrayList<Integer> list = MappedArrayList.open(file, FixedWidthCodec.INTEGER)) {
+            assertEquals(16, list.getRegionCapacity());
+            assertEquals(Arrays.asList(expectedElements).subList(1, expectedSize), list);
+            list.add(0, expectedElements[0]);
+        }
+        try (MappedArrayList<Integer> list = MappedArrayList.open(file, FixedWidthCodec.INTEGER)) {
+            assertEquals(Arrays.asList(expectedElements), list);
+            list.clear();
+        }
+        try (MappedArrayList<Integer> list = MappedArrayList.open(file, FixedWidthCodec.INTEGER)) {
+            assertTrue(list.isEmpty());
+        }
+    }
+
+    @Test
+    public void testInvalidFiles() throws IOException {
+        Path file = directory.resolve("list");
+        MappedArrayList.open(file, FixedWidthCodec.INTEGER).close();
+        assertThrows(IllegalArgumentException.class, () -> MappedArrayList.open(file, FixedWidthCodec.LONG));
+        Path text = Files.writeString(directory.resolve("text"), "definitely not a mapped list");
+        assertThrows(IOException.class, () -> MappedArrayList.open(text, FixedWidthCodec.INTEGER));
+        assertThrows(IllegalArgumentException.class, () -> MappedArrayList.open(directory.resolve("small"), FixedWidthCodec.LONG, 4));
+    }
+
+    @Test
+    public void testClosedList() throws IOException {
+        MappedArrayList<Integer> list = MappedArrayList.open(directory.resolve("list"), FixedWidthCodec.INTEGER);
+        list.add(1);
+        list.close();
+        assertTrue(list.isClosed());
+        assertThrows(IllegalStateException.class, () -> list.get(0));
+        assertThrows(IllegalStateException.class, () -> list.add(1));
+        assertThrows(IllegalStateException.class, list::force);
+        assertDoesNotThrow(list::close);
+    }
+}
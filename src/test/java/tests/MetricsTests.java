@@ -0,0 +1,125 @@
+package tests;
+
+import example.ArrayList;
+import example.JfrListMetrics;
+import example.ListCounters;
+import example.ListMetrics;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MetricsTests extends ArrayListTester {
+
+    @TempDir
+    Path directory;
+
+    public MetricsTests() {
+        super(false, false);
+    }
+
+    @Test
+    public void testCounters() {
+        ListCounters counters = new ListCounters("test");
+        ArrayList<Integer> list = new ArrayList<>(4);
+        list.setMetrics(counters);
+        for (int i = 0; i < 5; i++) {
+            list.add(0, i);
+        }
+        assertEquals(1, counters.getGrowCount());
+        assertTrue(counters.getGrowCopiedBytes() == 4 * 4 || counters.getGrowCopiedBytes() == 4 * 8);
+        assertEquals(4, counters.getShiftCount());
+        assertEquals(1 + 2 + 3 + 4, counters.getShiftedElements());
+
+        list.trimToSize();
+        assertEquals(1, counters.getTrimCount());
+        // массив вырос с 4 до 7 ячеек, а после trimToSize в нем 5
+        assertEquals(counters.getGrowCopiedBytes() / 2, counters.getTrimmedBytes());
+
+        list.addAll(randomList(1000));
+        list.sort(null);
+        list.subList(0, 10).sort(Collections.reverseOrder());
+        assertEquals(2, counters.getSortCount());
+        assertTrue(counters.getMaxSortDepth() >= 1);
+
+        counters.reset();
+        list.setMetrics(null);
+        list.add(0, 1);
+        list.sort(null);
+        assertEquals(0, counters.getShiftCount());
+        assertEquals(0, counters.getSortCount());
+    }
+
+    @Test
+    public void testCompose() {
+        ListCounters first = new ListCounters("first");
+        ListCounters second = new ListCounters("second");
+        ArrayList<Integer> list = new ArrayList<>(0);
+        list.setMetrics(ListMetrics.compose(first, second));
+        list.add(1);
+        assertEquals(1, first.getGrowCount());
+        assertEquals(1, second.getGrowCount());
+        assertThrows(NullPointerException.class, () -> ListMetrics.compose(first, null));
+    }
+
+    @Test
+    public void testPoolIsRegisteredInJmx() throws Exception {
+        String name = "metrics-test-" + System.nanoTime();
+        ListCounters pool = ListCounters.pool(name);
+        assertSame(pool, ListCounters.pool(name));
+        ObjectName objectName = new ObjectName("example:type=ListCounters,name=" + ObjectName.quote(name));
+        assertTrue(ManagementFactory.getPlatformMBeanServer().isRegistered(objectName));
+
+        ArrayList<Integer> list = new ArrayList<>(0);
+        list.setMetrics(pool);
+        list.add(1);
+        assertEquals(1L, ManagementFactory.getPlatformMBeanServer().getAttribute(objectName, "GrowCount"));
+
+        pool.unregister();
+        assertFalse(ManagementFactory.getPlatformMBeanServer().isRegistered(objectName));
+        assertNotSame(pool, ListCounters.pool(name));
+        ListCounters.pool(name).unregister();
+    }
+
+    @Test
+    public void testJfrEvents() throws Exception {
+        Path file = directory.resolve("metrics.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("example.ListGrow");
+            recording.enable("example.ListShift");
+            recording.enable("example.ListSort");
+            recording.enable("example.ListTrim");
+            recording.start();
+            ArrayList<Integer> list = new ArrayList<>(0);
+            list.setMetrics(new JfrListMetrics(2));
+            list.addAll(randomList(100));
+            list.add(0, 1);
+            list.add(list.size() - 1, 1);
+            list.sort(null);
+            list.ensureCapacity(1000);
+            list.trimToSize();
+            recording.stop();
+            recording.dump(file);
+        }
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        assertEquals(3, count(events, "example.ListGrow"));
+        assertEquals(1, count(events, "example.ListShift"));
+        assertEquals(1, count(events, "example.ListSort"));
+        assertEquals(1, count(events, "example.ListTrim"));
+        RecordedEvent shift = events.stream().filter(e -> e.getEventType().getName().equals("example.ListShift")).findFirst().orElseThrow();
+        assertEquals(100, shift.getInt("count"));
+    }
+
+    private static long count(List<RecordedEvent> events, String name) {
+        return events.stream().filter(e -> e.getEventType().getName().equals(name)).count();
+    }
+}
@@ -0,0 +1,110 @@
+package tests;
+
+import example.FixedWidthCodec;
+import example.OffHeapArrayList;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class OffHeapListTests extends ArrayListTester {
+
+    public OffHeapListTests() {
+        super(false, true);
+    }
+
+    @Test
+    public void testAddGetRemove() {
+        try (OffHeapArrayList<Integer> list = new OffHeapArrayList<>(FixedWidthCodec.INTEGER, 0)) {
+            list.addAll(testingList);
+            assertEquals(Arrays.asList(expectedElements), list);
+
+            int index = randomValue(0, expectedSize);
+            int value = randomValue();
+            list.add(index, value);
+            assertEquals(value, list.get(index));
+            assertEquals(expectedSize + 1, list.size());
+            assertEquals(value, list.remove(index));
+            assertEquals(expectedElements[index], list.set(index, value));
+            expectedElements[index] = value;
+            assertEquals(Arrays.asList(expectedElements), list);
+        }
+    }
+
+    @Test
+    public void testSortAndIterator() {
+        try (OffHeapArrayList<Integer> list = new OffHeapArrayList<>(FixedWidthCodec.INTEGER)) {
+            list.addAll(testingList);
+            Arrays.sort(expectedElements, Collections.reverseOrder());
+            list.sort(Collections.reverseOrder());
+            Iterator<Integer> iterator = list.iterator();
+            for (Integer expected : expectedElements) {
+                assertEquals(expected, iterator.next());
+            }
+            assertFalse(iterator.hasNext());
+            list.trimToSize();
+            list.sort();
+            Arrays.sort(expectedElements);
+            assertEquals(Arrays.asList(expectedElements), list);
+        }
+    }
+
+    @Test
+    public void testChunks() {
+        try (OffHeapArrayList<Integer> list = new OffHeapArrayList<>(FixedWidthCodec.INTEGER, 0, 64)) {
+            assertEquals(16, list.getChunkCapacity());
+            List<Integer> expected = new java.util.ArrayList<>(Arrays.asList(expectedElements));
+            list.addAll(testingList);
+            for (int i = 0; i < 100; i++) {
+                int index = randomValue(0, expected.size());
+                int value = randomValue();
+                list.add(index, value);
+                expected.add(index, value);
+            }
+            for (int i = 0; i < 50; i++) {
+                int index = randomValue(0, expected.size() - 1);
+                assertEquals(expected.remove(index), list.remove(index));
+            }
+            assertEquals(expected, list);
+
+            list.trimToSize();
+            assertEquals(expected, list);
+            while (list.size() > 10) {
+                list.remove(list.size() - 1);
+                expected.remove(expected.size() - 1);
+            }
+            list.trimToSize();
+            assertEquals(expected, list);
+            list.add(0, -1);
+            expected.add(0, -1);
+            assertEquals(expected, list);
+        }
+    }
+
+    @Test
+    public void testRejectedElement() {
+        try (OffHeapArrayList<Integer> list = new OffHeapArrayList<>(FixedWidthCodec.INTEGER)) {
+            list.addAll(testingList);
+            assertThrows(NullPointerException.class, () -> list.add(0, null));
+            assertThrows(NullPointerException.class, () -> list.add(expectedSize >> 1, null));
+            assertThrows(NullPointerException.class, () -> list.add(null));
+            assertThrows(NullPointerException.class, () -> list.set(0, null));
+            assertEquals(Arrays.asList(expectedElements), list);
+        }
+    }
+
+    @Test
+    public void testClose() {
+        OffHeapArrayList<Long> list = new OffHeapArrayList<>(FixedWidthCodec.LONG);
+        list.add(1L);
+        list.close();
+        assertTrue(list.isClosed());
+        assertThrows(IllegalStateException.class, () -> list.get(0));
+        assertThrows(IllegalStateException.class, () -> list.add(2L));
+        assertDoesNotThrow(list::close);
+    }
+}
@@ -0,0 +1,140 @@
+package tests;
+
+import example.PersistentArrayList;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PersistentListTests extends ArrayListTester {
+
+    public PersistentListTests() {
+        super(false, true);
+    }
+
+    @Test
+    public void testAddGetSet() {
+        PersistentArrayList<Integer> list = new PersistentArrayList<>(testingList);
+        assertEquals(Arrays.asList(expectedElements), list);
+        int index = randomValue(0, expectedSize);
+        assertEquals(expectedElements[index], list.set(index, -1));
+        assertEquals(-1, list.get(index));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.get(expectedSize));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.get(-1));
+    }
+
+    @Test
+    public void testGrowAndShrinkAcrossLevels() {
+        PersistentArrayList<Integer> list = new PersistentArrayList<>();
+        int count = 32 * 32 * 32 + 100;
+        for (int i = 0; i < count; i++) {
+            list.add(i);
+        }
+        assertEquals(count, list.size());
+        for (int i = 0; i < count; i += 7) {
+            assertEquals(i, list.get(i));
+        }
+        for (int i = count - 1; i >= 0; i--) {
+            assertEquals(i, list.removeLast());
+            assertEquals(i, list.size());
+        }
+        assertThrows(NoSuchElementException.class, list::removeLast);
+        list.add(1);
+        assertEquals(List.of(1), list);
+    }
+
+    @Test
+    public void testInsertAndRemoveInMiddle() {
+        PersistentArrayList<Integer> list = new PersistentArrayList<>();
+        List<Integer> expected = new java.util.ArrayList<>();
+        for (int i = 0; i < TESTS_COUNT * 20; i++) {
+            int value = randomValue();
+            if(expected.isEmpty() || randomValue(0, 3) > 0) {
+                int index = randomValue(0, expected.size() + 1);
+                list.add(index, value);
+                expected.add(index, value);
+            } else {
+                int index = randomValue(0, expected.size());
+                assertEquals(expected.remove(index), list.remove(index));
+            }
+            assertEquals(expected, list);
+        }
+    }
+
+    @Test
+    public void testCloneIsIndependent() {
+        PersistentArrayList<Integer> list = new PersistentArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            list.add(i);
+        }
+        PersistentArrayList<Integer> clone = list.clone();
+        List<Integer> expected = new java.util.ArrayList<>(list);
+
+        list.set(5, -5);
+        list.set(1999, -1999);
+        list.add(2000);
+        clone.set(100, -100);
+        clone.removeLast();
+        clone.removeLast();
+
+        assertEquals(expected.subList(0, 5), list.subList(0, 5));
+        assertEquals(-5, list.get(5));
+        assertEquals(100, list.get(100));
+        assertEquals(-1999, list.get(1999));
+        assertEquals(2001, list.size());
+        assertEquals(5, clone.get(5));
+        assertEquals(-100, clone.get(100));
+        assertEquals(1998, clone.size());
+        assertEquals(1997, clone.get(1997));
+    }
+
+    @Test
+    public void testCloneWithFullTail() {
+        PersistentArrayList<Integer> list = new PersistentArrayList<>();
+        for (int i = 0; i < 32; i++) {
+            list.add(i);
+        }
+        PersistentArrayList<Integer> clone = list.clone();
+        List<Integer> snapshot = list.snapshot();
+        list.add(32);
+        list.set(0, -1);
+        clone.add(-32);
+        clone.set(1, -2);
+        assertEquals(0, clone.get(0));
+        assertEquals(-2, clone.get(1));
+        assertEquals(-32, clone.get(32));
+        assertEquals(-1, list.get(0));
+        assertEquals(1, list.get(1));
+        assertEquals(32, list.get(32));
+        for (int i = 0; i < 32; i++) {
+            assertEquals(i, snapshot.get(i));
+        }
+        assertEquals(32, snapshot.size());
+    }
+
+    @Test
+    public void testSnapshot() {
+        PersistentArrayList<Integer> list = new PersistentArrayList<>(testingList);
+        List<Integer> snapshot = list.snapshot();
+        list.set(0, -1);
+        list.clear();
+        assertEquals(Arrays.asList(expectedElements), snapshot);
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.set(0, 1));
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.add(1));
+    }
+
+    @Test
+    public void testForEachAndToArray() {
+        PersistentArrayList<Integer> list = new PersistentArrayList<>();
+        for (int i = 0; i < 1500; i++) {
+            list.add(i);
+        }
+        List<Integer> visited = new java.util.ArrayList<>();
+        list.forEach(visited::add);
+        assertEquals(list, visited);
+        assertArrayEquals(visited.toArray(), list.toArray());
+    }
+}
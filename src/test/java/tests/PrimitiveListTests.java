@@ -0,0 +1,141 @@
+package tests;
+
+import example.DoubleArrayList;
+import example.IntArrayList;
+import example.LongArrayList;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PrimitiveListTests extends ArrayListTester {
+
+    public PrimitiveListTests() {
+        super(false, true);
+    }
+
+    @Test
+    public void testIntList() {
+        IntArrayList list = new IntArrayList(0);
+        int[] expected = new int[expectedSize];
+        for (int i = 0; i < expectedSize; i++) {
+            list.addInt(expectedElements[i]);
+            expected[i] = expectedElements[i];
+        }
+        assertArrayEquals(expected, list.toIntArray());
+        int index = randomValue(0, expectedSize);
+        assertEquals(index, list.indexOf(expected[index]));
+        assertEquals(expected[index], list.removeInt(index));
+        list.addInt(index, expected[index]);
+        assertArrayEquals(expected, list.toIntArray());
+
+        Arrays.sort(expected);
+        list.sort();
+        assertArrayEquals(expected, list.toIntArray());
+        list.trimToSize();
+        assertArrayEquals(expected, list.toIntArray());
+        assertThrows(IndexOutOfBoundsException.class, () -> list.getInt(expectedSize));
+    }
+
+    @Test
+    public void testLongList() {
+        LongArrayList list = new LongArrayList();
+        long[] expected = new long[expectedSize];
+        for (int i = 0; i < expectedSize; i++) {
+            long value = (long) expectedElements[i] << 20;
+            list.addLong(value);
+            expected[i] = value;
+        }
+        assertArrayEquals(expected, list.toLongArray());
+        assertTrue(list.ensureCapacity(expectedSize << 1));
+        assertEquals(expected[expectedSize - 1], list.setLong(expectedSize - 1, 1L));
+        assertEquals(expectedSize - 1, list.lastIndexOf(1L));
+        expected[expectedSize - 1] = 1L;
+
+        Arrays.sort(expected);
+        list.sort();
+        assertArrayEquals(expected, list.toLongArray());
+    }
+
+    @Test
+    public void testDoubleList() {
+        DoubleArrayList list = new DoubleArrayList(new double[] {3.5, Double.NaN, -0.0, 1.0});
+        assertEquals(1, list.indexOf(Double.NaN));
+        assertEquals(-1, list.indexOf(0.0));
+        assertEquals(2, list.indexOf(-0.0));
+        list.sort();
+        assertArrayEquals(new double[] {-0.0, 1.0, 3.5, Double.NaN}, list.toDoubleArray());
+    }
+
+    @Test
+    public void testListView() {
+        IntArrayList list = new IntArrayList();
+        List<Integer> view = list.asList();
+        for (int i = 0; i < expectedSize; i++) {
+            view.add(expectedElements[i]);
+        }
+        assertEquals(Arrays.asList(expectedElements), view);
+        assertEquals(expectedSize, list.size());
+
+        int index = randomValue(0, expectedSize);
+        list.setInt(index, 7);
+        assertEquals(7, view.get(index));
+        assertTrue(view.contains(7));
+        assertFalse(view.contains("7"));
+        view.remove(index);
+        assertEquals(expectedSize - 1, list.size());
+        view.clear();
+        assertTrue(list.isEmpty());
+    }
+
+    @Test
+    public void testListViewIterators() {
+        IntArrayList ints = new IntArrayList();
+        for (int i = 0; i < expectedSize; i++) {
+            ints.addInt(expectedElements[i]);
+        }
+        ListIterator<Integer> iterator = ints.asList().listIterator();
+        iterator.next();
+        iterator.remove();
+        iterator.add(5);
+        iterator.next();
+        iterator.set(6);
+        assertEquals(5, ints.getInt(0));
+        assertEquals(6, ints.getInt(1));
+        assertEquals(2, iterator.nextIndex());
+        assertEquals(6, iterator.previous());
+        ints.addInt(1);
+        assertThrows(ConcurrentModificationException.class, iterator::next);
+
+        LongArrayList longs = new LongArrayList();
+        longs.addLong(1L);
+        Iterator<Long> longIterator = longs.asList().iterator();
+        longs.removeLong(0);
+        assertThrows(ConcurrentModificationException.class, longIterator::next);
+
+        List<Integer> subList = ints.asList().subList(0, 2);
+        assertEquals(5, subList.get(0));
+        subList.add(0, 4);
+        assertEquals(4, ints.getInt(0));
+        ints.removeInt(0);
+        assertThrows(ConcurrentModificationException.class, () -> subList.get(0));
+        List<Integer> view = ints.asList();
+        List<Integer> viewSubList = view.subList(0, 2);
+        view.remove(0);
+        assertThrows(ConcurrentModificationException.class, viewSubList::size);
+
+        DoubleArrayList doubles = new DoubleArrayList(new double[] {1.0, 2.0});
+        Iterator<Double> doubleIterator = doubles.asList().iterator();
+        doubleIterator.next();
+        doubles.sort();
+        assertThrows(ConcurrentModificationException.class, doubleIterator::next);
+    }
+
+    @Test
+    public void testCapacityLimit() {
+        assertThrows(OutOfMemoryError.class, () -> new IntArrayList(0).ensureCapacity(Integer.MAX_VALUE));
+        assertThrows(OutOfMemoryError.class, () -> new LongArrayList(0).ensureCapacity(Integer.MAX_VALUE));
+        assertThrows(OutOfMemoryError.class, () -> new DoubleArrayList(0).ensureCapacity(Integer.MAX_VALUE));
+    }
+}
@@ -0,0 +1,114 @@
+package tests;
+
+import example.DoubleArrayList;
+import example.IntArrayList;
+import example.LongArrayList;
+import example.PrimitiveScans;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PrimitiveScansTests extends ArrayListTester {
+    private static final PrimitiveScans SCALAR = PrimitiveScans.scalar();
+    private static final PrimitiveScans PREFERRED = PrimitiveScans.preferred();
+
+    public PrimitiveScansTests() {
+        super(false, false);
+    }
+
+    @Test
+    public void testIntScans() {
+        for (int test = 0; test < TESTS_COUNT; test++) {
+            int[] array = new int[randomValue(1, 300)];
+            for (int i = 0; i < array.length; i++) {
+                array[i] = randomValue(-50, 50);
+            }
+            int from = randomValue(0, array.length);
+            int to = randomValue(from + 1, array.length + 1);
+            int value = randomValue(-50, 50);
+            assertEquals(SCALAR.indexOf(array, from, to, value), PREFERRED.indexOf(array, from, to, value));
+            assertEquals(SCALAR.min(array, from, to), PREFERRED.min(array, from, to));
+            assertEquals(SCALAR.max(array, from, to), PREFERRED.max(array, from, to));
+            assertEquals(SCALAR.sum(array, from, to), PREFERRED.sum(array, from, to));
+            assertEquals(SCALAR.countInRange(array, from, to, -10, 20), PREFERRED.countInRange(array, from, to, -10, 20));
+        }
+        int[] large = new int[100];
+        Arrays.fill(large, Integer.MAX_VALUE);
+        assertEquals(100L * Integer.MAX_VALUE, PREFERRED.sum(large, 0, large.length));
+    }
+
+    @Test
+    public void testLongScans() {
+        for (int test = 0; test < TESTS_COUNT; test++) {
+            long[] array = new long[randomValue(1, 300)];
+            for (int i = 0; i < array.length; i++) {
+                array[i] = (long) randomValue(-50, 50) << 33;
+            }
+            int from = randomValue(0, array.length);
+            int to = randomValue(from + 1, array.length + 1);
+            long value = (long) randomValue(-50, 50) << 33;
+            assertEquals(SCALAR.indexOf(array, from, to, value), PREFERRED.indexOf(array, from, to, value));
+            assertEquals(SCALAR.min(array, from, to), PREFERRED.min(array, from, to));
+            assertEquals(SCALAR.max(array, from, to), PREFERRED.max(array, from, to));
+            assertEquals(SCALAR.sum(array, from, to), PREFERRED.sum(array, from, to));
+            assertEquals(SCALAR.countInRange(array, from, to, 0, 20L << 33), PREFERRED.countInRange(array, from, to, 0, 20L << 33));
+        }
+    }
+
+    @Test
+    public void testDoubleScans() {
+        for (int test = 0; test < TESTS_COUNT; test++) {
+            double[] array = new double[randomValue(1, 300)];
+            for (int i = 0; i < array.length; i++) {
+                array[i] = randomValue(-50, 50) / 4.0;
+            }
+            int from = randomValue(0, array.length);
+            int to = randomValue(from + 1, array.length + 1);
+            double value = randomValue(-50, 50) / 4.0;
+            assertEquals(SCALAR.indexOf(array, from, to, value), PREFERRED.indexOf(array, from, to, value));
+            assertEquals(SCALAR.min(array, from, to), PREFERRED.min(array, from, to));
+            assertEquals(SCALAR.max(array, from, to), PREFERRED.max(array, from, to));
+            assertEquals(SCALAR.sum(array, from, to), PREFERRED.sum(array, from, to));
+            assertEquals(SCALAR.countInRange(array, from, to, -2.5, 5), PREFERRED.countInRange(array, from, to, -2.5, 5));
+        }
+        double[] special = new double[40];
+        special[17] = -0.0;
+        special[33] = Double.NaN;
+        assertEquals(0, PREFERRED.indexOf(special, 0, special.length, 0.0));
+        assertEquals(17, PREFERRED.indexOf(special, 0, special.length, -0.0));
+        assertEquals(33, PREFERRED.indexOf(special, 0, special.length, Double.NaN));
+        assertEquals(-0.0, PREFERRED.min(special, 0, 20));
+        assertTrue(Double.isNaN(PREFERRED.max(special, 0, special.length)));
+        assertEquals(39, PREFERRED.countInRange(special, 0, special.length, -1, 1));
+    }
+
+    @Test
+    public void testListAggregates() {
+        IntArrayList ints = new IntArrayList(new int[] {5, -3, 8, 0, 8});
+        assertEquals(-3, ints.min());
+        assertEquals(8, ints.max());
+        assertEquals(18, ints.sum());
+        assertEquals(2, ints.countInRange(0, 5));
+        assertEquals(2, ints.count(v -> v == 8));
+        assertEquals(2, ints.indexOf(8));
+        assertThrows(NoSuchElementException.class, () -> new IntArrayList().min());
+
+        LongArrayList longs = new LongArrayList();
+        longs.addLong(Long.MAX_VALUE);
+        longs.addLong(-1);
+        assertEquals(-1, longs.min());
+        assertEquals(Long.MAX_VALUE - 1, longs.sum());
+        assertEquals(1, longs.count(v -> v < 0));
+
+        DoubleArrayList doubles = new DoubleArrayList();
+        doubles.addDouble(1.5);
+        doubles.addDouble(-2.5);
+        assertEquals(-1.0, doubles.sum());
+        assertEquals(1.5, doubles.max());
+        assertEquals(0, new DoubleArrayList().sum());
+        assertThrows(NoSuchElementException.class, () -> new DoubleArrayList().max());
+    }
+}
@@ -2,9 +2,10 @@ package tests;
 
 import example.ArrayList;
 import org.junit.jupiter.api.*;
+import java.util.Arrays;
 import java.util.HashSet;
 import java.util.Set;
-import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.*;
 public class RemoveTests extends ArrayListTester {
 
     @Test
@@ -114,9 +115,68 @@ public class RemoveTests extends ArrayListTester {
         testingList.retainAll(retainedElements);
     }
 
+    @Test
+    public void testRemoveIf() {
+        int newSize = 0;
+        for (int i = 0; i < expectedSize; i++) {
+            if(expectedElements[i] % 2 != 0) {
+                expectedElements[newSize++] = expectedElements[i];
+            }
+        }
+        boolean expected = newSize != expectedSize;
+        expectedSize = newSize;
+        assertEquals(expected, testingList.removeIf(e -> e % 2 == 0));
+    }
+
+    @Test
+    public void testRemoveIndices() {
+        int[] indices = new int[expectedSize];
+        int count = 0, newSize = 0;
+        for (int i = 0; i < expectedSize; i++) {
+            if(randomBoolean()) {
+                indices[count++] = i;
+            } else {
+                expectedElements[newSize++] = expectedElements[i];
+            }
+        }
+        expectedSize = newSize;
+        assertEquals(count, testingList.removeIndices(Arrays.copyOf(indices, count)));
+        assertThrows(IllegalArgumentException.class, () -> testingList.removeIndices(new int[] {1, 1}));
+        assertThrows(IndexOutOfBoundsException.class, () -> testingList.removeIndices(new int[] {expectedSize}));
+    }
+
+    @Test
+    public void testRemoveAllWithNulls() {
+        enabledBaseTests = false;
+        ArrayList<Integer> list = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            list.add(i % 3 == 0 ? null : i);
+        }
+        assertTrue(list.removeAll(Arrays.asList(null, 1)));
+        assertEquals(Arrays.asList(2, 4, 5, 7, 8), list);
+        assertTrue(list.retainAll(Arrays.asList(4, 8, null)));
+        assertEquals(Arrays.asList(4, 8), list);
+        assertFalse(list.retainAll(Arrays.asList(4, 8)));
+    }
+
+    @Test
+    public void testRemoveIfWithThrowingFilter() {
+        enabledBaseTests = false;
+        ArrayList<Integer> list = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            list.add(i);
+        }
+        assertThrows(IllegalStateException.class, () -> list.removeIf(e -> {
+            if(e == 5) throw new IllegalStateException();
+            return e % 2 == 0;
+        }));
+        assertEquals(Arrays.asList(1, 3, 5, 6, 7, 8, 9), list);
+    }
+
     @Test
     public void NullPointerExceptionTest() {
         assertThrows(NullPointerException.class, () -> testingList.removeAll(null));
         assertThrows(NullPointerException.class, () -> testingList.retainAll(null));
+        assertThrows(NullPointerException.class, () -> testingList.removeIf(null));
     }
 }
\ No newline at end of file
@@ -0,0 +1,117 @@
+package tests;
+
+import example.SegmentedArrayList;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SegmentedListTests extends ArrayListTester {
+
+    public SegmentedListTests() {
+        super(false, true);
+    }
+
+    @Test
+    public void testAddGetSet() {
+        SegmentedArrayList<Integer> list = new SegmentedArrayList<>(8);
+        for (Integer element : expectedElements) {
+            list.add(element);
+        }
+        assertEquals(Arrays.asList(expectedElements), list);
+        assertEquals((expectedSize + 7) / 8, list.getChunkCount());
+        int index = randomValue(0, expectedSize);
+        assertEquals(expectedElements[index], list.set(index, -1));
+        assertEquals(-1, list.get(index));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.get(expectedSize));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.get(-1));
+        assertThrows(IllegalArgumentException.class, () -> new SegmentedArrayList<>(12));
+    }
+
+    @Test
+    public void testInsertAndRemoveAcrossChunks() {
+        SegmentedArrayList<Integer> list = new SegmentedArrayList<>(4);
+        List<Integer> expected = new java.util.ArrayList<>();
+        for (int i = 0; i < TESTS_COUNT * 20; i++) {
+            int value = randomValue();
+            if(expected.isEmpty() || randomValue(0, 3) > 0) {
+                int index = randomValue(0, expected.size() + 1);
+                list.add(index, value);
+                expected.add(index, value);
+            } else {
+                int index = randomValue(0, expected.size());
+                assertEquals(expected.remove(index), list.remove(index));
+            }
+            assertEquals(expected, list);
+        }
+    }
+
+    @Test
+    public void testInsertAll() {
+        SegmentedArrayList<Integer> list = new SegmentedArrayList<>(4);
+        List<Integer> expected = new java.util.ArrayList<>();
+        for (int i = 0; i < TESTS_COUNT; i++) {
+            List<Integer> values = randomList(randomValue(0, 10));
+            int index = randomValue(0, expected.size() + 1);
+            assertEquals(!values.isEmpty(), list.addAll(index, values));
+            expected.addAll(index, values);
+            assertEquals(expected, list);
+        }
+        int from = randomValue(0, expected.size() + 1);
+        list.addAll(0, list.subList(from, expected.size()));
+        expected.addAll(0, new java.util.ArrayList<>(expected.subList(from, expected.size())));
+        assertEquals(expected, list);
+        assertThrows(IndexOutOfBoundsException.class, () -> list.addAll(list.size() + 1, List.of(1)));
+        assertThrows(NullPointerException.class, () -> list.addAll(0, null));
+    }
+
+    @Test
+    public void testAddAllAndRemoveRange() {
+        SegmentedArrayList<Integer> list = new SegmentedArrayList<>(4);
+        list.add(0);
+        list.addAll(testingList);
+        List<Integer> expected = new java.util.ArrayList<>();
+        expected.add(0);
+        expected.addAll(testingList);
+        assertEquals(expected, list);
+
+        int from = randomValue(0, expectedSize >> 1);
+        int to = randomValue(from, expectedSize);
+        list.subList(from, to).clear();
+        expected.subList(from, to).clear();
+        assertEquals(expected, list);
+    }
+
+    @Test
+    public void testCompact() {
+        SegmentedArrayList<Integer> list = new SegmentedArrayList<>(4);
+        list.addAll(testingList);
+        int chunks = list.getChunkCount();
+        list.subList(4, list.size()).clear();
+        assertEquals(chunks, list.getChunkCount());
+        assertEquals(chunks - 1, list.compact());
+        assertEquals(1, list.getChunkCount());
+        assertEquals(Arrays.asList(expectedElements).subList(0, 4), list);
+        list.clear();
+        assertEquals(1, list.compact());
+        assertEquals(0, list.getChunkCount());
+        list.add(1);
+        assertEquals(List.of(1), list);
+    }
+
+    @Test
+    public void testSortAndForEach() {
+        SegmentedArrayList<Integer> list = new SegmentedArrayList<>(testingList);
+        list.sort(Comparator.reverseOrder());
+        Integer[] expected = expectedElements.clone();
+        Arrays.sort(expected, Comparator.reverseOrder());
+        assertEquals(Arrays.asList(expected), list);
+        List<Integer> visited = new java.util.ArrayList<>();
+        list.forEach(visited::add);
+        assertEquals(Arrays.asList(expected), visited);
+        assertArrayEquals(expected, list.toArray());
+    }
+}
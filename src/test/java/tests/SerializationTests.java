@@ -0,0 +1,143 @@
+package tests;
+
+import example.ArrayList;
+import example.ElementCodec;
+import example.SortedArrayList;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.*;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SerializationTests extends ArrayListTester {
+
+    @Test
+    public void testExternalizable() throws IOException, ClassNotFoundException {
+        ArrayList<Integer> list = new ArrayList<>(testingList);
+        list.add(null);
+        ArrayList<?> copy = (ArrayList<?>) deserialize(serialize(list));
+        assertEquals(Arrays.asList(list.toArray()), copy);
+        assertEquals(0, copy.getReallocationCount());
+    }
+
+    @Test
+    public void testExternalizableSortedList() throws IOException, ClassNotFoundException {
+        SortedArrayList<Integer> list = new SortedArrayList<>(testingList, null);
+        SortedArrayList<?> copy = (SortedArrayList<?>) deserialize(serialize(list));
+        assertEquals(Arrays.asList(list.toArray()), copy);
+        Integer[] sorted = Arrays.copyOf(expectedElements, expectedSize);
+        Arrays.sort(sorted);
+        assertEquals(Arrays.asList(sorted), copy);
+    }
+
+    @Test
+    public void testExternalizableComparator() throws IOException, ClassNotFoundException {
+        SortedArrayList<Integer> list = new SortedArrayList<>(testingList, Comparator.reverseOrder());
+        SortedArrayList<?> copy = (SortedArrayList<?>) deserialize(serialize(list));
+        assertEquals(Comparator.reverseOrder(), copy.comparator());
+        assertEquals(Arrays.asList(list.toArray()), copy);
+
+        SortedArrayList<Integer> lambda = new SortedArrayList<>(testingList, (a, b) -> Integer.compare(b, a));
+        assertThrows(NotSerializableException.class, () -> serialize(lambda));
+    }
+
+    @Test
+    public void testChannelIntegers() throws IOException {
+        ArrayList<Integer> list = randomList(100_000);
+        list.add(5, null);
+        ArrayList<Integer> copy = roundTrip(list, ElementCodec.INTEGER);
+        assertEquals(Arrays.asList(list.toArray()), copy);
+        assertEquals(0, copy.getReallocationCount());
+        assertEquals(List.of(), roundTrip(new ArrayList<Integer>(), ElementCodec.INTEGER));
+    }
+
+    @Test
+    public void testChannelLongsAndDoubles() throws IOException {
+        ArrayList<Long> longs = new ArrayList<>();
+        ArrayList<Double> doubles = new ArrayList<>();
+        for (int i = 0; i < 20_000; i++) {
+            longs.add(RANDOMIZER.nextLong());
+            doubles.add(RANDOMIZER.nextDouble());
+        }
+        doubles.add(Double.NaN);
+        assertEquals(Arrays.asList(longs.toArray()), roundTrip(longs, ElementCodec.LONG));
+        assertEquals(Arrays.asList(doubles.toArray()), roundTrip(doubles, ElementCodec.DOUBLE));
+    }
+
+    @Test
+    public void testChannelStrings() throws IOException {
+        ArrayList<String> list = new ArrayList<>();
+        list.add("");
+        list.add("ascii");
+        list.add("кириллица");
+        list.add("mixed ünïcødé 😀 and more");
+        list.add("lone \uD800 surrogate");
+        list.add(null);
+        list.add("x".repeat(200_000));
+        for (int i = 0; i < 10_000; i++) {
+            list.add("value-" + i);
+        }
+        ArrayList<String> copy = roundTrip(list, ElementCodec.STRING);
+        assertEquals("lone ? surrogate", copy.remove(4));
+        list.remove(4);
+        assertEquals(Arrays.asList(list.toArray()), copy);
+    }
+
+    @Test
+    public void testTruncatedChannel() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        testingList.writeTo(Channels.newChannel(bytes), ElementCodec.INTEGER);
+        byte[] truncated = Arrays.copyOf(bytes.toByteArray(), bytes.size() - 1);
+        assertThrows(EOFException.class, () -> ArrayList.readFrom(Channels.newChannel(new ByteArrayInputStream(truncated)), ElementCodec.INTEGER));
+        byte[] negative = {-1, -1, -1, -2};
+        assertThrows(StreamCorruptedException.class, () -> ArrayList.readFrom(Channels.newChannel(new ByteArrayInputStream(negative)), ElementCodec.INTEGER));
+        byte[] huge = {0x7F, -1, -1, -1, 0, 0, 0, 4, 0, 0, 0, 1};
+        assertThrows(EOFException.class, () -> ArrayList.readFrom(Channels.newChannel(new ByteArrayInputStream(huge)), ElementCodec.INTEGER));
+    }
+
+    @Test
+    public void testElementLengthLimits(@TempDir Path directory) throws IOException {
+        byte[] oversized = {0, 0, 0, 1, 0x7F, -1, -1, -1};
+        assertThrows(StreamCorruptedException.class, () -> ArrayList.readFrom(Channels.newChannel(new ByteArrayInputStream(oversized)), ElementCodec.INTEGER));
+
+        ArrayList<String> list = new ArrayList<>(List.of("short", "x".repeat(2000)));
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        list.writeTo(Channels.newChannel(bytes), ElementCodec.STRING);
+        assertThrows(StreamCorruptedException.class, () -> ArrayList.readFrom(Channels.newChannel(new ByteArrayInputStream(bytes.toByteArray())), ElementCodec.STRING, 1000));
+        assertEquals(List.of("short", "x".repeat(2000)), ArrayList.readFrom(Channels.newChannel(new ByteArrayInputStream(bytes.toByteArray())), ElementCodec.STRING, 2000));
+
+        Path file = directory.resolve("list");
+        Files.write(file, new byte[] {0, 0, 0, 1, 0, 0x10, 0, 0, 1, 2, 3});
+        try (FileChannel channel = FileChannel.open(file)) {
+            assertThrows(StreamCorruptedException.class, () -> ArrayList.readFrom(channel, ElementCodec.STRING));
+        }
+    }
+
+    private static <E> ArrayList<E> roundTrip(ArrayList<E> list, ElementCodec<E> codec) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        list.writeTo(Channels.newChannel(bytes), codec);
+        return ArrayList.readFrom(Channels.newChannel(new ByteArrayInputStream(bytes.toByteArray())), codec);
+    }
+
+    private static byte[] serialize(Object object) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(object);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static Object deserialize(byte[] bytes) throws IOException, ClassNotFoundException {
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+            return in.readObject();
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package tests;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SnapshotTests extends ArrayListTester {
+
+    @Test
+    public void testSnapshotIsStable() {
+        List<Integer> snapshot = testingList.snapshot();
+        Integer[] expected = Arrays.copyOf(expectedElements, expectedSize);
+        Iterator<Integer> iterator = snapshot.iterator();
+
+        int index = randomValue(0, expectedSize);
+        int value = randomValue();
+        testingList.set(index, value);
+        expectedElements[index] = value;
+        testingList.remove(0);
+        testingList.add(0, expectedElements[0]);
+        testingList.removeIf(e -> false);
+
+        assertEquals(Arrays.asList(expected), snapshot);
+        for (Integer e : expected) {
+            assertEquals(e, iterator.next());
+        }
+        assertFalse(iterator.hasNext());
+    }
+
+    @Test
+    public void testRemoveIfAfterSnapshot() {
+        List<Integer> snapshot = testingList.snapshot();
+        Integer[] expected = Arrays.copyOf(expectedElements, expectedSize);
+        Integer removed = expectedElements[expectedSize - 1];
+        testingList.removeIf(e -> e.equals(removed));
+        assertEquals(Arrays.asList(expected), snapshot);
+        int newSize = 0;
+        for (int i = 0; i < expectedSize; i++) {
+            if(!expectedElements[i].equals(removed)) expectedElements[newSize++] = expectedElements[i];
+        }
+        Arrays.fill(expectedElements, newSize, expectedSize, null);
+        expectedSize = newSize;
+    }
+
+    @Test
+    public void testSnapshotAfterClear() {
+        List<Integer> snapshot = testingList.snapshot();
+        testingList.clear();
+        assertEquals(expectedSize, snapshot.size());
+        assertEquals(Arrays.asList(Arrays.copyOf(expectedElements, expectedSize)), snapshot);
+        for (int i = 0; i < expectedSize; i++) {
+            testingList.add(expectedElements[i]);
+        }
+    }
+
+    @Test
+    public void testSnapshotIsImmutable() {
+        List<Integer> snapshot = testingList.snapshot();
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.add(1));
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.set(0, 1));
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.remove(0));
+        assertThrows(IndexOutOfBoundsException.class, () -> snapshot.get(expectedSize));
+    }
+
+    @Test
+    public void testSortAfterSnapshot() {
+        List<Integer> snapshot = testingList.snapshot();
+        Integer[] expected = Arrays.copyOf(expectedElements, expectedSize);
+        testingList.sort();
+        Arrays.sort(expectedElements, 0, expectedSize);
+        assertEquals(Arrays.asList(expected), snapshot);
+    }
+}
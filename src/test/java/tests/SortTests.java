@@ -3,10 +3,11 @@ package tests;
 
 import example.ArrayList;
 import org.junit.jupiter.api.Test;
-import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.*;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.concurrent.ForkJoinPool;
 
 public class SortTests extends ArrayListTester {
 
@@ -34,6 +35,83 @@ public class SortTests extends ArrayListTester {
         generateRandomTestingList();
         sortWithComparator(Collections.reverseOrder());
     }
+    @Test
+    public void testSortLargeInputs() {
+        enabledBaseTests = false;
+        int size = 10_000;
+        Integer[] random = new Integer[size];
+        Integer[] duplicates = new Integer[size];
+        Integer[] sawtooth = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            random[i] = randomValue();
+            duplicates[i] = randomValue(0, 8);
+            sawtooth[i] = i % 100;
+        }
+        Integer[] sorted = random.clone();
+        Arrays.sort(sorted);
+        Integer[] reversed = sorted.clone();
+        Collections.reverse(Arrays.asList(reversed));
+        for (Integer[] input : new Integer[][] {random, duplicates, sawtooth, sorted, reversed}) {
+            ArrayList<Integer> list = new ArrayList<>(Arrays.asList(input));
+            Integer[] expected = input.clone();
+            Arrays.sort(expected);
+            list.sort();
+            assertArrayEquals(expected, list.toArray());
+        }
+    }
+
+    @Test
+    public void testSortIsStable() {
+        enabledBaseTests = false;
+        ArrayList<int[]> list = new ArrayList<>();
+        for (int i = 0; i < 5_000; i++) {
+            list.add(new int[] {randomValue(0, 20), i});
+        }
+        list.sort(Comparator.comparingInt(pair -> pair[0]));
+        for (int i = 1; i < list.size(); i++) {
+            int[] previous = list.get(i - 1), current = list.get(i);
+            assertTrue(previous[0] < current[0] || previous[0] == current[0] && previous[1] < current[1]);
+        }
+    }
+
+    @Test
+    public void testSortSubList() {
+        int from = randomValue(0, expectedSize >> 1);
+        int to = randomValue(from, expectedSize + 1);
+        testingList.subList(from, to).sort(null);
+        Arrays.sort(expectedElements, from, to);
+    }
+
+    @Test
+    public void testParallelSort() throws Exception {
+        enabledBaseTests = false;
+        ArrayList<int[]> list = new ArrayList<>();
+        java.util.ArrayList<int[]> expected = new java.util.ArrayList<>();
+        for (int i = 0; i < 100_000; i++) {
+            int[] pair = {randomValue(0, 1000), i};
+            list.add(pair);
+            expected.add(pair);
+        }
+        Comparator<int[]> comparator = Comparator.comparingInt(pair -> pair[0]);
+        expected.sort(comparator);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            pool.submit(() -> list.parallelSort(comparator)).get();
+        } finally {
+            pool.shutdown();
+        }
+        for (int i = 0; i < expected.size(); i++) {
+            assertSame(expected.get(i), list.get(i));
+        }
+    }
+
+    @Test
+    public void testParallelSortWithComparable() {
+        generateRandomTestingList();
+        Arrays.sort(expectedElements);
+        testingList.parallelSort();
+    }
+
     private void sortWithComparator(Comparator<Integer> comparator) {
         Arrays.sort(expectedElements, comparator);
         testingList.sort(comparator);
@@ -0,0 +1,103 @@
+package tests;
+
+import example.ArrayList;
+import example.SortedArrayList;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SortedListTests extends ArrayListTester {
+
+    public SortedListTests() {
+        super(false, true);
+    }
+
+    @Test
+    public void testBinarySearch() {
+        testingList.sort();
+        Integer[] sorted = expectedElements.clone();
+        Arrays.sort(sorted);
+        for (int i = 0; i < expectedSize; i++) {
+            int index = testingList.binarySearch(sorted[i]);
+            assertEquals(sorted[i], testingList.get(index));
+            assertEquals(Arrays.asList(sorted).indexOf(sorted[i]), index);
+        }
+        ArrayList<Integer> list = new ArrayList<>(List.of(10, 20, 20, 30));
+        assertEquals(1, list.binarySearch(20));
+        assertEquals(-1, list.binarySearch(5));
+        assertEquals(-4, list.binarySearch(25));
+        assertEquals(-5, list.binarySearch(35));
+        list.sort(Comparator.reverseOrder());
+        assertEquals(-4, list.binarySearch(15, Comparator.reverseOrder()));
+    }
+
+    @Test
+    public void testAddKeepsOrder() {
+        SortedArrayList<Integer> list = new SortedArrayList<>();
+        for (Integer element : expectedElements) {
+            list.add(element);
+        }
+        Integer[] sorted = expectedElements.clone();
+        Arrays.sort(sorted);
+        assertEquals(Arrays.asList(sorted), list);
+
+        List<Integer> added = randomList();
+        list.addAll(added);
+        List<Integer> expected = new java.util.ArrayList<>(Arrays.asList(sorted));
+        expected.addAll(added);
+        Collections.sort(expected);
+        assertEquals(expected, list);
+
+        for (Integer probe : expected) {
+            assertEquals(expected.indexOf(probe), list.indexOf(probe));
+            assertEquals(expected.lastIndexOf(probe), list.lastIndexOf(probe));
+            assertTrue(list.contains(probe));
+        }
+        Integer missing = randomValue();
+        assertEquals(expected.contains(missing), list.contains(missing));
+        Integer removed = expected.get(randomValue(0, expected.size()));
+        assertTrue(list.remove(removed));
+        expected.remove(removed);
+        assertEquals(expected, list);
+    }
+
+    @Test
+    public void testStabilityAndComparator() {
+        Comparator<String> byLength = Comparator.comparingInt(String::length);
+        SortedArrayList<String> list = new SortedArrayList<>(List.of("ccc", "a", "bb"), byLength);
+        assertEquals(List.of("a", "bb", "ccc"), list);
+        assertEquals(2, list.addSorted("dd"));
+        assertEquals(List.of("a", "bb", "dd", "ccc"), list);
+        assertEquals(1, list.indexOf("xx"));
+        assertEquals(2, list.lastIndexOf("xx"));
+        assertEquals(-1, list.indexOf("xxxx"));
+        assertSame(byLength, list.comparator());
+    }
+
+    @Test
+    public void testRangeViews() {
+        SortedArrayList<Integer> list = new SortedArrayList<>(List.of(5, 1, 9, 3, 7, 3), null);
+        assertEquals(List.of(1, 3, 3), list.headList(5));
+        assertEquals(List.of(5, 7, 9), list.tailList(4));
+        assertEquals(List.of(3, 3, 5), list.rangeList(3, 7));
+        assertEquals(List.of(), list.rangeList(10, 20));
+        assertThrows(IllegalArgumentException.class, () -> list.rangeList(7, 3));
+        list.headList(5).clear();
+        assertEquals(List.of(5, 7, 9), list);
+    }
+
+    @Test
+    public void testPositionalOperationsAreUnsupported() {
+        SortedArrayList<Integer> list = new SortedArrayList<>(testingList, null);
+        assertThrows(UnsupportedOperationException.class, () -> list.add(0, 1));
+        assertThrows(UnsupportedOperationException.class, () -> list.set(0, 1));
+        assertThrows(UnsupportedOperationException.class, () -> list.addAll(0, List.of(1)));
+        assertThrows(UnsupportedOperationException.class, () -> list.insertAll(new int[] {0}, List.of(1)));
+        assertThrows(UnsupportedOperationException.class, () -> list.sort(Comparator.reverseOrder()));
+        assertThrows(UnsupportedOperationException.class, () -> list.subList(0, 2).sort(Comparator.reverseOrder()));
+        assertThrows(UnsupportedOperationException.class, () -> list.listIterator().add(1));
+        assertThrows(UnsupportedOperationException.class, () -> list.parallelSort());
+    }
+}
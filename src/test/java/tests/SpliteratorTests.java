@@ -0,0 +1,53 @@
+package tests;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SpliteratorTests extends ArrayListTester {
+
+    @Test
+    public void testStream() {
+        List<Integer> expected = Arrays.asList(expectedElements);
+        assertEquals(expected, testingList.stream().collect(Collectors.toList()));
+        assertEquals(expected, testingList.parallelStream().collect(Collectors.toList()));
+        long expectedSum = expected.stream().mapToLong(Integer::longValue).sum();
+        assertEquals(expectedSum, testingList.parallelStream().mapToLong(Integer::longValue).sum());
+    }
+
+    @Test
+    public void testSplit() {
+        Spliterator<Integer> spliterator = testingList.spliterator();
+        assertTrue(spliterator.hasCharacteristics(Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.ORDERED));
+        Spliterator<Integer> prefix = spliterator.trySplit();
+        assertNotNull(prefix);
+        assertEquals(expectedSize, prefix.estimateSize() + spliterator.estimateSize());
+        List<Integer> actual = new java.util.ArrayList<>();
+        assertTrue(prefix.tryAdvance(actual::add));
+        prefix.forEachRemaining(actual::add);
+        spliterator.forEachRemaining(actual::add);
+        assertEquals(Arrays.asList(expectedElements), actual);
+    }
+
+    @Test
+    public void testLateBinding() {
+        Spliterator<Integer> spliterator = testingList.spliterator();
+        int value = randomValue();
+        testingList.add(value);
+        increaseArray();
+        expectedElements[expectedSize++] = value;
+        assertEquals(expectedSize, spliterator.estimateSize());
+    }
+
+    @Test
+    public void testConcurrentModification() {
+        enabledBaseTests = false;
+        Spliterator<Integer> spliterator = testingList.spliterator();
+        assertThrows(ConcurrentModificationException.class, () -> spliterator.forEachRemaining(testingList::add));
+        Spliterator<Integer> another = testingList.spliterator();
+        assertThrows(ConcurrentModificationException.class, () -> another.tryAdvance(e -> testingList.remove(0)));
+    }
+}
@@ -3,8 +3,9 @@ package tests;
 import org.junit.jupiter.api.Test;
 
 import java.util.Arrays;
+import java.util.ConcurrentModificationException;
 import java.util.List;
-import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.*;
 public class SubListTest extends ArrayListTester {
     @Test
     public void testSubList() {
@@ -19,4 +20,64 @@ public class SubListTest extends ArrayListTester {
             assertArrayEquals(expected, actual);
         }
     }
+
+    @Test
+    public void testClearThroughSubList() {
+        int from = randomValue(0, expectedSize >> 1);
+        int to = randomValue(from, expectedSize + 1);
+        testingList.subList(from, to).clear();
+        shiftArray(to, from, expectedSize - to);
+        expectedSize -= to - from;
+    }
+
+    @Test
+    public void testWriteThroughSubList() {
+        int from = randomValue(0, expectedSize >> 1);
+        int to = randomValue(from + 1, expectedSize);
+        List<Integer> subList = testingList.subList(from, to);
+        int value = randomValue();
+        subList.set(0, value);
+        expectedElements[from] = value;
+
+        subList.add(value);
+        increaseArray();
+        shiftArray(to, to + 1, expectedSize - to);
+        expectedElements[to] = value;
+        expectedSize++;
+        assertEquals(to - from + 1, subList.size());
+
+        subList.remove(0);
+        shiftArray(from + 1, from, expectedSize - from - 1);
+        expectedSize--;
+        assertEquals(to - from, subList.size());
+    }
+
+    @Test
+    public void testNestedSubList() {
+        List<Integer> outer = testingList.subList(1, expectedSize - 1);
+        List<Integer> inner = outer.subList(1, outer.size() - 1);
+        assertEquals(expectedElements[2], inner.get(0));
+        inner.removeIf(e -> true);
+        assertEquals(2, outer.size());
+        shiftArray(expectedSize - 2, 2, 2);
+        expectedSize = 4;
+    }
+
+    @Test
+    public void testConcurrentModification() {
+        List<Integer> subList = testingList.subList(0, expectedSize >> 1);
+        testingList.add(1);
+        increaseArray();
+        expectedElements[expectedSize++] = 1;
+        assertThrows(ConcurrentModificationException.class, () -> subList.get(0));
+        assertThrows(ConcurrentModificationException.class, subList::size);
+    }
+
+    @Test
+    public void testIllegalRange() {
+        assertThrows(IndexOutOfBoundsException.class, () -> testingList.subList(-1, 1));
+        assertThrows(IndexOutOfBoundsException.class, () -> testingList.subList(0, expectedSize + 1));
+        assertThrows(IllegalArgumentException.class, () -> testingList.subList(2, 1));
+        assertTrue(testingList.subList(1, 1).isEmpty());
+    }
 }
@@ -0,0 +1,73 @@
+package tests;
+
+import example.ArrayList;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ToStringTests extends ArrayListTester {
+
+    @Test
+    public void testFullRepresentation() throws IOException {
+        String expected = Arrays.asList(expectedElements).toString();
+        assertEquals(expected, testingList.toString());
+        assertEquals(expected, testingList.appendTo(new StringBuilder()).toString());
+        StringWriter writer = new StringWriter();
+        testingList.writeTo(writer);
+        assertEquals(expected, writer.toString());
+        assertEquals("[]", new ArrayList<>().toString());
+    }
+
+    @Test
+    public void testPreview() throws IOException {
+        int limit = randomValue(1, expectedSize);
+        String head = Arrays.asList(expectedElements).subList(0, limit).toString();
+        String expected = head.substring(0, head.length() - 1) + ", ...(" + (expectedSize - limit) + " more)]";
+        assertEquals(expected, testingList.toString(limit));
+        assertEquals(expected, testingList.appendTo(new StringBuilder(), limit).toString());
+        assertEquals("[...(" + expectedSize + " more)]", testingList.toString(0));
+        assertEquals(testingList.toString(), testingList.toString(expectedSize));
+        assertEquals("[]", new ArrayList<>().toString(0));
+        assertThrows(IllegalArgumentException.class, () -> testingList.toString(-1));
+    }
+
+    @Test
+    public void testToStringLimit() {
+        ArrayList<Integer> list = randomList(100);
+        assertEquals(Integer.MAX_VALUE, list.getToStringLimit());
+        list.setToStringLimit(10);
+        assertEquals(list.toString(10), list.toString());
+        assertTrue(list.toString().endsWith(", ...(90 more)]"));
+        assertThrows(IllegalArgumentException.class, () -> list.setToStringLimit(-1));
+    }
+
+    @Test
+    public void testSelfReference() {
+        ArrayList<Object> list = new ArrayList<>();
+        list.add(1);
+        list.add(list);
+        list.add(null);
+        assertEquals("[1, (this Collection), null]", list.toString());
+    }
+
+    @Test
+    public void testFirstElementStringifiedOnce() {
+        int[] calls = new int[1];
+        Object first = new Object() {
+            @Override
+            public String toString() {
+                calls[0]++;
+                return "first";
+            }
+        };
+        ArrayList<Object> list = new ArrayList<>();
+        list.add(first);
+        list.add(2);
+        assertEquals("[first, 2]", list.toString(2));
+        assertEquals(1, calls[0]);
+    }
+}
@@ -0,0 +1,193 @@
+package example;
+
+import jdk.incubator.vector.*;
+
+/**
+ * Векторная реализация {@link PrimitiveScans} на основе {@code jdk.incubator.vector}. Каждая
+ * итерация обрабатывает столько элементов, сколько помещается в векторный регистр процессора
+ * ({@link VectorSpecies#length()} для предпочтительного размера), а остаток диапазона, не
+ * кратный длине вектора, обрабатывается скалярным циклом.
+ *
+ * <p>Класс собирается только профилем {@code vector} и загружается через рефлексию из
+ * {@link PrimitiveScans#preferred()}, поэтому основной код не зависит от инкубаторного модуля.
+ * Если модуль не подключен при запуске, загрузка класса завершится {@link LinkageError},
+ * и будет использована скалярная реализация.
+ *
+ * @author  Поляков Артур
+ */
+final class VectorizedScans implements PrimitiveScans {
+    private static final VectorSpecies<Integer> INTS = IntVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Long> LONGS = LongVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Double> DOUBLES = DoubleVector.SPECIES_PREFERRED;
+    private static final ScalarScans SCALAR = ScalarScans.INSTANCE;
+
+    VectorizedScans() {}
+
+    @Override
+    public int indexOf(int[] array, int from, int to, int value) {
+        int i = from;
+        for (int bound = from + INTS.loopBound(to - from); i < bound; i += INTS.length()) {
+            VectorMask<Integer> found = IntVector.fromArray(INTS, array, i).eq(value);
+            if(found.anyTrue()) return i + found.firstTrue();
+        }
+        return SCALAR.indexOf(array, i, to, value);
+    }
+
+    @Override
+    public int indexOf(long[] array, int from, int to, long value) {
+        int i = from;
+        for (int bound = from + LONGS.loopBound(to - from); i < bound; i += LONGS.length()) {
+            VectorMask<Long> found = LongVector.fromArray(LONGS, array, i).eq(value);
+            if(found.anyTrue()) return i + found.firstTrue();
+        }
+        return SCALAR.indexOf(array, i, to, value);
+    }
+
+    /**
+     * Векторное сравнение {@code double} следует IEEE 754: {@code 0.0} равен {@code -0.0}, а {@code NaN}
+     * не равен ничему. Поэтому векторное сравнение только отбирает кандидатов, которые затем
+     * проверяются скалярным циклом по правилам {@link Double#compare(double, double)},
+     * а {@code NaN} сразу ищется скалярным циклом.
+     */
+    @Override
+    public int indexOf(double[] array, int from, int to, double value) {
+        if(Double.isNaN(value)) return SCALAR.indexOf(array, from, to, value);
+        int i = from;
+        for (int bound = from + DOUBLES.loopBound(to - from); i < bound; i += DOUBLES.length()) {
+            if(DoubleVector.fromArray(DOUBLES, array, i).eq(value).anyTrue()) {
+                int index = SCALAR.indexOf(array, i, i + DOUBLES.length(), value);
+                if(index >= 0) return index;
+            }
+        }
+        return SCALAR.indexOf(array, i, to, value);
+    }
+
+    @Override
+    public int min(int[] array, int from, int to) {
+        IntVector accumulator = IntVector.broadcast(INTS, Integer.MAX_VALUE);
+        int i = from;
+        for (int bound = from + INTS.loopBound(to - from); i < bound; i += INTS.length()) {
+            accumulator = accumulator.min(IntVector.fromArray(INTS, array, i));
+        }
+        int min = accumulator.reduceLanes(VectorOperators.MIN);
+        return i < to ? Math.min(min, SCALAR.min(array, i, to)) : min;
+    }
+
+    @Override
+    public long min(long[] array, int from, int to) {
+        LongVector accumulator = LongVector.broadcast(LONGS, Long.MAX_VALUE);
+        int i = from;
+        for (int bound = from + LONGS.loopBound(to - from); i < bound; i += LONGS.length()) {
+            accumulator = accumulator.min(LongVector.fromArray(LONGS, array, i));
+        }
+        long min = accumulator.reduceLanes(VectorOperators.MIN);
+        return i < to ? Math.min(min, SCALAR.min(array, i, to)) : min;
+    }
+
+    @Override
+    public double min(double[] array, int from, int to) {
+        DoubleVector accumulator = DoubleVector.broadcast(DOUBLES, Double.POSITIVE_INFINITY);
+        int i = from;
+        for (int bound = from + DOUBLES.loopBound(to - from); i < bound; i += DOUBLES.length()) {
+            accumulator = accumulator.min(DoubleVector.fromArray(DOUBLES, array, i));
+        }
+        double min = accumulator.reduceLanes(VectorOperators.MIN);
+        return i < to ? Math.min(min, SCALAR.min(array, i, to)) : min;
+    }
+
+    @Override
+    public int max(int[] array, int from, int to) {
+        IntVector accumulator = IntVector.broadcast(INTS, Integer.MIN_VALUE);
+        int i = from;
+        for (int bound = from + INTS.loopBound(to - from); i < bound; i += INTS.length()) {
+            accumulator = accumulator.max(IntVector.fromArray(INTS, array, i));
+        }
+        int max = accumulator.reduceLanes(VectorOperators.MAX);
+        return i < to ? Math.max(max, SCALAR.max(array, i, to)) : max;
+    }
+
+    @Override
+    public long max(long[] array, int from, int to) {
+        LongVector accumulator = LongVector.broadcast(LONGS, Long.MIN_VALUE);
+        int i = from;
+        for (int bound = from + LONGS.loopBound(to - from); i < bound; i += LONGS.length()) {
+            accumulator = accumulator.max(LongVector.fromArray(LONGS, array, i));
+        }
+        long max = accumulator.reduceLanes(VectorOperators.MAX);
+        return i < to ? Math.max(max, SCALAR.max(array, i, to)) : max;
+    }
+
+    @Override
+    public double max(double[] array, int from, int to) {
+        DoubleVector accumulator = DoubleVector.broadcast(DOUBLES, Double.NEGATIVE_INFINITY);
+        int i = from;
+        for (int bound = from + DOUBLES.loopBound(to - from); i < bound; i += DOUBLES.length()) {
+            accumulator = accumulator.max(DoubleVector.fromArray(DOUBLES, array, i));
+        }
+        double max = accumulator.reduceLanes(VectorOperators.MAX);
+        return i < to ? Math.max(max, SCALAR.max(array, i, to)) : max;
+    }
+
+    /**
+     * Делегирует скалярному циклу. Сумма складывается в {@code long}, а расширение векторов
+     * {@code int} до {@code long} в Vector API не компилируется в векторные инструкции и работает
+     * на порядки медленнее. Скалярный цикл сложения с расширением JIT-компилятор векторизует сам.
+     */
+    @Override
+    public long sum(int[] array, int from, int to) {
+        return SCALAR.sum(array, from, to);
+    }
+
+    @Override
+    public long sum(long[] array, int from, int to) {
+        LongVector accumulator = LongVector.zero(LONGS);
+        int i = from;
+        for (int bound = from + LONGS.loopBound(to - from); i < bound; i += LONGS.length()) {
+            accumulator = accumulator.add(LongVector.fromArray(LONGS, array, i));
+        }
+        return accumulator.reduceLanes(VectorOperators.ADD) + SCALAR.sum(array, i, to);
+    }
+
+    @Override
+    public double sum(double[] array, int from, int to) {
+        DoubleVector accumulator = DoubleVector.zero(DOUBLES);
+        int i = from;
+        for (int bound = from + DOUBLES.loopBound(to - from); i < bound; i += DOUBLES.length()) {
+            accumulator = accumulator.add(DoubleVector.fromArray(DOUBLES, array, i));
+        }
+        return accumulator.reduceLanes(VectorOperators.ADD) + SCALAR.sum(array, i, to);
+    }
+
+    @Override
+    public int countInRange(int[] array, int from, int to, int low, int high) {
+        int count = 0;
+        int i = from;
+        for (int bound = from + INTS.loopBound(to - from); i < bound; i += INTS.length()) {
+            IntVector vector = IntVector.fromArray(INTS, array, i);
+            count += vector.compare(VectorOperators.GE, low).and(vector.compare(VectorOperators.LE, high)).trueCount();
+        }
+        return count + SCALAR.countInRange(array, i, to, low, high);
+    }
+
+    @Override
+    public int countInRange(long[] array, int from, int to, long low, long high) {
+        int count = 0;
+        int i = from;
+        for (int bound = from + LONGS.loopBound(to - from); i < bound; i += LONGS.length()) {
+            LongVector vector = LongVector.fromArray(LONGS, array, i);
+            count += vector.compare(VectorOperators.GE, low).and(vector.compare(VectorOperators.LE, high)).trueCount();
+        }
+        return count + SCALAR.countInRange(array, i, to, low, high);
+    }
+
+    @Override
+    public int countInRange(double[] array, int from, int to, double low, double high) {
+        int count = 0;
+        int i = from;
+        for (int bound = from + DOUBLES.loopBound(to - from); i < bound; i += DOUBLES.length()) {
+            DoubleVector vector = DoubleVector.fromArray(DOUBLES, array, i);
+            count += vector.compare(VectorOperators.GE, low).and(vector.compare(VectorOperators.LE, high)).trueCount();
+        }
+        return count + SCALAR.countInRange(array, i, to, low, high);
+    }
+}